@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Нагрузочное сравнение режимов потоков main-service: пул платформенных потоков Tomcat
+# и виртуальные потоки (spring.threads.virtual.enabled). Для каждого режима сервисы
+# пересоздаются через compose, после прогрева wrk держит CONNECTIONS одновременных соединений,
+# в конце выводятся пропускная способность и p99 задержки обоих режимов.
+#
+# Требуются docker compose, wrk и собранные jar-файлы сервисов (mvn -B package -DskipTests).
+# Запуск из корня репозитория (wrk открывает по дескриптору на соединение):
+#   ulimit -n 65535
+#   main-service/benchmark/virtual_threads_load.sh > benchmark.log
+#
+# Публичный поиск вызывается с разным текстом, чтобы запросы не обслуживались кэшем поиска и доходили до БД.
+# В режиме виртуальных потоков JVM запускается с -Djdk.tracePinnedThreads=short: каждое закрепление
+# виртуального потока за носителем попадает в лог, их количество выводится в итогах.
+
+set -euo pipefail
+
+CONNECTIONS=${CONNECTIONS:-2000}
+THREADS=${THREADS:-16}
+WARMUP=${WARMUP:-20s}
+DURATION=${DURATION:-60s}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+
+cd "$(dirname "$0")/../.."
+
+SCRIPT=$(mktemp --suffix=.lua)
+trap 'rm -f "$SCRIPT"' EXIT
+cat > "$SCRIPT" <<'LUA'
+request = function()
+    return wrk.format("GET", "/events?text=load" .. math.random(1, 1000000) .. "&from=0&size=10")
+end
+LUA
+
+declare -A RPS P99 PINNED
+
+for virtual in false true; do
+    echo "=== VIRTUAL_THREADS_ENABLED=$virtual"
+    java_options=""
+    if [ "$virtual" = true ]; then
+        java_options="-Djdk.tracePinnedThreads=short"
+    fi
+    VIRTUAL_THREADS_ENABLED=$virtual JDK_JAVA_OPTIONS=$java_options \
+        docker compose up -d --build --force-recreate ewm-service stats-server
+    until curl -sf "$BASE_URL/actuator/health" > /dev/null; do
+        sleep 2
+    done
+
+    wrk -t"$THREADS" -c"$CONNECTIONS" -d"$WARMUP" -s "$SCRIPT" "$BASE_URL" > /dev/null
+    result=$(wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency -s "$SCRIPT" "$BASE_URL")
+    echo "$result"
+
+    RPS[$virtual]=$(echo "$result" | awk '/Requests\/sec/ {print $2}')
+    P99[$virtual]=$(echo "$result" | awk '$1 == "99%" {print $2}')
+    PINNED[$virtual]=$(docker compose logs ewm-service stats-server | grep -c "<== monitors" || true)
+done
+
+echo
+printf '%-16s %12s %10s %8s\n' "mode" "requests/s" "p99" "pinned"
+printf '%-16s %12s %10s %8s\n' "platform" "${RPS[false]}" "${P99[false]}" "-"
+printf '%-16s %12s %10s %8s\n' "virtual" "${RPS[true]}" "${P99[true]}" "${PINNED[true]}"
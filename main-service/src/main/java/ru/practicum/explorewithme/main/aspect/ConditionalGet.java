@@ -0,0 +1,19 @@
+package ru.practicum.explorewithme.main.aspect;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import ru.practicum.explorewithme.main.service.PublicContent;
+
+/**
+ * Помечает GET-метод, ответ которого определяется версией содержимого {@link #value()}. Для таких методов
+ * {@link ConditionalGetInterceptor} выставляет ETag и отвечает 304 на совпавший {@code If-None-Match},
+ * не вызывая метод.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    PublicContent value();
+}
@@ -0,0 +1,48 @@
+package ru.practicum.explorewithme.main.aspect;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.explorewithme.main.service.PublicContentVersions;
+
+/**
+ * Обрабатывает условные GET-запросы к методам с {@link ConditionalGet} до вызова контроллера.
+ * <p>
+ * ETag вычисляется до чтения данных: если содержимое изменится во время запроса, клиент получит прежний ETag
+ * и при следующей проверке загрузит ответ заново. Ответ 304 по-прежнему учитывается как просмотр, если метод
+ * помечен {@link LogStatsHit}. Без бина {@link PublicContentVersions} условные запросы не обрабатываются.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final ObjectProvider<PublicContentVersions> contentVersions;
+    private final ObjectProvider<StatsHitAspect> statsHitAspect;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+        PublicContentVersions versions = contentVersions.getIfAvailable();
+        if (conditionalGet == null || versions == null) {
+            return true;
+        }
+        String etag = versions.etag(conditionalGet.value());
+        if (!new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return true;
+        }
+        log.debug("ConditionalGet: {} not modified, ETag {}", request.getRequestURI(), etag);
+        if (handlerMethod.hasMethodAnnotation(LogStatsHit.class)) {
+            statsHitAspect.ifAvailable(aspect -> aspect.recordHit(request));
+        }
+        return false;
+    }
+}
@@ -12,7 +12,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
-import ru.practicum.explorewithme.stats.client.StatsClient;
 import ru.practicum.explorewithme.stats.dto.EndpointHitDto;
 
 import java.time.LocalDateTime;
@@ -23,7 +22,7 @@ import java.time.LocalDateTime;
 @Slf4j
 public class StatsHitAspect {
 
-    private final StatsClient statsClient;
+    private final StatsHitBuffer statsHitBuffer;
 
     @Value("${spring.application.name:ewm-main-service}")
     private String appName;
@@ -40,8 +39,13 @@ public class StatsHitAspect {
                 joinPoint.getSignature().toShortString());
             return;
         }
-        HttpServletRequest request = attributes.getRequest();
+        recordHit(attributes.getRequest());
+    }
 
+    /**
+     * Ставит в очередь хит для запроса. Используется и для ответов 304, которые формируются без вызова контроллера.
+     */
+    public void recordHit(HttpServletRequest request) {
         String uri = request.getRequestURI();
 
         String ip;
@@ -65,11 +69,8 @@ public class StatsHitAspect {
             .timestamp(timestamp)
             .build();
 
-        try {
-            statsClient.saveHit(hitDto);
-            log.debug("StatsHitAspect: Hit successfully sent to stats service for URI: {}", uri);
-        } catch (Exception e) {
-            log.error("StatsHitAspect: Failed to send hit to stats service for URI: {}. Error: {}", uri, e.getMessage());
-        }
+        // Отправка выполняется фоновым потоком буфера, ответ клиенту не ждёт сервис статистики
+        statsHitBuffer.offer(hitDto);
+        log.debug("StatsHitAspect: Hit queued for sending to stats service for URI: {}", uri);
     }
 }
\ No newline at end of file
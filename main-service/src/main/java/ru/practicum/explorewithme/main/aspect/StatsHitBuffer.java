@@ -0,0 +1,366 @@
+package ru.practicum.explorewithme.main.aspect;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.explorewithme.main.config.StatsHitBufferProperties;
+import ru.practicum.explorewithme.main.config.StatsHitBufferProperties.OverflowPolicy;
+import ru.practicum.explorewithme.stats.client.StatsClient;
+import ru.practicum.explorewithme.stats.dto.EndpointHitDto;
+
+/**
+ * Ограниченная очередь хитов с фоновым потоком, который отправляет их в сервис статистики пачками.
+ * Поток запроса только кладёт хит в очередь и не ждёт ответа сервиса статистики.
+ */
+@Component
+@Slf4j
+public class StatsHitBuffer {
+
+    private static final String SPILL_FILE_NAME = "hits.ndjson";
+    private static final String RESEND_FILE_NAME = "hits.ndjson.resend";
+
+    private final StatsClient statsClient;
+    private final StatsHitBufferProperties properties;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<EndpointHitDto> queue;
+    private final Path spillFile;
+    // Файл, забранный фоновым потоком на досылку; запросы тем временем пишут в новый файл сброса
+    private final Path resendFile;
+    // ReentrantLock вместо synchronized: запись на диск под монитором закрепила бы виртуальный поток запроса
+    // за потоком-носителем на всё время ввода-вывода
+    private final Lock spillLock = new ReentrantLock();
+
+    private final Counter sentCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Counter spilledCounter;
+
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    public StatsHitBuffer(StatsClient statsClient,
+                          StatsHitBufferProperties properties,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry) {
+        this.statsClient = statsClient;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.spillFile = properties.getSpillDirectory().resolve(SPILL_FILE_NAME);
+        this.resendFile = properties.getSpillDirectory().resolve(RESEND_FILE_NAME);
+
+        Gauge.builder("stats.hits.queue.depth", queue, BlockingQueue::size)
+            .description("Количество хитов, ожидающих отправки в сервис статистики")
+            .register(meterRegistry);
+        this.sentCounter = Counter.builder("stats.hits.sent")
+            .description("Хиты, успешно отправленные в сервис статистики")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder("stats.hits.dropped")
+            .description("Хиты, отброшенные из-за переполнения буфера")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("stats.hits.failed")
+            .description("Хиты, которые не удалось отправить в сервис статистики")
+            .register(meterRegistry);
+        this.spilledCounter = Counter.builder("stats.hits.spilled")
+            .description("Хиты, сброшенные на диск из-за переполнения буфера или ошибки отправки")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Ставит хит в очередь на отправку. При переполнении очереди применяется настроенная политика.
+     *
+     * @param hit данные о запросе к эндпоинту
+     */
+    public void offer(EndpointHitDto hit) {
+        if (queue.offer(hit)) {
+            return;
+        }
+        switch (properties.getOverflowPolicy()) {
+            case DROP_OLDEST -> {
+                while (!queue.offer(hit)) {
+                    if (queue.poll() != null) {
+                        droppedCounter.increment();
+                    }
+                }
+            }
+            case BLOCK -> {
+                try {
+                    if (!queue.offer(hit, properties.getBlockTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                        drop(hit);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop(hit);
+                }
+            }
+            case SPILL_TO_DISK -> spill(List.of(hit));
+            default -> drop(hit);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        flusherThread = Thread.ofPlatform()
+            .name("stats-hit-flusher")
+            .daemon(true)
+            .start(this::runFlushLoop);
+        log.info("StatsHitBuffer: Started with capacity={}, batchSize={}, maxLinger={}, overflowPolicy={}",
+            properties.getCapacity(), properties.getBatchSize(), properties.getMaxLinger(),
+            properties.getOverflowPolicy());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (flusherThread != null) {
+            // Поток сам заметит остановку не позднее чем через maxLinger и дошлёт остаток очереди
+            flusherThread.join(properties.getMaxLinger().multipliedBy(4).toMillis() + 1_000);
+        }
+    }
+
+    private void runFlushLoop() {
+        while (running) {
+            try {
+                List<EndpointHitDto> batch = nextBatch();
+                boolean sent = batch.isEmpty() || sendOrSpill(batch);
+                // Пока сервис статистики не принимает живые хиты, досылать файл сброса бессмысленно
+                if (sent && batch.size() < properties.getBatchSize()) {
+                    resendSpilled();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("StatsHitBuffer: Unexpected error in flush loop: {}", e.getMessage(), e);
+            }
+        }
+
+        List<EndpointHitDto> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int i = 0; i < rest.size(); i += properties.getBatchSize()) {
+            sendOrSpill(rest.subList(i, Math.min(i + properties.getBatchSize(), rest.size())));
+        }
+        log.info("StatsHitBuffer: Flusher stopped, {} remaining hits sent on shutdown.", rest.size());
+    }
+
+    /**
+     * Собирает пачку: ждёт первый хит не дольше maxLinger, затем добирает хиты до batchSize,
+     * пока с момента получения первого хита не пройдёт maxLinger.
+     */
+    private List<EndpointHitDto> nextBatch() throws InterruptedException {
+        long lingerNanos = properties.getMaxLinger().toNanos();
+        EndpointHitDto first = queue.poll(lingerNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return List.of();
+        }
+        int batchSize = properties.getBatchSize();
+        List<EndpointHitDto> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            EndpointHitDto next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private boolean send(List<EndpointHitDto> batch) {
+        log.debug("StatsHitBuffer: Sending batch of {} hits", batch.size());
+        try {
+            statsClient.saveHits(batch);
+            sentCounter.increment(batch.size());
+            return true;
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("StatsHitBuffer: Failed to send batch of {} hits to stats service. Error: {}",
+                batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Отправляет пачку; при политике {@link OverflowPolicy#SPILL_TO_DISK} неотправленная пачка
+     * сбрасывается на диск и будет дослана вместе с остальными хитами из файла сброса.
+     */
+    private boolean sendOrSpill(List<EndpointHitDto> batch) {
+        if (send(batch)) {
+            return true;
+        }
+        if (properties.getOverflowPolicy() == OverflowPolicy.SPILL_TO_DISK) {
+            spill(batch);
+        }
+        return false;
+    }
+
+    private void drop(EndpointHitDto hit) {
+        droppedCounter.increment();
+        log.warn("StatsHitBuffer: Hit buffer is full, dropping hit for URI: {}", hit.getUri());
+    }
+
+    private void spill(List<EndpointHitDto> hits) {
+        spillLock.lock();
+        try {
+            Files.createDirectories(spillFile.getParent());
+            if (Files.exists(spillFile) && Files.size(spillFile) >= properties.getSpillMaxSize().toBytes()) {
+                hits.forEach(this::drop);
+                return;
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (EndpointHitDto hit : hits) {
+                    writer.write(objectMapper.writeValueAsString(hit));
+                    writer.newLine();
+                }
+            }
+            spilledCounter.increment(hits.size());
+        } catch (IOException e) {
+            log.error("StatsHitBuffer: Failed to spill {} hits to {}. Error: {}", hits.size(), spillFile,
+                e.getMessage());
+            hits.forEach(this::drop);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * Досылает хиты из файла сброса пачками по batchSize, не читая файл в память целиком.
+     * Файл удаляется только после отправки всех пачек; при ошибке неотправленная пачка и непрочитанный
+     * остаток возвращаются в файл сброса.
+     */
+    private void resendSpilled() {
+        if (!claimSpilled()) {
+            return;
+        }
+        int batchSize = properties.getBatchSize();
+        int resent = 0;
+        boolean sent = true;
+        try (BufferedReader reader = Files.newBufferedReader(resendFile, StandardCharsets.UTF_8)) {
+            List<EndpointHitDto> batch = new ArrayList<>(batchSize);
+            String line;
+            while (sent && (line = reader.readLine()) != null) {
+                EndpointHitDto hit = readSpilled(line);
+                if (hit != null) {
+                    batch.add(hit);
+                }
+                if (batch.size() == batchSize) {
+                    sent = resendBatch(batch, reader);
+                    resent += batch.size();
+                    batch.clear();
+                }
+            }
+            if (sent && !batch.isEmpty()) {
+                sent = resendBatch(batch, reader);
+                resent += batch.size();
+            }
+        } catch (IOException e) {
+            // Файл остаётся на месте и будет дослан целиком при следующей попытке
+            log.error("StatsHitBuffer: Failed to re-send spilled hits from {}. Error: {}", resendFile, e.getMessage());
+            return;
+        }
+        deleteResendFile();
+        if (sent) {
+            log.info("StatsHitBuffer: Re-sent {} hits spilled to disk", resent);
+        }
+    }
+
+    private boolean resendBatch(List<EndpointHitDto> batch, BufferedReader reader) throws IOException {
+        if (send(batch)) {
+            return true;
+        }
+        returnUnsent(batch, reader);
+        return false;
+    }
+
+    /**
+     * Забирает файл сброса на досылку, переименовывая его. Файл, оставшийся от прерванной досылки,
+     * досылается раньше нового.
+     */
+    private boolean claimSpilled() {
+        spillLock.lock();
+        try {
+            if (Files.exists(resendFile)) {
+                return true;
+            }
+            if (!Files.exists(spillFile)) {
+                return false;
+            }
+            Files.move(spillFile, resendFile, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            log.error("StatsHitBuffer: Failed to claim spilled hits from {}. Error: {}", spillFile, e.getMessage());
+            return false;
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    private EndpointHitDto readSpilled(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(line, EndpointHitDto.class);
+        } catch (JsonProcessingException e) {
+            failedCounter.increment();
+            log.warn("StatsHitBuffer: Skipping malformed spilled hit: {}", line);
+            return null;
+        }
+    }
+
+    /**
+     * Дописывает неотправленную пачку и непрочитанный остаток файла досылки в файл сброса.
+     * Лимит размера файла сброса здесь не применяется: эти хиты уже были на диске.
+     */
+    private void returnUnsent(List<EndpointHitDto> batch, BufferedReader reader) throws IOException {
+        spillLock.lock();
+        try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (EndpointHitDto hit : batch) {
+                writer.write(objectMapper.writeValueAsString(hit));
+                writer.newLine();
+            }
+            reader.transferTo(writer);
+        } finally {
+            spillLock.unlock();
+        }
+        log.warn("StatsHitBuffer: Stats service unavailable, spilled hits are kept in {}", spillFile);
+    }
+
+    private void deleteResendFile() {
+        try {
+            Files.deleteIfExists(resendFile);
+        } catch (IOException e) {
+            log.error("StatsHitBuffer: Failed to delete {}. Error: {}", resendFile, e.getMessage());
+        }
+    }
+}
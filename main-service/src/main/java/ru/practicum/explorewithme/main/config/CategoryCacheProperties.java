@@ -0,0 +1,25 @@
+package ru.practicum.explorewithme.main.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки локального кэша категорий и страниц их списка.
+ */
+@ConfigurationProperties(prefix = "ewm.category-cache")
+@Getter
+@Setter
+public class CategoryCacheProperties {
+
+    /**
+     * Время жизни записи в кэше; ограничивает устаревание изменений, сделанных другими экземплярами сервиса.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Максимальное количество записей в каждом из кэшей: категорий по идентификатору и страниц списка.
+     */
+    private long maxSize = 1_000;
+}
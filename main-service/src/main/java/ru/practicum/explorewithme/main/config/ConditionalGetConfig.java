@@ -0,0 +1,26 @@
+package ru.practicum.explorewithme.main.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.explorewithme.main.aspect.ConditionalGetInterceptor;
+import ru.practicum.explorewithme.main.aspect.StatsHitAspect;
+import ru.practicum.explorewithme.main.service.PublicContentVersions;
+
+@Configuration
+@EnableConfigurationProperties(ConditionalGetProperties.class)
+@RequiredArgsConstructor
+@SuppressWarnings("unused")
+public class ConditionalGetConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<PublicContentVersions> publicContentVersions;
+    private final ObjectProvider<StatsHitAspect> statsHitAspect;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor(publicContentVersions, statsHitAspect));
+    }
+}
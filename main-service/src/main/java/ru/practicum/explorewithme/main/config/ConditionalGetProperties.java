@@ -0,0 +1,21 @@
+package ru.practicum.explorewithme.main.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки ETag и условных GET-запросов к публичному API.
+ */
+@ConfigurationProperties(prefix = "ewm.conditional-get")
+@Getter
+@Setter
+public class ConditionalGetProperties {
+
+    /**
+     * Наибольшее время, в течение которого ETag может оставаться прежним после изменений, не меняющих версию
+     * содержимого: просмотров и выборок, зависящих от текущего времени.
+     */
+    private Duration maxAge = Duration.ofSeconds(30);
+}
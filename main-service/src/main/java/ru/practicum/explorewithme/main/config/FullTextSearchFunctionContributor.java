@@ -0,0 +1,65 @@
+package ru.practicum.explorewithme.main.config;
+
+import java.util.List;
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.AbstractSqmSelfRenderingFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.ColumnReference;
+import org.hibernate.sql.ast.tree.expression.Expression;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Регистрирует в HQL функции полнотекстового поиска по событиям, чтобы использовать их в QueryDSL-предикатах:
+ * <ul>
+ *     <li>{@code fts_match(event.id, text)} — совпадает ли текст события с поисковым запросом;</li>
+ *     <li>{@code fts_rank(event.id, text)} — релевантность текста события поисковому запросу.</li>
+ * </ul>
+ * Столбец {@code events.search_vector} генерируется PostgreSQL и не отображается в сущность, чтобы не загружаться
+ * вместе с событием. Поэтому первым аргументом передаётся идентификатор события: функция берёт из него псевдоним
+ * таблицы и обращается к {@code search_vector} той же строки. Запрос разбирается {@code websearch_to_tsquery},
+ * поэтому пользовательский ввод не может вызвать синтаксическую ошибку.
+ */
+public class FullTextSearchFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry().register("fts_match", new SearchVectorFunction("fts_match",
+            "(%s.search_vector @@ websearch_to_tsquery('simple', ", "))", types.resolve(StandardBasicTypes.BOOLEAN)));
+        functionContributions.getFunctionRegistry().register("fts_rank", new SearchVectorFunction("fts_rank",
+            "ts_rank(%s.search_vector, websearch_to_tsquery('simple', ", "))", types.resolve(StandardBasicTypes.DOUBLE)));
+    }
+
+    private static class SearchVectorFunction extends AbstractSqmSelfRenderingFunctionDescriptor {
+
+        private final String prefix;
+        private final String suffix;
+
+        SearchVectorFunction(String name, String prefix, String suffix, BasicType<?> returnType) {
+            super(name, StandardArgumentsValidators.exactly(2),
+                StandardFunctionReturnTypeResolvers.invariant(returnType), null);
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public void render(SqlAppender sqlAppender, List<? extends SqlAstNode> arguments,
+                           ReturnableType<?> returnType, SqlAstTranslator<?> walker) {
+            ColumnReference eventId = ((Expression) arguments.get(0)).getColumnReference();
+            if (eventId == null || eventId.getQualifier() == null) {
+                throw new IllegalArgumentException(getName() + ": first argument must be the event id column");
+            }
+            sqlAppender.appendSql(String.format(prefix, eventId.getQualifier()));
+            arguments.get(1).accept(walker);
+            sqlAppender.appendSql(suffix);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.explorewithme.main.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки кэша результатов публичного поиска событий.
+ */
+@ConfigurationProperties(prefix = "ewm.public-event-search-cache")
+@Getter
+@Setter
+public class PublicEventSearchCacheProperties {
+
+    /**
+     * Время жизни результата поиска; в его пределах просмотры и число подтверждённых заявок могут отставать.
+     */
+    private Duration ttl = Duration.ofSeconds(5);
+
+    /**
+     * Максимальное количество различных поисковых запросов в кэше.
+     */
+    private long maxSize = 500;
+}
@@ -0,0 +1,66 @@
+package ru.practicum.explorewithme.main.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Маршрутизация транзакций {@code readOnly} на реплику. Основной источник данных оборачивается
+ * в {@link LazyConnectionDataSourceProxy}: соединение берётся при первом запросе, когда признак
+ * только для чтения уже выставлен транзакцией, и для таких транзакций выдаётся из
+ * {@link ReplicaLagAwareDataSource}. Метрики пулов публикуются Hikari с тегами {@code pool=primary}
+ * и {@code pool=replica}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(prefix = "ewm.read-replica", name = "enabled", havingValue = "true")
+@SuppressWarnings("unused")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ReadReplicaProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(properties.getUrl());
+        dataSource.setUsername(properties.getUsername());
+        dataSource.setPassword(properties.getPassword());
+        dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagAwareDataSource readOnlyDataSource(HikariDataSource replicaDataSource,
+                                                        HikariDataSource primaryDataSource,
+                                                        ReadReplicaProperties properties,
+                                                        MeterRegistry meterRegistry) {
+        return new ReplicaLagAwareDataSource(replicaDataSource, primaryDataSource, properties.getMaxLag(),
+            meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaLagAwareDataSource readOnlyDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readOnlyDataSource);
+        return dataSource;
+    }
+}
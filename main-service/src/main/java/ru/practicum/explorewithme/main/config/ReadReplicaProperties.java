@@ -0,0 +1,41 @@
+package ru.practicum.explorewithme.main.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки реплики для чтения, на которую направляются транзакции {@code readOnly}.
+ */
+@ConfigurationProperties(prefix = "ewm.read-replica")
+@Getter
+@Setter
+public class ReadReplicaProperties {
+
+    /**
+     * Включает маршрутизацию; без неё все транзакции идут в {@code spring.datasource}.
+     */
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Размер пула соединений с репликой.
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * Отставание, при превышении которого чтение переключается на основную базу.
+     */
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    /**
+     * Период проверки отставания реплики.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,128 @@
+package ru.practicum.explorewithme.main.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Источник соединений для транзакций {@code readOnly}: отдаёт соединения реплики, пока её отставание
+ * не превышает порога, иначе — соединения основной базы в режиме только для чтения.
+ * <p>
+ * Пока отставание ещё не измерено или реплика недоступна, чтение идёт в основную базу.
+ */
+@Slf4j
+public class ReplicaLagAwareDataSource extends DelegatingDataSource {
+
+    /**
+     * Отставание в секундах; для базы, которая не является репликой, и для реплики, применившей весь полученный
+     * WAL, — ноль, даже если записей давно не было. Если приёмник WAL реплики не в состоянии {@code streaming}
+     * (соединение с основной базой потеряно), запрос возвращает {@code NULL}: полученный WAL применён, но новый
+     * не поступает, и нулевое отставание было бы ложным. Статус приёмника виден роли с правами
+     * {@code pg_read_all_stats} (например, {@code pg_monitor}), без них реплика считается недоступной.
+     */
+    static final String LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+        "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL " +
+        "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primaryDataSource;
+    private final Duration maxLag;
+    private final Counter replicaConnections;
+    private final Counter primaryConnections;
+
+    private volatile Duration lag;
+
+    public ReplicaLagAwareDataSource(DataSource replicaDataSource, DataSource primaryDataSource, Duration maxLag,
+                                     MeterRegistry meterRegistry) {
+        super(replicaDataSource);
+        this.primaryDataSource = primaryDataSource;
+        this.maxLag = maxLag;
+        this.replicaConnections = Counter.builder("datasource.read_only.connections")
+            .description("Соединения, выданные транзакциям только для чтения")
+            .tag("pool", "replica")
+            .register(meterRegistry);
+        this.primaryConnections = Counter.builder("datasource.read_only.connections")
+            .description("Соединения, выданные транзакциям только для чтения")
+            .tag("pool", "primary")
+            .register(meterRegistry);
+        Gauge.builder("datasource.replica.lag", this, dataSource -> dataSource.lag == null
+                ? Double.NaN : dataSource.lag.toMillis() / 1_000.0)
+            .description("Отставание реплики в секундах; NaN, если реплика недоступна")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (isReplicaAvailable()) {
+            replicaConnections.increment();
+            return super.getConnection();
+        }
+        primaryConnections.increment();
+        return readOnly(primaryDataSource.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (isReplicaAvailable()) {
+            replicaConnections.increment();
+            return super.getConnection(username, password);
+        }
+        primaryConnections.increment();
+        return readOnly(primaryDataSource.getConnection(username, password));
+    }
+
+    public boolean isReplicaAvailable() {
+        Duration currentLag = lag;
+        return currentLag != null && currentLag.compareTo(maxLag) <= 0;
+    }
+
+    @Scheduled(fixedDelayString = "${ewm.read-replica.lag-check-interval:5s}")
+    public void refreshLag() {
+        try (Connection connection = obtainTargetDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+            resultSet.next();
+            double lagSeconds = resultSet.getDouble(1);
+            if (resultSet.wasNull()) {
+                markReplicaUnavailable();
+            } else {
+                updateLag(Duration.ofMillis(Math.round(lagSeconds * 1_000)));
+            }
+        } catch (SQLException e) {
+            log.warn("ReplicaLagAwareDataSource: Failed to check replica lag. Error: {}", e.getMessage());
+            markReplicaUnavailable();
+        }
+    }
+
+    void updateLag(Duration currentLag) {
+        boolean wasAvailable = isReplicaAvailable();
+        lag = currentLag;
+        if (wasAvailable && !isReplicaAvailable()) {
+            log.warn("ReplicaLagAwareDataSource: Replica lag {} exceeds {}, reading from primary", currentLag, maxLag);
+        } else if (!wasAvailable && isReplicaAvailable()) {
+            log.info("ReplicaLagAwareDataSource: Replica lag {} is within {}, reading from replica", currentLag, maxLag);
+        }
+    }
+
+    private Connection readOnly(Connection primaryConnection) throws SQLException {
+        primaryConnection.setReadOnly(true);
+        return primaryConnection;
+    }
+
+    void markReplicaUnavailable() {
+        if (isReplicaAvailable()) {
+            log.warn("ReplicaLagAwareDataSource: Replica is unavailable, reading from primary");
+        }
+        lag = null;
+    }
+}
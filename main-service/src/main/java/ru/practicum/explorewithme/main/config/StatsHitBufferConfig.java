@@ -0,0 +1,10 @@
+package ru.practicum.explorewithme.main.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(StatsHitBufferProperties.class)
+@SuppressWarnings("unused")
+public class StatsHitBufferConfig {
+}
@@ -0,0 +1,74 @@
+package ru.practicum.explorewithme.main.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Настройки буфера хитов, которые {@code StatsHitAspect} отправляет в сервис статистики в фоновом режиме.
+ */
+@ConfigurationProperties(prefix = "stats-server.hit-buffer")
+@Getter
+@Setter
+public class StatsHitBufferProperties {
+
+    /**
+     * Максимальное количество хитов, ожидающих отправки в памяти.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Максимальное количество хитов, отправляемых за один раз.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Максимальное время ожидания заполнения пачки перед отправкой.
+     */
+    private Duration maxLinger = Duration.ofMillis(500);
+
+    /**
+     * Поведение при переполнении очереди.
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    /**
+     * Максимальное время блокировки потока запроса при политике {@link OverflowPolicy#BLOCK}.
+     * По истечении хит отбрасывается.
+     */
+    private Duration blockTimeout = Duration.ofMillis(100);
+
+    /**
+     * Каталог для сброса хитов на диск при политике {@link OverflowPolicy#SPILL_TO_DISK}.
+     */
+    private Path spillDirectory = Path.of(System.getProperty("java.io.tmpdir"), "ewm-stats-spill");
+
+    /**
+     * Максимальный размер файла сброса; сверх него хиты отбрасываются.
+     */
+    private DataSize spillMaxSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Политики обработки переполнения очереди хитов.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Вытеснить самый старый хит из очереди
+         */
+        DROP_OLDEST,
+
+        /**
+         * Подождать освобождения места не дольше {@code block-timeout}
+         */
+        BLOCK,
+
+        /**
+         * Дописать хит в файл на диске, который будет дослан фоновым потоком.
+         * Туда же попадают пачки, которые не удалось отправить в сервис статистики.
+         */
+        SPILL_TO_DISK
+    }
+}
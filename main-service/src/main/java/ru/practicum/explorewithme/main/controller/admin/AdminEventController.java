@@ -2,6 +2,7 @@ package ru.practicum.explorewithme.main.controller.admin;
 
 import static ru.practicum.explorewithme.common.constants.DateTimeConstants.DATE_TIME_FORMAT_PATTERN;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +14,7 @@ import ru.practicum.explorewithme.main.dto.EventFullDto;
 import ru.practicum.explorewithme.main.dto.UpdateEventAdminRequestDto;
 import ru.practicum.explorewithme.main.model.EventState;
 import ru.practicum.explorewithme.main.service.EventService;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -42,6 +44,8 @@ public class AdminEventController {
      * @param rangeEnd   дата и время не позже которых должно произойти событие
      * @param from       количество событий, которые нужно пропустить для формирования текущего набора
      * @param size       количество событий в наборе
+     * @param cursor     токен продолжения из заголовка {@code X-Next-Cursor} предыдущего ответа; если передан
+     *                   (пустой — первая страница), выдача идёт по ключу и {@code from} не используется
      * @return Список EventFullDto
      */
     @GetMapping
@@ -55,15 +59,26 @@ public class AdminEventController {
         @RequestParam(name = "rangeEnd", required = false)
         @DateTimeFormat(pattern = DATETIME_FORMAT) LocalDateTime rangeEnd,
         @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
-        @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
+        @RequestParam(name = "size", defaultValue = "10") @Positive int size,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        HttpServletResponse response) {
 
         log.info("Admin: Received request to search events with params: users={}, states={}, categories={}, " +
-                "rangeStart={}, rangeEnd={}, from={}, size={}",
-            users, states, categories, rangeStart, rangeEnd, from, size);
+                "rangeStart={}, rangeEnd={}, from={}, size={}, cursor={}",
+            users, states, categories, rangeStart, rangeEnd, from, size, cursor);
 
         AdminEventSearchParams params = AdminEventSearchParams.builder().users(users).states(states)
             .categories(categories).rangeStart(rangeStart).rangeEnd(rangeEnd).build();
 
+        if (cursor != null) {
+            KeysetPage<EventFullDto> page = eventService.getEventsAdminByCursor(params, cursor, size);
+            if (page.nextCursor() != null) {
+                response.setHeader(KeysetPage.NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            log.info("Admin: Found {} events for the given criteria.", page.items().size());
+            return page.items();
+        }
+
         List<EventFullDto> foundEvents = eventService.getEventsAdmin(
             params,
             from,
@@ -7,6 +7,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -14,6 +15,7 @@ import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.GetListUsersParameters;
 
 @RestController
@@ -47,13 +49,24 @@ public class AdminUserController {
     public List<UserDto> getUsers(
             @RequestParam(required = false) List<Long> ids,
             @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-            @RequestParam(defaultValue = "10") @Positive int size) {
-        log.info("Admin: Received request to get list users with parameters: ids {}, from {}, size {}", ids, from, size);
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(required = false) String cursor,
+            HttpServletResponse response) {
+        log.info("Admin: Received request to get list users with parameters: ids {}, from {}, size {}, cursor {}",
+                ids, from, size, cursor);
         GetListUsersParameters parameters = GetListUsersParameters.builder()
                 .ids(ids)
                 .from(from)
                 .size(size)
                 .build();
+        if (cursor != null) {
+            KeysetPage<UserDto> page = userService.getUsersByCursor(parameters, cursor);
+            if (page.nextCursor() != null) {
+                response.setHeader(KeysetPage.NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            log.info("Admin: Received list users: {}", page.items());
+            return page.items();
+        }
         List<UserDto> result = userService.getUsers(parameters);
         log.info("Admin: Received list users: {}", result);
         return result;
@@ -1,5 +1,6 @@
 package ru.practicum.explorewithme.main.controller.priv;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +17,7 @@ import ru.practicum.explorewithme.main.dto.UpdateEventUserRequestDto;
 import ru.practicum.explorewithme.main.dto.ParticipationRequestDto;
 import ru.practicum.explorewithme.main.service.EventService;
 import ru.practicum.explorewithme.main.service.RequestService;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.EventRequestStatusUpdateRequestParams;
 
 import jakarta.validation.constraints.Positive;
@@ -41,6 +43,8 @@ public class PrivateEventController {
      * @param userId ID текущего пользователя
      * @param from   количество элементов, которые нужно пропустить для формирования текущего набора
      * @param size   количество элементов в наборе
+     * @param cursor токен продолжения из заголовка {@code X-Next-Cursor} предыдущего ответа; если передан
+     *               (пустой — первая страница), выдача идёт по ключу и {@code from} не используется
      * @return Список EventShortDto
      */
     @GetMapping
@@ -48,9 +52,20 @@ public class PrivateEventController {
     public List<EventShortDto> getEventsAddedByCurrentUser(
         @PathVariable Long userId,
         @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
-        @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
-
-        log.info("User id={}: Received request to get own events, from={}, size={}", userId, from, size);
+        @RequestParam(name = "size", defaultValue = "10") @Positive int size,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        HttpServletResponse response) {
+
+        log.info("User id={}: Received request to get own events, from={}, size={}, cursor={}", userId, from, size,
+            cursor);
+        if (cursor != null) {
+            KeysetPage<EventShortDto> page = eventService.getEventsByOwnerByCursor(userId, cursor, size);
+            if (page.nextCursor() != null) {
+                response.setHeader(KeysetPage.NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            log.info("User id={}: Found {} events. Cursor={}, size={}", userId, page.items().size(), cursor, size);
+            return page.items();
+        }
         List<EventShortDto> events = eventService.getEventsByOwner(userId, from, size);
         log.info("User id={}: Found {} events. From={}, size={}", userId, events.size(), from, size);
         return events;
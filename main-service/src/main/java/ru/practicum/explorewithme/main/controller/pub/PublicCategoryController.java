@@ -2,8 +2,10 @@ package ru.practicum.explorewithme.main.controller.pub;
 
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import ru.practicum.explorewithme.main.aspect.ConditionalGet;
 import ru.practicum.explorewithme.main.dto.CategoryDto;
 import ru.practicum.explorewithme.main.service.CategoryService;
+import ru.practicum.explorewithme.main.service.PublicContent;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +26,7 @@ public class PublicCategoryController {
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
+    @ConditionalGet(PublicContent.CATEGORIES)
     public List<CategoryDto> getAllCategories(
             @RequestParam(defaultValue = "0") @PositiveOrZero int from,
             @RequestParam(defaultValue = "10") @Positive int size) {
@@ -35,6 +38,7 @@ public class PublicCategoryController {
 
     @GetMapping("/{categoryId}")
     @ResponseStatus(HttpStatus.OK)
+    @ConditionalGet(PublicContent.CATEGORIES)
     public CategoryDto getCategoryById(@PathVariable Long categoryId) {
         log.info("Admin: Received request to get category with Id: {}", categoryId);
         CategoryDto result = categoryService.getCategoryById(categoryId);
@@ -1,5 +1,6 @@
 package ru.practicum.explorewithme.main.controller.pub;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -9,8 +10,11 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.explorewithme.main.aspect.ConditionalGet;
 import ru.practicum.explorewithme.main.dto.CommentDto;
 import ru.practicum.explorewithme.main.service.CommentService;
+import ru.practicum.explorewithme.main.service.PublicContent;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.PublicCommentParameters;
 
 import java.util.List;
@@ -26,13 +30,16 @@ public class PublicCommentController {
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
+    @ConditionalGet(PublicContent.COMMENTS)
     public List<CommentDto> getCommentsForEventId(
             @PathVariable @Positive Long eventId,
             @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
             @RequestParam(name = "size", defaultValue = "10") @Positive int size,
             @Pattern(regexp = "^(createdOn),(ASC|DESC)$",
                       message = "Параметр sort должен иметь формат createdOn,ASC|DESC")
-            @RequestParam(defaultValue = "createdOn,DESC") String sort) {
+            @RequestParam(defaultValue = "createdOn,DESC") String sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            HttpServletResponse response) {
         log.info("Public: Received request to get list comments for eventId:" +
                         " {}, parameters: from: {}, size: {}, sort: {}", eventId, from, size, sort);
         Sort sortingRule;
@@ -46,6 +53,15 @@ public class PublicCommentController {
                 .size(size)
                 .sort(sortingRule)
                 .build();
+        if (cursor != null) {
+            KeysetPage<CommentDto> page = commentService.getCommentsForEventByCursor(eventId, parameters, cursor);
+            if (page.nextCursor() != null) {
+                response.setHeader(KeysetPage.NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            log.info("Public: Got list comments for eventId: {}, parameters: cursor: {}, size: {}, sort: {}",
+                    eventId, cursor, size, sort);
+            return page.items();
+        }
         List<CommentDto> result = commentService.getCommentsForEvent(eventId, parameters);
         log.info("Public: Got list comments for eventId: {}, parameters: from: {}, size: {}, sort: {}",
                 eventId, from, size, sort);
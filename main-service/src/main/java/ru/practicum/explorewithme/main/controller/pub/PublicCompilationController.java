@@ -5,8 +5,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.explorewithme.main.aspect.ConditionalGet;
 import ru.practicum.explorewithme.main.dto.CompilationDto;
 import ru.practicum.explorewithme.main.service.CompilationService;
+import ru.practicum.explorewithme.main.service.PublicContent;
 
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -24,6 +26,7 @@ public class PublicCompilationController {
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
+    @ConditionalGet(PublicContent.COMPILATIONS)
     public List<CompilationDto> getCompilations(
             @RequestParam(name = "pinned", required = false) Boolean pinned,
             @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
@@ -36,6 +39,7 @@ public class PublicCompilationController {
 
     @GetMapping("/{compId}")
     @ResponseStatus(HttpStatus.OK)
+    @ConditionalGet(PublicContent.COMPILATIONS)
     public CompilationDto getCompilationById(@PathVariable @Positive Long compId) {
         log.info("Received request to get compilation with id={}", compId);
         CompilationDto result = compilationService.getCompilationById(compId);
@@ -1,5 +1,6 @@
 package ru.practicum.explorewithme.main.controller.pub;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
@@ -8,10 +9,13 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.explorewithme.main.aspect.ConditionalGet;
 import ru.practicum.explorewithme.main.aspect.LogStatsHit;
 import ru.practicum.explorewithme.main.dto.EventFullDto;
 import ru.practicum.explorewithme.main.dto.EventShortDto;
 import ru.practicum.explorewithme.main.service.EventService;
+import ru.practicum.explorewithme.main.service.PublicContent;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.PublicEventSearchParams;
 
 import java.time.LocalDateTime;
@@ -30,6 +34,7 @@ public class PublicEventController {
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
+    @ConditionalGet(PublicContent.EVENTS)
     @LogStatsHit
     public List<EventShortDto> getEvents(
             @RequestParam(name = "text", required = false) String text,
@@ -43,11 +48,13 @@ public class PublicEventController {
             @RequestParam(name = "sort", defaultValue = "EVENT_DATE") String sort,
             @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
             @RequestParam(name = "size", defaultValue = "10") @Positive int size,
-            @RequestHeader(name = "X-Real-IP", required = false) String ipAddress) {
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestHeader(name = "X-Real-IP", required = false) String ipAddress,
+            HttpServletResponse response) {
 
         log.info("Public: Received request to get events with params: text={}, categories={}, paid={}, " +
-                        "rangeStart={}, rangeEnd={}, onlyAvailable={}, sort={}, from={}, size={}",
-                text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort, from, size);
+                        "rangeStart={}, rangeEnd={}, onlyAvailable={}, sort={}, from={}, size={}, cursor={}",
+                text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort, from, size, cursor);
 
         PublicEventSearchParams params = PublicEventSearchParams.builder()
                 .text(text)
@@ -59,6 +66,15 @@ public class PublicEventController {
                 .sort(sort)
                 .build();
 
+        if (cursor != null) {
+            KeysetPage<EventShortDto> page = eventService.getEventsPublicByCursor(params, cursor, size);
+            if (page.nextCursor() != null) {
+                response.setHeader(KeysetPage.NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            log.info("Public: Found {} events", page.items().size());
+            return page.items();
+        }
+
         List<EventShortDto> events = eventService.getEventsPublic(params, from, size);
         log.info("Public: Found {} events", events.size());
         return events;
@@ -66,6 +82,7 @@ public class PublicEventController {
 
     @GetMapping("/{eventId}")
     @ResponseStatus(HttpStatus.OK)
+    @ConditionalGet(PublicContent.EVENTS)
     @LogStatsHit
     public EventFullDto getEventById(
             @PathVariable @Positive Long eventId,
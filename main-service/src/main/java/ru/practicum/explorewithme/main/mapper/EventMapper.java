@@ -24,6 +24,7 @@ public interface EventMapper {
     @Mapping(target = "initiator", ignore = true)
     @Mapping(target = "createdOn", ignore = true)
     @Mapping(target = "confirmedRequestsCount", ignore = true)
+    @Mapping(target = "views", ignore = true)
     @Mapping(target = "state", expression = "java(ru.practicum.explorewithme.main.model.EventState.PENDING)")
     Event toEvent(NewEventDto newEventDto);
 
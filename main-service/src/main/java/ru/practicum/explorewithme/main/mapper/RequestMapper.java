@@ -4,6 +4,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.explorewithme.main.dto.ParticipationRequestDto;
 import ru.practicum.explorewithme.main.model.ParticipationRequest;
+import ru.practicum.explorewithme.main.repository.RequestRepository;
 
 @Mapper(componentModel = "spring")
 public interface RequestMapper {
@@ -12,4 +13,6 @@ public interface RequestMapper {
     @Mapping(source = "event.id", target = "eventId")
     ParticipationRequestDto toRequestDto(ParticipationRequest participationRequest);
 
+    ParticipationRequestDto toRequestDto(RequestRepository.RequestRowProjection requestRow);
+
 }
@@ -21,7 +21,8 @@ public class Compilation {
      * Уникальный идентификатор подборки.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "compilations_seq")
+    @SequenceGenerator(name = "compilations_seq", sequenceName = "compilations_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -6,7 +6,6 @@ import lombok.*;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
-import org.hibernate.annotations.Formula;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -26,7 +25,8 @@ public class Event {
      * Уникальный идентификатор события
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -119,11 +119,20 @@ public class Event {
     private Set<Compilation> compilations = new HashSet<>();
 
     /**
-     *  Количество подтверждённых заявок
+     *  Количество подтверждённых заявок. Изменяется только атомарными запросами
+     *  {@link ru.practicum.explorewithme.main.repository.EventRepository#addConfirmedRequests},
+     *  поэтому при сохранении события не перезаписывается
      */
-    @Formula("(SELECT COUNT(r.id) FROM requests r WHERE r.event_id = id AND r.status = 'CONFIRMED')")
+    @Column(name = "confirmed_requests", nullable = false, updatable = false)
     private long confirmedRequestsCount;
 
+    /**
+     *  Количество уникальных просмотров, по которому сортируется публичный поиск. Обновляется
+     *  при применении ленты изменений сервиса статистики
+     */
+    @Column(name = "views", nullable = false, updatable = false)
+    private long views;
+
     /**
      * Разрешены ли комментарии
      */
@@ -1,5 +1,7 @@
 package ru.practicum.explorewithme.main.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,6 +11,8 @@ import ru.practicum.explorewithme.main.model.Category;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    Slice<Category> findAllBy(Pageable pageable);
+
     @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END" +
             " FROM Category c WHERE LOWER(TRIM(c.name)) = LOWER(TRIM(:name))")
     boolean existsByNameIgnoreCaseAndTrim(@Param("name") String name);
@@ -3,24 +3,32 @@ package ru.practicum.explorewithme.main.repository;
 
 import com.querydsl.core.types.Predicate;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import ru.practicum.explorewithme.main.model.Comment;
 
 public interface CommentRepository extends JpaRepository<Comment, Long>,
-    QuerydslPredicateExecutor<Comment> {
+    QuerydslPredicateExecutor<Comment>, CommentSliceRepository {
 
     @EntityGraph(attributePaths = {"author"})
-    Page<Comment> findByEventIdAndIsDeletedFalse(Long eventId, Pageable pageable);
+    Slice<Comment> findByEventIdAndIsDeletedFalse(Long eventId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"author"})
+    Window<Comment> findByEventIdAndIsDeletedFalse(Long eventId, ScrollPosition position, Sort sort, Limit limit);
 
     @EntityGraph(attributePaths = {"author"})
     @Override
     @NotNull Page<Comment> findAll(@NotNull Predicate predicate, @NotNull Pageable pageable);
 
     @EntityGraph(attributePaths = {"author"})
-    Page<Comment> findByAuthorIdAndIsDeletedFalse(Long authorId, Pageable pageable);
+    Slice<Comment> findByAuthorIdAndIsDeletedFalse(Long authorId, Pageable pageable);
 
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package ru.practicum.explorewithme.main.repository;
+
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.explorewithme.main.model.Comment;
+
+public interface CommentSliceRepository {
+
+    /**
+     * Аналог {@code findAll(Predicate, Pageable)}, не выполняющий запрос общего количества комментариев.
+     * Автор комментария загружается в том же запросе.
+     */
+    Slice<Comment> findSlice(Predicate predicate, Pageable pageable);
+}
@@ -0,0 +1,33 @@
+package ru.practicum.explorewithme.main.repository;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import ru.practicum.explorewithme.main.model.Comment;
+import ru.practicum.explorewithme.main.model.QComment;
+
+public class CommentSliceRepositoryImpl implements CommentSliceRepository {
+
+    private final EntityManager entityManager;
+    private final Querydsl querydsl;
+
+    public CommentSliceRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.querydsl = new Querydsl(entityManager, new PathBuilder<>(Comment.class, QComment.comment.getMetadata()));
+    }
+
+    @Override
+    public Slice<Comment> findSlice(Predicate predicate, Pageable pageable) {
+        QComment comment = QComment.comment;
+        JPAQuery<Comment> query = new JPAQuery<Comment>(entityManager)
+            .select(comment)
+            .from(comment)
+            .leftJoin(comment.author).fetchJoin()
+            .where(predicate);
+        return QuerydslSlices.fetch(querydsl, query, pageable);
+    }
+}
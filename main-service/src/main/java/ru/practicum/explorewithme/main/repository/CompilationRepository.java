@@ -1,7 +1,7 @@
 package ru.practicum.explorewithme.main.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -13,11 +13,10 @@ import ru.practicum.explorewithme.main.model.Compilation;
 public interface CompilationRepository extends JpaRepository<Compilation, Long> {
 
     @EntityGraph(attributePaths = {"events", "events.category", "events.initiator"})
-    Page<Compilation> findByPinned(Boolean pinned, Pageable pageable);
+    Slice<Compilation> findByPinned(Boolean pinned, Pageable pageable);
 
-    @Override
     @EntityGraph(attributePaths = {"events", "events.category", "events.initiator"})
-    Page<Compilation> findAll(Pageable pageable);
+    Slice<Compilation> findAllBy(Pageable pageable);
 
     @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END " +
             "FROM Compilation c WHERE LOWER(TRIM(c.title)) = LOWER(TRIM(:title))")
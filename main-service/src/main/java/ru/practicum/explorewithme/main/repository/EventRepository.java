@@ -1,15 +1,37 @@
 package ru.practicum.explorewithme.main.repository;
 
+import com.querydsl.core.types.Predicate;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.explorewithme.main.model.Event;
 import ru.practicum.explorewithme.main.model.EventState;
 
-public interface EventRepository extends JpaRepository<Event, Long>, QuerydslPredicateExecutor<Event> {
-    Page<Event> findByInitiatorId(Long userId, Pageable pageable);
+public interface EventRepository extends JpaRepository<Event, Long>, QuerydslPredicateExecutor<Event>,
+    EventSliceRepository {
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Override
+    @NotNull Page<Event> findAll(@NotNull Predicate predicate, @NotNull Pageable pageable);
+
+    /**
+     * Выборки по курсору тоже отдают категорию и инициатора в DTO, поэтому загружаются с ними одним запросом.
+     * Свойства {@code FluentQuery.project(...)} к {@code scroll} не применяются, граф задаётся на самом методе.
+     */
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Override
+    <S extends Event, R> @NotNull R findBy(@NotNull Predicate predicate,
+                                           @NotNull Function<FetchableFluentQuery<S>, R> queryFunction);
 
     Optional<Event> findByIdAndInitiatorId(Long eventId, Long userId);
 
@@ -19,4 +41,81 @@ public interface EventRepository extends JpaRepository<Event, Long>, QuerydslPre
 
     Optional<Event> findByIdAndState(Long eventId, EventState state);
 
-}
\ No newline at end of file
+    /**
+     * Атомарно изменяет счётчик подтверждённых заявок события на {@code delta}.
+     * Вызывается в той же транзакции, что и изменение статуса заявок.
+     */
+    @Modifying
+    @Query(value = "UPDATE events SET confirmed_requests = confirmed_requests + :delta WHERE id = :eventId",
+            nativeQuery = true)
+    void addConfirmedRequests(@Param("eventId") Long eventId, @Param("delta") long delta);
+
+    /**
+     * Атомарно резервирует до {@code requested} мест события с лимитом участников: проверка остатка и
+     * увеличение счётчика выполняются одним оператором, поэтому параллельные заявки не превышают лимит.
+     * Строка события блокируется только этим оператором до конца транзакции, поэтому вызывать его следует
+     * последним шагом транзакции. Пустой результат означает, что свободных мест не осталось.
+     */
+    @Query(value = "UPDATE events e SET confirmed_requests = e.confirmed_requests + r.granted " +
+            "FROM (SELECT id, LEAST(:requested, participant_limit - confirmed_requests) AS granted " +
+            "FROM events WHERE id = :eventId AND participant_limit > 0 FOR UPDATE) r " +
+            "WHERE e.id = r.id AND r.granted > 0 " +
+            "RETURNING r.granted AS granted, e.participant_limit - e.confirmed_requests AS remaining",
+            nativeQuery = true)
+    Optional<ConfirmedRequestsReservation> reserveConfirmedRequests(@Param("eventId") Long eventId,
+                                                                    @Param("requested") long requested);
+
+    /**
+     * Атомарно увеличивает количество просмотров, по которому сортируется публичный поиск.
+     * Контекст персистентности очищается, чтобы загруженные события не отдавали прежнее значение {@code views}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE events SET views = views + :delta WHERE id = :eventId", nativeQuery = true)
+    void addViews(@Param("eventId") Long eventId, @Param("delta") long delta);
+
+    @Query(value = "SELECT position FROM event_views_feed_cursor WHERE id = 1", nativeQuery = true)
+    long getViewsFeedCursor();
+
+    /**
+     * Сдвигает позицию ленты просмотров, только если она не изменилась с момента чтения: при нескольких
+     * экземплярах сервиса одну и ту же порцию ленты применит только один из них.
+     *
+     * @return 1, если позиция сдвинута, иначе 0
+     */
+    @Modifying
+    @Query(value = "UPDATE event_views_feed_cursor SET position = :next WHERE id = 1 AND position = :expected",
+            nativeQuery = true)
+    int advanceViewsFeedCursor(@Param("expected") long expected, @Param("next") long next);
+
+    @Query(value = "SELECT e.id AS eventId, e.confirmed_requests AS storedCount, COUNT(r.id) AS actualCount " +
+            "FROM events e LEFT JOIN requests r ON r.event_id = e.id AND r.status = 'CONFIRMED' " +
+            "GROUP BY e.id, e.confirmed_requests " +
+            "HAVING e.confirmed_requests <> COUNT(r.id)", nativeQuery = true)
+    List<ConfirmedRequestsDriftProjection> findConfirmedRequestsDrift();
+
+    /**
+     * Блокирует строку события, чтобы пересчёт счётчика не пересекался с изменением заявок:
+     * {@link #addConfirmedRequests} берёт ту же блокировку.
+     */
+    @Query(value = "SELECT id FROM events WHERE id = :eventId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("eventId") Long eventId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE events SET confirmed_requests = (SELECT COUNT(r.id) FROM requests r " +
+            "WHERE r.event_id = events.id AND r.status = 'CONFIRMED') WHERE id = :eventId", nativeQuery = true)
+    void recountConfirmedRequests(@Param("eventId") Long eventId);
+
+    interface ConfirmedRequestsReservation {
+        Long getGranted();
+
+        Long getRemaining();
+    }
+
+    interface ConfirmedRequestsDriftProjection {
+        Long getEventId();
+
+        Long getStoredCount();
+
+        Long getActualCount();
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.explorewithme.main.repository;
+
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.explorewithme.main.dto.EventShortDto;
+import ru.practicum.explorewithme.main.model.Event;
+
+public interface EventSliceRepository {
+
+    /**
+     * Аналог {@code findAll(Predicate, Pageable)}, не выполняющий запрос общего количества событий.
+     * Категория и инициатор загружаются в том же запросе.
+     */
+    Slice<Event> findSlice(Predicate predicate, Pageable pageable);
+
+    /**
+     * Выбирает страницу событий сразу в виде {@link EventShortDto}: читаются только колонки краткого представления,
+     * категория и инициатор присоединяются в том же запросе, а сущности не попадают в контекст персистентности.
+     * Просмотры заполняются сохранённым счётчиком {@code events.views}.
+     */
+    Slice<EventShortDto> findShortDtoSlice(Predicate predicate, Pageable pageable);
+}
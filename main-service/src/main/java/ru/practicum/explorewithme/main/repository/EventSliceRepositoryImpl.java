@@ -0,0 +1,63 @@
+package ru.practicum.explorewithme.main.repository;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import ru.practicum.explorewithme.main.dto.CategoryDto;
+import ru.practicum.explorewithme.main.dto.EventShortDto;
+import ru.practicum.explorewithme.main.dto.UserShortDto;
+import ru.practicum.explorewithme.main.model.Event;
+import ru.practicum.explorewithme.main.model.QCategory;
+import ru.practicum.explorewithme.main.model.QEvent;
+import ru.practicum.explorewithme.main.model.QUser;
+
+public class EventSliceRepositoryImpl implements EventSliceRepository {
+
+    private final EntityManager entityManager;
+    private final Querydsl querydsl;
+
+    public EventSliceRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.querydsl = new Querydsl(entityManager, new PathBuilder<>(Event.class, QEvent.event.getMetadata()));
+    }
+
+    @Override
+    public Slice<Event> findSlice(Predicate predicate, Pageable pageable) {
+        QEvent event = QEvent.event;
+        JPAQuery<Event> query = new JPAQuery<Event>(entityManager)
+            .select(event)
+            .from(event)
+            .join(event.category).fetchJoin()
+            .join(event.initiator).fetchJoin()
+            .where(predicate);
+        return QuerydslSlices.fetch(querydsl, query, pageable);
+    }
+
+    @Override
+    public Slice<EventShortDto> findShortDtoSlice(Predicate predicate, Pageable pageable) {
+        QEvent event = QEvent.event;
+        QCategory category = QCategory.category;
+        QUser initiator = new QUser("initiator");
+        JPAQuery<EventShortDto> query = new JPAQuery<Event>(entityManager)
+            .select(Projections.constructor(EventShortDto.class,
+                event.id,
+                event.annotation,
+                Projections.constructor(CategoryDto.class, category.id, category.name),
+                event.confirmedRequestsCount,
+                event.eventDate,
+                Projections.constructor(UserShortDto.class, initiator.id, initiator.name),
+                event.paid,
+                event.title,
+                event.views))
+            .from(event)
+            .join(event.category, category)
+            .join(event.initiator, initiator)
+            .where(predicate);
+        return QuerydslSlices.fetch(querydsl, query, pageable);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.explorewithme.main.repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Версии содержимого публичного API в таблице {@code public_content_versions}, общие для всех экземпляров сервиса.
+ * Время изменения берётся по часам БД, поэтому не зависит от расхождения часов экземпляров.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PublicContentVersionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Увеличивает версию вида содержимого. Строка вида блокируется до конца транзакции, поэтому вызывать метод
+     * следует непосредственно перед фиксацией.
+     */
+    public void increment(String content) {
+        jdbcTemplate.update("UPDATE public_content_versions SET version = version + 1, changed_at = clock_timestamp() " +
+            "WHERE content = ?", content);
+    }
+
+    /**
+     * Возвращает сумму версий видов содержимого и признак того, что ни один из них не менялся в течение
+     * последних {@code settleAfter}.
+     */
+    public ContentVersion find(Collection<String> contents, Duration settleAfter) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(version), 0) AS version, " +
+                "COALESCE(BOOL_AND(changed_at <= clock_timestamp() - make_interval(secs => ?)), TRUE) AS settled " +
+                "FROM public_content_versions WHERE content = ANY(?)",
+            (rs, rowNum) -> new ContentVersion(rs.getLong("version"), rs.getBoolean("settled")),
+            settleAfter.toMillis() / 1000.0, contents.toArray(String[]::new));
+    }
+
+    public record ContentVersion(long version, boolean settled) {
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.explorewithme.main.repository;
+
+import com.querydsl.jpa.JPQLQuery;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.support.Querydsl;
+
+/**
+ * Выборка страницы Querydsl-запроса без {@code SELECT COUNT(*)}: запрашивается на одну строку больше
+ * размера страницы, и по лишней строке определяется наличие следующей.
+ */
+final class QuerydslSlices {
+
+    private QuerydslSlices() {
+    }
+
+    static <T> Slice<T> fetch(Querydsl querydsl, JPQLQuery<T> query, Pageable pageable) {
+        querydsl.applySorting(pageable.getSort(), query);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.fetch(), pageable, false);
+        }
+        List<T> content = query.offset(pageable.getOffset()).limit(pageable.getPageSize() + 1L).fetch();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+}
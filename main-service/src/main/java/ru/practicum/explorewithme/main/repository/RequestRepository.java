@@ -2,13 +2,13 @@ package ru.practicum.explorewithme.main.repository;
 
 import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.explorewithme.main.model.ParticipationRequest;
 import ru.practicum.explorewithme.main.model.RequestStatus;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,33 +17,82 @@ public interface RequestRepository extends JpaRepository<ParticipationRequest, L
 
     boolean existsByEvent_IdAndRequester_Id(Long requestEventId, Long userId);
 
-    int countByEvent_IdAndStatusEquals(Long eventId, RequestStatus status);
-
     List<ParticipationRequest> findByRequester_Id(Long userId);
 
     Optional<ParticipationRequest> findByIdAndRequester_Id(Long requestId, Long userId);
 
-    List<ParticipationRequest> findAllByIdIn(List<Long> requestIdsForUpdate);
-
     int countByIdInAndEvent_Id(List<Long> requestIdsForUpdate, Long eventId);
 
-    @Modifying
-    @Query("UPDATE ParticipationRequest r SET r.status = ru.practicum.explorewithme.main.model.RequestStatus.REJECTED " +
-            "WHERE r.event.id = :eventId AND r.status = :status")
-    void updateStatusToRejected(@Param("eventId") Long eventId, @Param("status") RequestStatus status);
+    Optional<ParticipationRequest> findFirstByIdInAndStatusNot(List<Long> requestIds, RequestStatus status);
+
+    /**
+     * Подтверждает не более {@code limit} ожидающих заявок из списка, начиная с самых ранних,
+     * и возвращает изменённые строки.
+     */
+    @Query(value = "UPDATE requests SET status = 'CONFIRMED' WHERE id IN (SELECT id FROM requests " +
+            "WHERE id IN (:requestIds) AND event_id = :eventId AND status = 'PENDING' " +
+            "ORDER BY created, id LIMIT :limit FOR UPDATE) " +
+            "RETURNING id, created, event_id AS eventId, requester_id AS requesterId, status", nativeQuery = true)
+    List<RequestRowProjection> confirmPending(@Param("eventId") Long eventId,
+                                              @Param("requestIds") List<Long> requestIds,
+                                              @Param("limit") long limit);
+
+    /**
+     * Отклоняет ожидающие заявки из списка и возвращает изменённые строки.
+     */
+    @Query(value = "UPDATE requests SET status = 'REJECTED' " +
+            "WHERE id IN (:requestIds) AND event_id = :eventId AND status = 'PENDING' " +
+            "RETURNING id, created, event_id AS eventId, requester_id AS requesterId, status", nativeQuery = true)
+    List<RequestRowProjection> rejectPending(@Param("eventId") Long eventId,
+                                             @Param("requestIds") List<Long> requestIds);
+
+    /**
+     * Отклоняет все заявки события в статусе {@code status} и возвращает изменённые строки.
+     */
+    @Query(value = "UPDATE requests SET status = 'REJECTED' WHERE event_id = :eventId AND status = :#{#status.name()} " +
+            "RETURNING id, created, event_id AS eventId, requester_id AS requesterId, status", nativeQuery = true)
+    List<RequestRowProjection> updateStatusToRejected(@Param("eventId") Long eventId,
+                                                      @Param("status") RequestStatus status);
+
+    /**
+     * Отменяет заявку пользователя, если она ещё не отменена, и возвращает изменённую строку вместе с прежним
+     * статусом. Прежний статус читается под блокировкой строки, поэтому параллельные отмены и подтверждения
+     * не приводят к повторному изменению счётчика события. Пустой результат означает, что заявки нет
+     * или она уже отменена.
+     */
+    @Query(value = "UPDATE requests r SET status = 'CANCELED' " +
+            "FROM (SELECT id, status FROM requests WHERE id = :requestId AND requester_id = :userId " +
+            "AND status <> 'CANCELED' FOR UPDATE) old WHERE r.id = old.id " +
+            "RETURNING r.id, r.created, r.event_id AS eventId, r.requester_id AS requesterId, r.status, " +
+            "old.status AS previousStatus", nativeQuery = true)
+    Optional<CanceledRequestRowProjection> cancel(@Param("requestId") Long requestId, @Param("userId") Long userId);
 
     List<ParticipationRequest> findByEvent_IdAndStatus(Long eventId, RequestStatus status);
 
     List<ParticipationRequest> findByEvent_Id(Long eventId);
 
-    long countByEventIdAndStatus(Long eventId, RequestStatus status);
-
     @Query("SELECT r.event.id as eventId, COUNT(r.id) as requestCount " +
         "FROM ParticipationRequest r " +
         "WHERE r.event.id IN :eventIds AND r.status = 'CONFIRMED' " +
         "GROUP BY r.event.id")
     List<ConfirmedRequestCountProjection> countConfirmedRequestsForEventIds(@Param("eventIds") Set<Long> eventIds);
 
+    interface RequestRowProjection {
+        Long getId();
+
+        LocalDateTime getCreated();
+
+        Long getEventId();
+
+        Long getRequesterId();
+
+        RequestStatus getStatus();
+    }
+
+    interface CanceledRequestRowProjection extends RequestRowProjection {
+        RequestStatus getPreviousStatus();
+    }
+
     interface ConfirmedRequestCountProjection {
         Long getEventId();
 
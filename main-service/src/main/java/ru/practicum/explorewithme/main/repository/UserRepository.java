@@ -1,7 +1,11 @@
 package ru.practicum.explorewithme.main.repository;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.explorewithme.main.model.User;
@@ -13,6 +17,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
-    Page<User> findAllByIdIn(List<Long> ids, Pageable pageable);
+    Slice<User> findAllBy(Pageable pageable);
+
+    Slice<User> findAllByIdIn(List<Long> ids, Pageable pageable);
+
+    Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<User> findAllByIdIn(List<Long> ids, ScrollPosition position, Sort sort, Limit limit);
 
 }
@@ -0,0 +1,126 @@
+package ru.practicum.explorewithme.main.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.explorewithme.main.config.CategoryCacheProperties;
+import ru.practicum.explorewithme.main.dto.CategoryDto;
+import ru.practicum.explorewithme.main.mapper.CategoryMapper;
+import ru.practicum.explorewithme.main.repository.CategoryRepository;
+
+/**
+ * Кэш категорий со сквозным чтением: отдельные категории по идентификатору и готовые страницы списка категорий.
+ * <p>
+ * Категории меняются редко, а читаются при каждом создании и изменении события, поэтому любое изменение
+ * категорий просто сбрасывает кэш целиком через {@link #invalidateAll()}. Кэш локален для экземпляра сервиса,
+ * но записи хранятся под общей версией категорий из {@link PublicContentVersions}: изменение, сделанное другим
+ * экземпляром, приводит к загрузке категорий заново при следующем обращении.
+ */
+@Component
+@Slf4j
+public class CategoryCache {
+
+    static final String BY_ID_CACHE_NAME = "categoriesById";
+    static final String PAGES_CACHE_NAME = "categoryPages";
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+    private final Cache<CategoryKey, CategoryDto> categoriesById;
+    private final Cache<PageKey, List<CategoryDto>> categoryPages;
+    private final PublicContentVersions contentVersions;
+
+    public CategoryCache(CategoryRepository categoryRepository, CategoryMapper categoryMapper,
+                         CategoryCacheProperties properties, MeterRegistry meterRegistry,
+                         PublicContentVersions contentVersions) {
+        this.categoryRepository = categoryRepository;
+        this.categoryMapper = categoryMapper;
+        this.categoriesById = Caffeine.newBuilder()
+            .expireAfterWrite(properties.getTtl())
+            .maximumSize(properties.getMaxSize())
+            .recordStats()
+            .build();
+        this.categoryPages = Caffeine.newBuilder()
+            .expireAfterWrite(properties.getTtl())
+            .maximumSize(properties.getMaxSize())
+            .recordStats()
+            .build();
+        this.contentVersions = contentVersions;
+        CaffeineCacheMetrics.monitor(meterRegistry, categoriesById, BY_ID_CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, categoryPages, PAGES_CACHE_NAME);
+    }
+
+    /**
+     * Возвращает категорию из кэша, при промахе загружает её из БД. Отсутствующие категории не кэшируются.
+     */
+    public Optional<CategoryDto> findById(Long categoryId) {
+        CategoryKey categoryKey = new CategoryKey(currentVersion(), categoryId);
+        return Optional.ofNullable(categoriesById.get(categoryKey, key -> load(key.id()).orElse(null)));
+    }
+
+    /**
+     * Возвращает страницу списка категорий, отсортированную по названию без учёта регистра.
+     * Загруженные категории заодно попадают в кэш по идентификатору.
+     */
+    public List<CategoryDto> getPage(int from, int size) {
+        long version = currentVersion();
+        return categoryPages.get(new PageKey(version, from, size), key -> {
+            List<CategoryDto> page = loadPage(from, size);
+            page.forEach(category -> categoriesById.put(new CategoryKey(version, category.getId()), category));
+            return page;
+        });
+    }
+
+    /**
+     * Сбрасывает кэш сразу и, если вызвана внутри транзакции, ещё раз после её завершения: иначе чтение,
+     * выполненное до фиксации изменения, могло бы вернуть в кэш прежнее значение.
+     */
+    public void invalidateAll() {
+        evict();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict();
+                }
+            });
+        }
+    }
+
+    /**
+     * Версия читается в транзакции вызывающего метода перед загрузкой, из того же источника, что и категории.
+     */
+    private long currentVersion() {
+        return contentVersions.version(PublicContent.CATEGORIES);
+    }
+
+    private Optional<CategoryDto> load(Long categoryId) {
+        return categoryRepository.findById(categoryId).map(categoryMapper::toDto);
+    }
+
+    private List<CategoryDto> loadPage(int from, int size) {
+        return categoryRepository.findAllBy(PageRequest.of(from / size, size)).stream()
+            .map(categoryMapper::toDto)
+            .sorted((c1, c2) -> c1.getName().compareToIgnoreCase(c2.getName()))
+            .toList();
+    }
+
+    private void evict() {
+        categoriesById.invalidateAll();
+        categoryPages.invalidateAll();
+        log.debug("Кэш категорий сброшен");
+    }
+
+    private record CategoryKey(long version, Long id) {
+    }
+
+    private record PageKey(long version, int from, int size) {
+    }
+}
@@ -1,8 +1,6 @@
 package ru.practicum.explorewithme.main.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.explorewithme.main.dto.CategoryDto;
@@ -16,7 +14,6 @@ import ru.practicum.explorewithme.main.repository.CategoryRepository;
 import ru.practicum.explorewithme.main.repository.EventRepository;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,11 +22,15 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final EventRepository eventRepository;
     private final CategoryMapper categoryMapper;
+    private final CategoryCache categoryCache;
+    private final PublicContentVersions publicContentVersions;
 
     @Override
     @Transactional
     public CategoryDto createCategory(NewCategoryDto newCategoryDto) {
         if (!categoryRepository.existsByNameIgnoreCaseAndTrim(newCategoryDto.getName())) {
+            categoryCache.invalidateAll();
+            publicContentVersions.changed(PublicContent.CATEGORIES);
             return categoryMapper.toDto(categoryRepository
                     .save(categoryMapper.toCategory(newCategoryDto)));
         } else {
@@ -51,6 +52,8 @@ public class CategoryServiceImpl implements CategoryService {
         if (newCategoryDto.getName() != null && !newCategoryDto.getName().isBlank()) {
             category.setName(newCategoryDto.getName());
         }
+        categoryCache.invalidateAll();
+        publicContentVersions.changed(PublicContent.CATEGORIES);
 
         return categoryMapper.toDto(categoryRepository.save(category));
     }
@@ -66,6 +69,8 @@ public class CategoryServiceImpl implements CategoryService {
             throw new EntityDeletedException("Category", "name", categoryId);
         } else {
             categoryRepository.deleteById(categoryId);
+            categoryCache.invalidateAll();
+            publicContentVersions.changed(PublicContent.CATEGORIES);
         }
 
     }
@@ -73,19 +78,14 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     @Transactional(readOnly = true)
     public List<CategoryDto> getAllCategories(int from, int size) {
-        Pageable pageable = PageRequest.of(from / size, size);
-        return categoryRepository.findAll(pageable).stream()
-                .map(categoryMapper::toDto)
-                .sorted((c1, c2) -> c1.getName().compareToIgnoreCase(c2.getName()))
-                .collect(Collectors.toList());
+        return categoryCache.getPage(from, size);
     }
 
     @Override
     @Transactional(readOnly = true)
     public CategoryDto getCategoryById(Long categoryId) {
-        Category category = categoryRepository.findById(categoryId)
+        return categoryCache.findById(categoryId)
                 .orElseThrow(() -> new EntityNotFoundException("Category", "Id", categoryId));
-        return categoryMapper.toDto(category);
     }
 
 }
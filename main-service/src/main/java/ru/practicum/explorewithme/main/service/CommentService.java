@@ -4,6 +4,7 @@ import ru.practicum.explorewithme.main.dto.CommentAdminDto;
 import ru.practicum.explorewithme.main.dto.CommentDto;
 import ru.practicum.explorewithme.main.dto.NewCommentDto;
 import ru.practicum.explorewithme.main.dto.UpdateCommentDto;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.AdminCommentSearchParams;
 import ru.practicum.explorewithme.main.service.params.PublicCommentParameters;
 
@@ -13,6 +14,15 @@ public interface CommentService {
 
     List<CommentDto> getCommentsForEvent(Long eventId, PublicCommentParameters publicCommentParameters);
 
+    /**
+     * Постраничная выдача по ключу (дата создания и id): {@code from} из параметров не используется,
+     * следующая страница запрашивается токеном продолжения.
+     *
+     * @param cursor токен из предыдущей страницы; {@code null} или пустая строка — первая страница
+     */
+    KeysetPage<CommentDto> getCommentsForEventByCursor(Long eventId, PublicCommentParameters publicCommentParameters,
+                                                       String cursor);
+
     List<CommentDto> getUserComments(Long userId, int from, int size);
 
     CommentDto addComment(Long userId, Long eventId, NewCommentDto newCommentDto);
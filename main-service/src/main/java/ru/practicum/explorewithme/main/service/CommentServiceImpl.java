@@ -6,10 +6,13 @@ import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.explorewithme.main.dto.CommentAdminDto;
@@ -27,6 +30,8 @@ import ru.practicum.explorewithme.main.model.User;
 import ru.practicum.explorewithme.main.repository.CommentRepository;
 import ru.practicum.explorewithme.main.repository.EventRepository;
 import ru.practicum.explorewithme.main.repository.UserRepository;
+import ru.practicum.explorewithme.main.service.pagination.KeysetCursor;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.AdminCommentSearchParams;
 import ru.practicum.explorewithme.main.service.params.PublicCommentParameters;
 
@@ -39,6 +44,7 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
     private final EventRepository eventRepository;
     private final CommentMapper commentMapper;
+    private final PublicContentVersions publicContentVersions;
 
     @Override
     @Transactional(readOnly = true)
@@ -58,6 +64,30 @@ public class CommentServiceImpl implements CommentService {
         return commentMapper.toDtoList(result);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<CommentDto> getCommentsForEventByCursor(Long eventId, PublicCommentParameters parameters,
+                                                              String cursor) {
+        Sort.Order createdOn = parameters.getSort().getOrderFor("createdOn");
+        Sort.Direction direction = createdOn == null ? Sort.Direction.DESC : createdOn.getDirection();
+        String order = "CREATED_ON_" + direction.name();
+        KeysetScrollPosition position = KeysetCursor.decode(cursor, order);
+
+        Event event = eventRepository.findByIdAndState(eventId, EventState.PUBLISHED)
+                .orElseThrow(() -> new EntityNotFoundException("Published event", "Id", eventId));
+
+        if (!event.isCommentsEnabled()) {
+            return new KeysetPage<>(List.of(), null);
+        }
+
+        // id в ключе сортировки различает комментарии, созданные в одну и ту же секунду
+        Sort sort = Sort.by(direction, "createdOn").and(Sort.by(direction, "id"));
+        Window<Comment> window = commentRepository.findByEventIdAndIsDeletedFalse(eventId, position, sort,
+                Limit.of(parameters.getSize()));
+
+        return KeysetPage.of(window, order, commentMapper::toDtoList);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<CommentDto> getUserComments(Long userId, int from, int size) {
@@ -94,7 +124,9 @@ public class CommentServiceImpl implements CommentService {
         comment.setAuthor(author);
         comment.setEvent(event);
 
-        return commentMapper.toDto(commentRepository.save(comment));
+        Comment savedComment = commentRepository.save(comment);
+        publicContentVersions.changed(PublicContent.COMMENTS);
+        return commentMapper.toDto(savedComment);
     }
 
     @Override
@@ -123,7 +155,9 @@ public class CommentServiceImpl implements CommentService {
         existedComment.setText(updateCommentDto.getText());
         existedComment.setEdited(true);
 
-        return commentMapper.toDto(commentRepository.saveAndFlush(existedComment));
+        Comment updatedComment = commentRepository.saveAndFlush(existedComment);
+        publicContentVersions.changed(PublicContent.COMMENTS);
+        return commentMapper.toDto(updatedComment);
     }
 
     @Override
@@ -134,6 +168,7 @@ public class CommentServiceImpl implements CommentService {
         if (!comment.isDeleted()) {
             comment.setDeleted(true);
             commentRepository.save(comment);
+            publicContentVersions.changed(PublicContent.COMMENTS);
         }
     }
 
@@ -148,6 +183,7 @@ public class CommentServiceImpl implements CommentService {
         if (!comment.isDeleted()) {
             comment.setDeleted(true);
             commentRepository.save(comment);
+            publicContentVersions.changed(PublicContent.COMMENTS);
         }
     }
 
@@ -159,6 +195,7 @@ public class CommentServiceImpl implements CommentService {
         if (comment.isDeleted()) {
             comment.setDeleted(false);
             commentRepository.save(comment);
+            publicContentVersions.changed(PublicContent.COMMENTS);
         }
         return commentMapper.toAdminDto(comment);
     }
@@ -185,9 +222,9 @@ public class CommentServiceImpl implements CommentService {
 
         Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "createdOn"));
 
-        Page<Comment> commentPage = commentRepository.findAll(predicate, pageable);
+        Slice<Comment> commentSlice = commentRepository.findSlice(predicate, pageable);
 
-        List<CommentAdminDto> result = commentMapper.toAdminDtoList(commentPage.getContent());
+        List<CommentAdminDto> result = commentMapper.toAdminDtoList(commentSlice.getContent());
         log.debug("Admin: Found {} comments for the given criteria.", result.size());
         return result;
     }
@@ -9,7 +9,6 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.explorewithme.main.dto.CompilationDto;
 import ru.practicum.explorewithme.main.dto.NewCompilationDto;
 import ru.practicum.explorewithme.main.dto.UpdateCompilationRequestDto;
-import ru.practicum.explorewithme.main.dto.EventShortDto;
 import ru.practicum.explorewithme.main.error.EntityAlreadyExistsException;
 import ru.practicum.explorewithme.main.error.EntityNotFoundException;
 import ru.practicum.explorewithme.main.mapper.CompilationMapper;
@@ -20,6 +19,7 @@ import ru.practicum.explorewithme.main.repository.EventRepository;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -32,16 +32,16 @@ public class CompilationServiceImpl implements CompilationService {
     private final CompilationRepository compilationRepository;
     private final EventRepository eventRepository;
     private final CompilationMapper compilationMapper;
+    private final PublicContentVersions publicContentVersions;
 
     @Transactional(readOnly = true)
     public List<CompilationDto> getCompilations(Boolean pinned, Pageable pageable) {
         log.debug("Fetching compilations with pinned={} and pageable={}", pinned, pageable);
         List<Compilation> compilations = (pinned != null)
                 ? compilationRepository.findByPinned(pinned, pageable).getContent()
-                : compilationRepository.findAll(pageable).getContent();
+                : compilationRepository.findAllBy(pageable).getContent();
         List<CompilationDto> result = compilations.stream()
-                .map(compilationMapper::toDto)
-                .map(this::addConfirmedRequestsAndViews)
+                .map(this::toDtoWithStoredViews)
                 .collect(Collectors.toList());
         log.debug("Found {} compilations", result.size());
         return result;
@@ -54,10 +54,9 @@ public class CompilationServiceImpl implements CompilationService {
         Pageable pageable = PageRequest.of(from / size, size);
         List<Compilation> compilations = (pinned != null)
                 ? compilationRepository.findByPinned(pinned, pageable).getContent()
-                : compilationRepository.findAll(pageable).getContent();
+                : compilationRepository.findAllBy(pageable).getContent();
         List<CompilationDto> result = compilations.stream()
-                .map(compilationMapper::toDto)
-                .map(this::addConfirmedRequestsAndViews)
+                .map(this::toDtoWithStoredViews)
                 .collect(Collectors.toList());
         log.debug("Found {} compilations", result.size());
         return result;
@@ -69,9 +68,9 @@ public class CompilationServiceImpl implements CompilationService {
         log.debug("Fetching compilation with id={}", compId);
         Compilation compilation = compilationRepository.findById(compId)
                 .orElseThrow(() -> new EntityNotFoundException("Compilation", "Id", compId));
-        CompilationDto result = compilationMapper.toDto(compilation);
+        CompilationDto result = toDtoWithStoredViews(compilation);
         log.debug("Found compilation: {}", result);
-        return addConfirmedRequestsAndViews(result);
+        return result;
     }
 
     @Override
@@ -88,9 +87,10 @@ public class CompilationServiceImpl implements CompilationService {
         compilation.setEvents(events);
 
         Compilation savedCompilation = compilationRepository.save(compilation);
-        CompilationDto result = compilationMapper.toDto(savedCompilation);
+        publicContentVersions.changed(PublicContent.COMPILATIONS);
+        CompilationDto result = toDtoWithStoredViews(savedCompilation);
         log.info("Compilation created successfully: {}", result);
-        return addConfirmedRequestsAndViews(result);
+        return result;
     }
 
     @Override
@@ -120,9 +120,10 @@ public class CompilationServiceImpl implements CompilationService {
         }
 
         Compilation updatedCompilation = compilationRepository.save(compilation);
-        CompilationDto result = compilationMapper.toDto(updatedCompilation);
+        publicContentVersions.changed(PublicContent.COMPILATIONS);
+        CompilationDto result = toDtoWithStoredViews(updatedCompilation);
         log.info("Compilation updated successfully: {}", result);
-        return addConfirmedRequestsAndViews(result);
+        return result;
     }
 
     @Override
@@ -132,6 +133,7 @@ public class CompilationServiceImpl implements CompilationService {
             throw new EntityNotFoundException("Compilation", "Id", compId);
         }
         compilationRepository.deleteById(compId);
+        publicContentVersions.changed(PublicContent.COMPILATIONS);
         log.info("Compilation with id={} deleted successfully", compId);
     }
 
@@ -143,13 +145,18 @@ public class CompilationServiceImpl implements CompilationService {
         return new HashSet<>(events);
     }
 
-    private CompilationDto addConfirmedRequestsAndViews(CompilationDto compilationDto) {
-        if (compilationDto.getEvents() != null) {
-            for (EventShortDto eventDto : compilationDto.getEvents()) {
-                eventDto.setConfirmedRequests(0L);
-                eventDto.setViews(0L);
-            }
+    /**
+     * Заполняет просмотры событий подборки из счётчика {@code events.views} уже загруженных событий, без отдельного запроса.
+     * Количество подтверждённых заявок уже перенесено маппером из счётчика события.
+     */
+    private CompilationDto toDtoWithStoredViews(Compilation compilation) {
+        CompilationDto result = compilationMapper.toDto(compilation);
+        if (result.getEvents() == null || compilation.getEvents() == null) {
+            return result;
         }
-        return compilationDto;
+        Map<Long, Long> views = compilation.getEvents().stream()
+                .collect(Collectors.toMap(Event::getId, Event::getViews));
+        result.getEvents().forEach(eventDto -> eventDto.setViews(views.getOrDefault(eventDto.getId(), 0L)));
+        return result;
     }
-}
\ No newline at end of file
+}
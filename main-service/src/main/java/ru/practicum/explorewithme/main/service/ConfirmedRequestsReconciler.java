@@ -0,0 +1,62 @@
+package ru.practicum.explorewithme.main.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.explorewithme.main.repository.EventRepository;
+import ru.practicum.explorewithme.main.repository.EventRepository.ConfirmedRequestsDriftProjection;
+
+/**
+ * Сверяет денормализованный счётчик {@code events.confirmed_requests} с фактическим числом подтверждённых заявок,
+ * сообщает о расхождениях и исправляет их.
+ * <p>
+ * При штатной работе расхождений быть не должно: счётчик меняется в одной транзакции с заявками.
+ * Они возможны только после изменения заявок в обход {@link RequestServiceImpl}.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "ewm.confirmed-requests.reconciliation", name = "enabled", matchIfMissing = true)
+public class ConfirmedRequestsReconciler {
+
+    private final EventRepository eventRepository;
+    private final PublicContentVersions publicContentVersions;
+    private final Counter driftedEvents;
+
+    public ConfirmedRequestsReconciler(EventRepository eventRepository, PublicContentVersions publicContentVersions,
+                                       MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.publicContentVersions = publicContentVersions;
+        this.driftedEvents = Counter.builder("events.confirmed_requests.drift")
+            .description("События, счётчик подтверждённых заявок которых разошёлся с заявками")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return количество событий, счётчик которых был исправлен.
+     */
+    @Scheduled(cron = "${ewm.confirmed-requests.reconciliation.cron:0 30 3 * * *}")
+    @Transactional
+    public int reconcile() {
+        List<ConfirmedRequestsDriftProjection> drift = eventRepository.findConfirmedRequestsDrift();
+        for (ConfirmedRequestsDriftProjection eventDrift : drift) {
+            log.warn("Reconciler: Event id={} stores {} confirmed requests, actual count is {}",
+                eventDrift.getEventId(), eventDrift.getStoredCount(), eventDrift.getActualCount());
+            // Пересчёт после блокировки строки учитывает заявки, подтверждённые после поиска расхождений
+            eventRepository.lockById(eventDrift.getEventId());
+            eventRepository.recountConfirmedRequests(eventDrift.getEventId());
+        }
+        driftedEvents.increment(drift.size());
+        if (drift.isEmpty()) {
+            log.debug("Reconciler: Confirmed request counters are consistent");
+        } else {
+            publicContentVersions.changed(PublicContent.EVENTS);
+            log.info("Reconciler: Fixed confirmed request counters of {} events", drift.size());
+        }
+        return drift.size();
+    }
+}
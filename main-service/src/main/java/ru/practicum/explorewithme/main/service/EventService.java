@@ -5,6 +5,7 @@ import ru.practicum.explorewithme.main.dto.EventFullDto;
 import ru.practicum.explorewithme.main.dto.EventShortDto;
 import ru.practicum.explorewithme.main.dto.UpdateEventAdminRequestDto;
 import ru.practicum.explorewithme.main.dto.UpdateEventUserRequestDto;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.AdminEventSearchParams;
 import ru.practicum.explorewithme.main.dto.NewEventDto;
 import ru.practicum.explorewithme.main.service.params.PublicEventSearchParams;
@@ -16,8 +17,18 @@ public interface EventService {
         int size
     );
 
+    /**
+     * Постраничная выдача по ключу: то же, что {@link #getEventsAdmin}, но следующая страница
+     * запрашивается токеном продолжения, а не смещением.
+     *
+     * @param cursor токен из предыдущей страницы; {@code null} или пустая строка — первая страница
+     */
+    KeysetPage<EventFullDto> getEventsAdminByCursor(AdminEventSearchParams params, String cursor, int size);
+
     List<EventShortDto> getEventsByOwner(Long userId, int from, int size);
 
+    KeysetPage<EventShortDto> getEventsByOwnerByCursor(Long userId, String cursor, int size);
+
     EventFullDto getEventPrivate(Long userId, Long eventId);
 
     EventFullDto addEventPrivate(Long userId, NewEventDto newEventDto);
@@ -28,5 +39,7 @@ public interface EventService {
 
     List<EventShortDto> getEventsPublic(PublicEventSearchParams params, int from, int size);
 
+    KeysetPage<EventShortDto> getEventsPublicByCursor(PublicEventSearchParams params, String cursor, int size);
+
     EventFullDto getEventByIdPublic(Long eventId);
 }
\ No newline at end of file
@@ -1,25 +1,29 @@
 package ru.practicum.explorewithme.main.service;
 
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 
-import java.util.Map;
-import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.querydsl.QPageRequest;
+import org.springframework.data.querydsl.QSort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.explorewithme.main.dto.CategoryDto;
 import ru.practicum.explorewithme.main.dto.EventFullDto;
 import ru.practicum.explorewithme.main.dto.EventShortDto;
 import ru.practicum.explorewithme.main.dto.NewEventDto;
@@ -32,16 +36,13 @@ import ru.practicum.explorewithme.main.model.Category;
 import ru.practicum.explorewithme.main.model.Event;
 import ru.practicum.explorewithme.main.model.EventState;
 import ru.practicum.explorewithme.main.model.QEvent;
-import ru.practicum.explorewithme.main.model.RequestStatus;
 import ru.practicum.explorewithme.main.model.User;
-import ru.practicum.explorewithme.main.repository.CategoryRepository;
 import ru.practicum.explorewithme.main.repository.EventRepository;
-import ru.practicum.explorewithme.main.repository.RequestRepository;
 import ru.practicum.explorewithme.main.repository.UserRepository;
+import ru.practicum.explorewithme.main.service.pagination.KeysetCursor;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.AdminEventSearchParams;
 import ru.practicum.explorewithme.main.service.params.PublicEventSearchParams;
-import ru.practicum.explorewithme.stats.client.StatsClient;
-import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
 
 @Service
 @RequiredArgsConstructor
@@ -52,100 +53,50 @@ public class EventServiceImpl implements EventService {
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
     private final UserRepository userRepository;
-    private final CategoryRepository categoryRepository;
-    private final RequestRepository requestRepository;
-    private final StatsClient statsClient;
+    private final CategoryCache categoryCache;
+    private final PublicEventSearchCache publicEventSearchCache;
+    private final PublicContentVersions publicContentVersions;
 
     private static final long MIN_HOURS_BEFORE_PUBLICATION_FOR_ADMIN = 1;
 
+    // Ключ сортировки каждого списка завершается id, чтобы порядок был однозначным для постраничной выдачи по ключу
+    private static final Sort PUBLIC_SORT_BY_EVENT_DATE = Sort.by(Sort.Direction.ASC, "eventDate")
+        .and(Sort.by(Sort.Direction.ASC, "id"));
+    private static final Sort PUBLIC_SORT_BY_VIEWS = Sort.by(Sort.Direction.DESC, "views")
+        .and(Sort.by(Sort.Direction.ASC, "id"));
+    private static final Sort OWNER_SORT = Sort.by(Sort.Direction.DESC, "eventDate")
+        .and(Sort.by(Sort.Direction.DESC, "id"));
+    private static final String ADMIN_ORDER = "ID";
+    private static final String OWNER_ORDER = "EVENT_DATE_DESC";
+
     @Override
     @Transactional(readOnly = true)
     public List<EventShortDto> getEventsPublic(PublicEventSearchParams params, int from, int size) {
         log.info("Public search for events with params: {}, from={}, size={}", params, from, size);
+        return publicEventSearchCache.get(params, from, size, () -> searchEventsPublic(params, from, size));
+    }
 
-        String text = params.getText();
-        List<Long> categories = params.getCategories();
-        Boolean paid = params.getPaid();
-        LocalDateTime rangeStart = params.getRangeStart();
-        LocalDateTime rangeEnd = params.getRangeEnd();
-        boolean onlyAvailable = params.isOnlyAvailable();
-        String sort = params.getSort();
-
-        if (rangeStart != null && rangeEnd != null && rangeStart.isAfter(rangeEnd)) {
-            throw new IllegalArgumentException("Validation Error: rangeStart cannot be after rangeEnd.");
-        }
-
-        QEvent qEvent = QEvent.event;
-        BooleanBuilder predicate = new BooleanBuilder();
-
-        predicate.and(qEvent.state.eq(EventState.PUBLISHED));
-
-        if (text != null && !text.isBlank()) {
-            String searchText = text.toLowerCase();
-            predicate.and(qEvent.annotation.lower().like("%" + searchText + "%")
-                .or(qEvent.description.lower().like("%" + searchText + "%")));
-        }
-
-        if (categories != null && !categories.isEmpty()) {
-            predicate.and(qEvent.category.id.in(categories));
-        }
-
-        if (paid != null) {
-            predicate.and(qEvent.paid.eq(paid));
-        }
-
-        if (rangeStart == null && rangeEnd == null) {
-            predicate.and(qEvent.eventDate.after(LocalDateTime.now()));
-        } else {
-            if (rangeStart != null) {
-                predicate.and(qEvent.eventDate.goe(rangeStart));
-            }
-            if (rangeEnd != null) {
-                predicate.and(qEvent.eventDate.loe(rangeEnd));
-            }
-        }
-
-        Sort sortOption = Sort.by(Sort.Direction.ASC, "eventDate");
-
-        Pageable pageable = PageRequest.of(from / size, size, sortOption);
-
-        Page<Event> eventPage = eventRepository.findAll(predicate, pageable);
-
-        if (eventPage.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        List<Event> foundEvents = eventPage.getContent();
-
-        Map<Long, Long> viewsMap = getViewsForEvents(foundEvents);
-
-        Map<Long, Event> eventMapById = foundEvents.stream()
-            .collect(Collectors.toMap(Event::getId, e -> e));
-
-        List<EventShortDto> eventDtos = foundEvents.stream()
-            .map(event -> {
-                EventShortDto dto = eventMapper.toEventShortDto(event);
-                dto.setViews(viewsMap.getOrDefault(event.getId(), 0L));
-                return dto;
-            })
-            .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<EventShortDto> getEventsPublicByCursor(PublicEventSearchParams params, String cursor, int size) {
+        log.info("Public search for events with params: {}, cursor={}, size={}", params, cursor, size);
 
-        if (onlyAvailable) {
-            eventDtos = eventDtos.stream()
-                .filter(dto -> {
-                    Event event = eventMapById.get(dto.getId());
-                    if (event == null) return false;
-                    return event.getParticipantLimit() == 0 || dto.getConfirmedRequests() < event.getParticipantLimit();
-                })
-                .collect(Collectors.toList());
+        String sort = params.getSort();
+        if (hasText(params.getText()) && sort != null && sort.equalsIgnoreCase("RELEVANCE")) {
+            // Релевантность вычисляется в запросе и не является свойством события, её нельзя сохранить в курсоре
+            throw new IllegalArgumentException("Cursor pagination is not supported for sort=RELEVANCE, use from/size.");
         }
+        boolean byViews = sort != null && sort.equalsIgnoreCase("VIEWS");
+        String order = byViews ? "VIEWS" : "EVENT_DATE";
 
-        if (sort != null && sort.equalsIgnoreCase("VIEWS")) {
-            eventDtos.sort(Comparator.comparing(EventShortDto::getViews).reversed());
-        }
+        Window<Event> window = eventRepository.findBy(buildPublicSearchPredicate(params), query -> query
+            .sortBy(byViews ? PUBLIC_SORT_BY_VIEWS : PUBLIC_SORT_BY_EVENT_DATE)
+            .limit(size)
+            .scroll(KeysetCursor.decode(cursor, order)));
 
-        log.info("Public search prepared {} DTOs after enrichment and filtering.", eventDtos.size());
-        return eventDtos;
+        KeysetPage<EventShortDto> page = KeysetPage.of(window, order, this::toShortDtosWithStoredViews);
+        log.info("Public search prepared {} DTOs, has next page: {}", page.items().size(), page.nextCursor() != null);
+        return page;
     }
 
     @Override
@@ -157,35 +108,8 @@ public class EventServiceImpl implements EventService {
             .orElseThrow(() -> new EntityNotFoundException(
                 String.format("Event with id=%d not found or is not published.", eventId)));
 
-        long views = 0L;
-        try {
-            String eventUri = "/events/" + event.getId();
-            List<ViewStatsDto> stats = statsClient.getStats(
-                LocalDateTime.of(1970, 1, 1, 0, 0, 0), // Очень ранняя дата
-                LocalDateTime.now(),
-                List.of(eventUri),
-                true // Уникальные просмотры
-            );
-
-            if (stats != null && !stats.isEmpty()) {
-                Optional<ViewStatsDto> eventStat = stats.stream()
-                    .filter(s -> eventUri.equals(s.getUri()))
-                    .findFirst();
-                if (eventStat.isPresent()) {
-                    views = eventStat.get().getHits();
-                }
-            }
-            log.debug("Public: Views for event id={}: {}", eventId, views);
-        } catch (Exception e) {
-            log.error("Public: Failed to retrieve views for event id={}. Error: {}", eventId, e.getMessage());
-        }
-
-        long confirmedRequestsCount = requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED);
-        log.debug("Public: Confirmed requests for event id={}: {}", eventId, confirmedRequestsCount);
-
         EventFullDto resultDto = eventMapper.toEventFullDto(event);
-        resultDto.setViews(views);
-        resultDto.setConfirmedRequests(confirmedRequestsCount);
+        resultDto.setViews(event.getViews());
 
         log.info("Public: Found event id={} with title='{}', views={}, confirmedRequests={}",
             eventId, resultDto.getTitle(), resultDto.getViews(), resultDto.getConfirmedRequests());
@@ -195,74 +119,56 @@ public class EventServiceImpl implements EventService {
     @Override
     @Transactional(readOnly = true)
     public List<EventFullDto> getEventsAdmin(AdminEventSearchParams params, int from, int size) {
-        List<Long> users = params.getUsers();
-        List<EventState> states = params.getStates();
-        List<Long> categories = params.getCategories();
-        LocalDateTime rangeStart = params.getRangeStart();
-        LocalDateTime rangeEnd = params.getRangeEnd();
-
         log.debug("Admin search for events with params: users={}, states={}, categories={}, rangeStart={}, rangeEnd={}, from={}, size={}",
-                users, states, categories, rangeStart, rangeEnd, from, size);
-
-        if (rangeStart != null && rangeEnd != null && rangeStart.isAfter(rangeEnd)) {
-            log.warn("Admin search: rangeStart cannot be after rangeEnd. rangeStart={}, rangeEnd={}", rangeStart, rangeEnd);
-            throw new IllegalArgumentException("Admin search: rangeStart cannot be after rangeEnd.");
-        }
+                params.getUsers(), params.getStates(), params.getCategories(), params.getRangeStart(),
+                params.getRangeEnd(), from, size);
 
-        QEvent qEvent = QEvent.event;
-        BooleanBuilder predicate = new BooleanBuilder();
-
-        if (users != null && !users.isEmpty()) {
-            predicate.and(qEvent.initiator.id.in(users));
-        }
-
-        if (states != null && !states.isEmpty()) {
-            predicate.and(qEvent.state.in(states));
-        }
-
-        if (categories != null && !categories.isEmpty()) {
-            predicate.and(qEvent.category.id.in(categories));
-        }
-
-        if (rangeStart != null) {
-            predicate.and(qEvent.eventDate.goe(rangeStart));
-        }
-
-        if (rangeEnd != null) {
-            predicate.and(qEvent.eventDate.loe(rangeEnd));
-        }
+        BooleanBuilder predicate = buildAdminSearchPredicate(params);
 
         Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Direction.ASC, "id"));
 
-        Page<Event> eventPage = eventRepository.findAll(predicate, pageable);
+        Slice<Event> eventSlice = eventRepository.findSlice(predicate, pageable);
 
-        if (eventPage.isEmpty()) {
+        if (eventSlice.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<EventFullDto> result = eventMapper.toEventFullDtoList(eventPage.getContent());
-
-        Map<Long, Long> viewsData = getViewsForEvents(eventPage.getContent());
-        result.forEach(dto -> dto.setViews(viewsData.get(dto.getId())));
+        List<EventFullDto> result = toFullDtosWithStoredViews(eventSlice.getContent());
 
-        log.debug("Admin search found {} events on page {}/{}", result.size(), pageable.getPageNumber(), eventPage.getTotalPages());
+        log.debug("Admin search found {} events on page {}, has next page: {}", result.size(), pageable.getPageNumber(),
+            eventSlice.hasNext());
         return result;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<EventFullDto> getEventsAdminByCursor(AdminEventSearchParams params, String cursor, int size) {
+        log.debug("Admin search for events with params: {}, cursor={}, size={}", params, cursor, size);
+
+        Window<Event> window = eventRepository.findBy(buildAdminSearchPredicate(params), query -> query
+            .sortBy(Sort.by(Sort.Direction.ASC, "id"))
+            .limit(size)
+            .scroll(KeysetCursor.decode(cursor, ADMIN_ORDER)));
+
+        KeysetPage<EventFullDto> page = KeysetPage.of(window, ADMIN_ORDER, this::toFullDtosWithStoredViews);
+        log.debug("Admin search found {} events, has next page: {}", page.items().size(), page.nextCursor() != null);
+        return page;
+    }
+
     @Override
     public EventFullDto moderateEventByAdmin(Long eventId, UpdateEventAdminRequestDto requestDto) {
         log.info("Admin: Moderating event id={} with data: {}", eventId, requestDto);
 
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new EntityNotFoundException("Event with id=" + eventId + " not found."));
+        boolean wasPublished = event.getState() == EventState.PUBLISHED;
 
         if (requestDto.getAnnotation() != null) {
             event.setAnnotation(requestDto.getAnnotation());
         }
         if (requestDto.getCategory() != null) {
-            Category category = categoryRepository.findById(requestDto.getCategory())
-                    .orElseThrow(() -> new EntityNotFoundException("Category with id=" + requestDto.getCategory() + " not found for event update."));
-            event.setCategory(category);
+            event.setCategory(getCachedCategory(requestDto.getCategory(),
+                    () -> new EntityNotFoundException("Category with id=" + requestDto.getCategory() + " not found for event update.")));
         }
         if (requestDto.getDescription() != null) {
             event.setDescription(requestDto.getDescription());
@@ -314,6 +220,11 @@ public class EventServiceImpl implements EventService {
         }
 
         Event updatedEvent = eventRepository.save(event);
+        // Публичный поиск видит только опубликованные события, поэтому изменения остальных его не затрагивают
+        if (wasPublished || updatedEvent.getState() == EventState.PUBLISHED) {
+            publicEventSearchCache.invalidateAll();
+            publicContentVersions.changed(PublicContent.EVENTS);
+        }
         log.info("Admin: Event id={} moderated successfully. New state: {}", eventId, updatedEvent.getState());
         return eventMapper.toEventFullDto(updatedEvent);
     }
@@ -327,19 +238,42 @@ public class EventServiceImpl implements EventService {
             return Collections.emptyList(); // По спецификации API, если по заданным фильтрам не найдено ни одного события, возвращается пустой список
         }
 
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "eventDate"));
+        Pageable pageable = PageRequest.of(from / size, size, OWNER_SORT);
 
-        Page<Event> eventPage = eventRepository.findByInitiatorId(userId, pageable);
+        Slice<EventShortDto> eventSlice = eventRepository.findShortDtoSlice(QEvent.event.initiator.id.eq(userId),
+            pageable);
 
-        if (eventPage.isEmpty()) {
+        if (eventSlice.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<EventShortDto> result = eventMapper.toEventShortDtoList(eventPage.getContent());
-        log.debug("Found {} events for owner id: {} on page {}/{}", result.size(), userId, pageable.getPageNumber(), eventPage.getTotalPages());
+        List<EventShortDto> result = eventSlice.getContent();
+        log.debug("Found {} events for owner id: {} on page {}, has next page: {}", result.size(), userId,
+            pageable.getPageNumber(), eventSlice.hasNext());
         return result;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<EventShortDto> getEventsByOwnerByCursor(Long userId, String cursor, int size) {
+        log.debug("Fetching events for owner (user) id: {}, cursor: {}, size: {}", userId, cursor, size);
+
+        KeysetScrollPosition position = KeysetCursor.decode(cursor, OWNER_ORDER);
+        if (!userRepository.existsById(userId)) {
+            return new KeysetPage<>(Collections.emptyList(), null);
+        }
+
+        Window<Event> window = eventRepository.findBy(QEvent.event.initiator.id.eq(userId), query -> query
+            .sortBy(OWNER_SORT)
+            .limit(size)
+            .scroll(position));
+
+        KeysetPage<EventShortDto> page = KeysetPage.of(window, OWNER_ORDER, this::toShortDtosWithStoredViews);
+        log.debug("Found {} events for owner id: {}, has next page: {}", page.items().size(), userId,
+            page.nextCursor() != null);
+        return page;
+    }
+
     @Override
     public EventFullDto updateEventByOwner(Long userId, Long eventId, UpdateEventUserRequestDto requestDto) {
         log.info("User id={}: Updating event id={} with data: {}", userId, eventId, requestDto);
@@ -356,9 +290,8 @@ public class EventServiceImpl implements EventService {
             event.setAnnotation(requestDto.getAnnotation());
         }
         if (requestDto.getCategory() != null) {
-            Category category = categoryRepository.findById(requestDto.getCategory())
-                    .orElseThrow(() -> new EntityNotFoundException("Category with id=" + requestDto.getCategory() + " not found."));
-            event.setCategory(category);
+            event.setCategory(getCachedCategory(requestDto.getCategory(),
+                    () -> new EntityNotFoundException("Category with id=" + requestDto.getCategory() + " not found.")));
         }
         if (requestDto.getDescription() != null) {
             event.setDescription(requestDto.getDescription());
@@ -429,7 +362,7 @@ public class EventServiceImpl implements EventService {
                 "с id = " + userId + " не найден"));
 
         Long categoryId = newEventDto.getCategory();
-        Category category = categoryRepository.findById(categoryId).orElseThrow(() -> new EntityNotFoundException("Категория " +
+        Category category = getCachedCategory(categoryId, () -> new EntityNotFoundException("Категория " +
                 "с id = " + categoryId + " не найдена"));
 
         LocalDateTime eventDate = newEventDto.getEventDate();
@@ -439,44 +372,162 @@ public class EventServiceImpl implements EventService {
 
         Event event = eventMapper.toEvent(newEventDto);
         event.setInitiator(user);
+        event.setCategory(category);
         return eventMapper.toEventFullDto(eventRepository.save(event));
     }
 
-    private Map<Long, Long> getViewsForEvents(List<Event> events) {
-        if (events == null || events.isEmpty()) {
-            return Collections.emptyMap();
+    private List<EventShortDto> searchEventsPublic(PublicEventSearchParams params, int from, int size) {
+        String text = params.getText();
+        String sort = params.getSort();
+        QEvent qEvent = QEvent.event;
+        BooleanBuilder predicate = buildPublicSearchPredicate(params);
+
+        // Сортировка по просмотрам выполняется в БД по счётчику events.views; id делает порядок страниц стабильным
+        Pageable pageable;
+        if (sort != null && sort.equalsIgnoreCase("VIEWS")) {
+            pageable = PageRequest.of(from / size, size, PUBLIC_SORT_BY_VIEWS);
+        } else if (hasText(text) && sort != null && sort.equalsIgnoreCase("RELEVANCE")) {
+            NumberExpression<Double> relevance = Expressions.numberTemplate(Double.class,
+                "function('fts_rank', {0}, {1})", qEvent.id, text);
+            pageable = QPageRequest.of(from / size, size, new QSort(relevance.desc(), qEvent.id.asc()));
+        } else {
+            pageable = PageRequest.of(from / size, size, PUBLIC_SORT_BY_EVENT_DATE);
         }
-        List<String> uris = events.stream()
-            .map(event -> "/events/" + event.getId())
-            .distinct()
-            .collect(Collectors.toList());
 
-        LocalDateTime earliestCreation = events.stream()
-            .map(Event::getCreatedOn)
-            .min(LocalDateTime::compareTo)
-            .orElse(LocalDateTime.of(1970, 1, 1, 0, 0));
-
-        Map<Long, Long> viewsMap = new HashMap<>();
-        try {
-            List<ViewStatsDto> stats = statsClient.getStats(
-                earliestCreation,
-                LocalDateTime.now(),
-                uris,
-                true // Уникальные просмотры
-            );
-            if (stats != null) {
-                for (ViewStatsDto stat : stats) {
-                    try {
-                        Long eventId = Long.parseLong(stat.getUri().substring("/events/".length()));
-                        viewsMap.put(eventId, stat.getHits());
-                    } catch (NumberFormatException | IndexOutOfBoundsException e) {
-                        log.warn("Could not parse eventId from URI {} from stats service", stat.getUri());
-                    }
-                }
+        Slice<EventShortDto> eventSlice = eventRepository.findShortDtoSlice(predicate, pageable);
+
+        if (eventSlice.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Проекция уже содержит просмотры из счётчика events.views, дополнительный запрос не нужен
+        List<EventShortDto> eventDtos = eventSlice.getContent();
+
+        log.info("Public search prepared {} DTOs.", eventDtos.size());
+        return eventDtos;
+    }
+
+    private BooleanBuilder buildPublicSearchPredicate(PublicEventSearchParams params) {
+        String text = params.getText();
+        List<Long> categories = params.getCategories();
+        Boolean paid = params.getPaid();
+        LocalDateTime rangeStart = params.getRangeStart();
+        LocalDateTime rangeEnd = params.getRangeEnd();
+
+        if (rangeStart != null && rangeEnd != null && rangeStart.isAfter(rangeEnd)) {
+            throw new IllegalArgumentException("Validation Error: rangeStart cannot be after rangeEnd.");
+        }
+
+        QEvent qEvent = QEvent.event;
+        BooleanBuilder predicate = new BooleanBuilder();
+
+        predicate.and(qEvent.state.eq(EventState.PUBLISHED));
+
+        if (hasText(text)) {
+            // Полнотекстовое совпадение и поиск подстроки обслуживаются GIN-индексами (tsvector и триграммы)
+            String searchText = text.toLowerCase();
+            predicate.and(Expressions.booleanTemplate("function('fts_match', {0}, {1}) = true",
+                    qEvent.id, text)
+                .or(qEvent.annotation.lower().like("%" + searchText + "%"))
+                .or(qEvent.description.lower().like("%" + searchText + "%")));
+        }
+
+        if (categories != null && !categories.isEmpty()) {
+            predicate.and(qEvent.category.id.in(categories));
+        }
+
+        if (paid != null) {
+            predicate.and(qEvent.paid.eq(paid));
+        }
+
+        if (params.isOnlyAvailable()) {
+            predicate.and(qEvent.participantLimit.eq(0)
+                .or(qEvent.confirmedRequestsCount.lt(qEvent.participantLimit)));
+        }
+
+        if (rangeStart == null && rangeEnd == null) {
+            predicate.and(qEvent.eventDate.after(LocalDateTime.now()));
+        } else {
+            if (rangeStart != null) {
+                predicate.and(qEvent.eventDate.goe(rangeStart));
             }
-        } catch (Exception e) {
-            log.error("Failed to retrieve views for multiple events. Error: {}", e.getMessage());
+            if (rangeEnd != null) {
+                predicate.and(qEvent.eventDate.loe(rangeEnd));
+            }
+        }
+        return predicate;
+    }
+
+    private BooleanBuilder buildAdminSearchPredicate(AdminEventSearchParams params) {
+        List<Long> users = params.getUsers();
+        List<EventState> states = params.getStates();
+        List<Long> categories = params.getCategories();
+        LocalDateTime rangeStart = params.getRangeStart();
+        LocalDateTime rangeEnd = params.getRangeEnd();
+
+        if (rangeStart != null && rangeEnd != null && rangeStart.isAfter(rangeEnd)) {
+            log.warn("Admin search: rangeStart cannot be after rangeEnd. rangeStart={}, rangeEnd={}", rangeStart, rangeEnd);
+            throw new IllegalArgumentException("Admin search: rangeStart cannot be after rangeEnd.");
+        }
+
+        QEvent qEvent = QEvent.event;
+        BooleanBuilder predicate = new BooleanBuilder();
+
+        if (users != null && !users.isEmpty()) {
+            predicate.and(qEvent.initiator.id.in(users));
         }
-        return viewsMap;
+
+        if (states != null && !states.isEmpty()) {
+            predicate.and(qEvent.state.in(states));
+        }
+
+        if (categories != null && !categories.isEmpty()) {
+            predicate.and(qEvent.category.id.in(categories));
+        }
+
+        if (rangeStart != null) {
+            predicate.and(qEvent.eventDate.goe(rangeStart));
+        }
+
+        if (rangeEnd != null) {
+            predicate.and(qEvent.eventDate.loe(rangeEnd));
+        }
+        return predicate;
+    }
+
+    /**
+     * Событию нужен только внешний ключ категории, а ответу — её название, поэтому категория собирается
+     * из {@link CategoryCache} без обращения к БД.
+     */
+    private Category getCachedCategory(Long categoryId, Supplier<EntityNotFoundException> notFound) {
+        CategoryDto category = categoryCache.findById(categoryId).orElseThrow(notFound);
+        return Category.builder().id(category.getId()).name(category.getName()).build();
+    }
+
+    private static boolean hasText(String text) {
+        return text != null && !text.isBlank();
+    }
+
+    /**
+     * Берёт просмотры из счётчика {@code events.views} самого события, без отдельного запроса.
+     */
+    private List<EventShortDto> toShortDtosWithStoredViews(List<Event> events) {
+        return events.stream()
+            .map(event -> {
+                EventShortDto dto = eventMapper.toEventShortDto(event);
+                dto.setViews(event.getViews());
+                return dto;
+            })
+            .collect(Collectors.toList());
+    }
+
+    private List<EventFullDto> toFullDtosWithStoredViews(List<Event> events) {
+        return events.stream()
+            .map(event -> {
+                EventFullDto dto = eventMapper.toEventFullDto(event);
+                dto.setViews(event.getViews());
+                return dto;
+            })
+            .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
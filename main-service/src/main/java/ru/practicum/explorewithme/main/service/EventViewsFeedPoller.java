@@ -0,0 +1,38 @@
+package ru.practicum.explorewithme.main.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.explorewithme.stats.client.StatsClient;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
+
+/**
+ * Периодически забирает из сервиса статистики прирост уникальных просмотров и применяет его
+ * к счётчику {@code events.views}, из которого просмотры отдаются при чтении событий.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "stats-server.views-feed", name = "enabled", matchIfMissing = true)
+public class EventViewsFeedPoller {
+
+    private final StatsClient statsClient;
+    private final EventViewsService eventViewsService;
+
+    @Scheduled(fixedDelayString = "${stats-server.views-feed.poll-interval:5s}")
+    public void poll() {
+        try {
+            long cursor = eventViewsService.getFeedCursor();
+            ViewChangesDto changes = statsClient.getViewChanges(cursor);
+            if (changes == null || changes.getNextCursor() == null || changes.getDeltas() == null) {
+                log.warn("Views feed: Stats service returned no changes for cursor {}", cursor);
+                return;
+            }
+            eventViewsService.applyChanges(cursor, changes);
+        } catch (Exception e) {
+            log.warn("Views feed: Failed to poll view changes. Error: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.explorewithme.main.service;
+
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
+
+public interface EventViewsService {
+
+    /**
+     * Возвращает позицию ленты изменений просмотров, до которой счётчики уже обновлены.
+     */
+    long getFeedCursor();
+
+    /**
+     * Применяет порцию ленты изменений просмотров и сдвигает позицию ленты в одной транзакции.
+     *
+     * @param cursor  позиция, с которой была запрошена порция.
+     * @param changes порция ленты изменений.
+     * @return true, если порция применена; false, если позиция уже сдвинута другим экземпляром сервиса.
+     */
+    boolean applyChanges(long cursor, ViewChangesDto changes);
+}
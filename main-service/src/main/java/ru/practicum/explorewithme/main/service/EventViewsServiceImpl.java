@@ -0,0 +1,56 @@
+package ru.practicum.explorewithme.main.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.explorewithme.main.repository.EventRepository;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
+import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class EventViewsServiceImpl implements EventViewsService {
+
+    private static final Pattern EVENT_URI = Pattern.compile("/events/(\\d+)");
+
+    private final EventRepository eventRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getFeedCursor() {
+        return eventRepository.getViewsFeedCursor();
+    }
+
+    @Override
+    public boolean applyChanges(long cursor, ViewChangesDto changes) {
+        long nextCursor = changes.getNextCursor();
+        if (nextCursor <= cursor) {
+            return false;
+        }
+        if (eventRepository.advanceViewsFeedCursor(cursor, nextCursor) == 0) {
+            log.debug("Views feed: Cursor {} was already advanced by another instance", cursor);
+            return false;
+        }
+
+        // Идентификаторы упорядочены, чтобы параллельные транзакции блокировали строки событий в одном порядке
+        Map<Long, Long> deltas = new TreeMap<>();
+        for (ViewStatsDto delta : changes.getDeltas()) {
+            Matcher matcher = EVENT_URI.matcher(delta.getUri());
+            if (matcher.matches()) {
+                deltas.merge(Long.parseLong(matcher.group(1)), delta.getHits(), Long::sum);
+            }
+        }
+        // Версию событий просмотры не меняют: иначе каждый опрос ленты сбрасывал бы ETag и кэш поиска событий,
+        // а отставание просмотров ограничено интервалом max-age
+        deltas.forEach(eventRepository::addViews);
+        log.debug("Views feed: Applied views of {} events, cursor {} -> {}", deltas.size(), cursor, nextCursor);
+        return true;
+    }
+}
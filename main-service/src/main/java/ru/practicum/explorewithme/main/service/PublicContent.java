@@ -0,0 +1,32 @@
+package ru.practicum.explorewithme.main.service;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Виды содержимого публичного API, версии которых отслеживает {@link PublicContentVersions}.
+ * Содержимое зависит от видов, данные которых попадают в его ответы: например, события содержат названия категорий.
+ */
+public enum PublicContent {
+    CATEGORIES,
+    EVENTS(CATEGORIES),
+    COMPILATIONS(CATEGORIES, EVENTS),
+    COMMENTS;
+
+    // Массив, а не EnumSet: во время инициализации констант EnumSet по этому же перечислению ещё не создать
+    private final PublicContent[] dependencies;
+
+    PublicContent(PublicContent... dependencies) {
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * @return этот вид содержимого и все виды, от которых он зависит.
+     */
+    Set<PublicContent> withDependencies() {
+        Set<PublicContent> result = EnumSet.of(this);
+        result.addAll(Arrays.asList(dependencies));
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.explorewithme.main.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.explorewithme.main.config.ConditionalGetProperties;
+import ru.practicum.explorewithme.main.config.ReadReplicaProperties;
+import ru.practicum.explorewithme.main.repository.PublicContentVersionRepository;
+import ru.practicum.explorewithme.main.repository.PublicContentVersionRepository.ContentVersion;
+
+/**
+ * Версии содержимого публичного API, из которых строятся ETag ответов и ключи локальных кэшей.
+ * <p>
+ * Версии хранятся в БД и общие для всех экземпляров сервиса: сервисы увеличивают версию вида содержимого
+ * в той же транзакции, что и изменение, видимое в публичных ответах, поэтому новая версия становится видна
+ * одновременно с изменёнными данными. ETag вида складывается из суммы версий его самого и его зависимостей и номера
+ * интервала длиной {@code max-age}. Смена интервала ограничивает устаревание выборок, зависящих от текущего времени,
+ * и просмотров, которые версию не меняют.
+ * <p>
+ * Если чтение идёт с реплики, в течение {@code replicaLag} после изменения ответ может быть собран по прежним
+ * данным. Такой ETag помечается как неустоявшийся и по истечении этого окна меняется, поэтому клиент не закрепит
+ * устаревший ответ ответами 304.
+ */
+@Component
+public class PublicContentVersions {
+
+    private final PublicContentVersionRepository repository;
+    private final Clock clock;
+    private final long maxAgeMillis;
+    private final Duration replicaLag;
+
+    @Autowired
+    public PublicContentVersions(PublicContentVersionRepository repository, ConditionalGetProperties properties,
+                                 ObjectProvider<ReadReplicaProperties> readReplicaProperties) {
+        // Без реплики ответ всегда читается из основной базы и сразу отражает изменения
+        this(repository, properties.getMaxAge(), readReplicaProperties.stream()
+            .map(ReadReplicaProperties::getMaxLag)
+            .findFirst()
+            .orElse(Duration.ZERO), Clock.systemUTC());
+    }
+
+    PublicContentVersions(PublicContentVersionRepository repository, Duration maxAge, Duration replicaLag,
+                          Clock clock) {
+        this.repository = repository;
+        this.clock = clock;
+        this.maxAgeMillis = maxAge.toMillis();
+        this.replicaLag = replicaLag;
+    }
+
+    /**
+     * Отмечает изменение содержимого. Внутри транзакции версия увеличивается один раз перед её фиксацией,
+     * в порядке видов содержимого, чтобы параллельные транзакции блокировали строки версий в одном порядке;
+     * при откате версия не меняется.
+     */
+    public void changed(PublicContent content) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            repository.increment(content.name());
+            return;
+        }
+        // Синхронизации приостановленной внешней транзакции здесь не видны, поэтому вложенная транзакция
+        // увеличивает версии при своей фиксации
+        PendingIncrements pending = TransactionSynchronizationManager.getSynchronizations().stream()
+            .filter(PendingIncrements.class::isInstance)
+            .map(PendingIncrements.class::cast)
+            .findFirst()
+            .orElseGet(() -> {
+                PendingIncrements increments = new PendingIncrements();
+                TransactionSynchronizationManager.registerSynchronization(increments);
+                return increments;
+            });
+        pending.contents.add(content);
+    }
+
+    /**
+     * @return сильный ETag текущего состояния содержимого в кавычках.
+     */
+    public String etag(PublicContent content) {
+        ContentVersion version = repository.find(names(content), replicaLag);
+        long interval = clock.millis() / maxAgeMillis;
+        return "\"" + content.name().toLowerCase(Locale.ROOT) + "-" + version.version() + "-" + interval
+            + (version.settled() ? "" : "-unsettled") + "\"";
+    }
+
+    /**
+     * Версия читается в транзакции вызывающего метода, то есть из того же источника, что и данные, которые
+     * кэшируются под ней. Поэтому данные, прочитанные с отстающей реплики, попадают в кэш под прежней версией
+     * и не отдаются после изменения, сделанного любым экземпляром сервиса.
+     *
+     * @return сумма версий содержимого и его зависимостей.
+     */
+    public long version(PublicContent content) {
+        return repository.find(names(content), Duration.ZERO).version();
+    }
+
+    private static List<String> names(PublicContent content) {
+        return content.withDependencies().stream()
+            .map(PublicContent::name)
+            .toList();
+    }
+
+    private class PendingIncrements implements TransactionSynchronization {
+
+        private final Set<PublicContent> contents = EnumSet.noneOf(PublicContent.class);
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            contents.forEach(content -> repository.increment(content.name()));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.explorewithme.main.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.explorewithme.main.config.PublicEventSearchCacheProperties;
+import ru.practicum.explorewithme.main.dto.EventShortDto;
+import ru.practicum.explorewithme.main.service.params.PublicEventSearchParams;
+
+/**
+ * Кэш результатов публичного поиска событий по набору параметров, {@code from} и {@code size}.
+ * <p>
+ * Одинаковые запросы (главная страница, популярные фильтры по категориям) в пределах короткого {@code ttl}
+ * отдаются из памяти. Результаты хранятся под общей версией событий из {@link PublicContentVersions}, поэтому
+ * изменение, сделанное любым экземпляром сервиса, сразу приводит к новому поиску; локальные изменения
+ * дополнительно сбрасывают кэш через {@link #invalidateAll()}. Просмотры версию не меняют и в результатах
+ * могут отставать не более чем на {@code ttl}.
+ */
+@Component
+@Slf4j
+public class PublicEventSearchCache {
+
+    static final String CACHE_NAME = "publicEventSearch";
+
+    private final Cache<SearchKey, List<EventShortDto>> results;
+    private final PublicContentVersions contentVersions;
+
+    public PublicEventSearchCache(PublicEventSearchCacheProperties properties, MeterRegistry meterRegistry,
+                                  PublicContentVersions contentVersions) {
+        this.results = Caffeine.newBuilder()
+            .expireAfterWrite(properties.getTtl())
+            .maximumSize(properties.getMaxSize())
+            .recordStats()
+            .build();
+        this.contentVersions = contentVersions;
+        CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+    }
+
+    /**
+     * Возвращает результат поиска из кэша, при промахе выполняет поиск и кэширует его результат.
+     * Версия читается в транзакции вызывающего метода перед поиском.
+     */
+    public List<EventShortDto> get(PublicEventSearchParams params, int from, int size,
+                                   Supplier<List<EventShortDto>> search) {
+        SearchKey searchKey = new SearchKey(contentVersions.version(PublicContent.EVENTS), params, from, size);
+        return results.get(searchKey, key -> List.copyOf(search.get()));
+    }
+
+    /**
+     * Сбрасывает кэш сразу и, если вызвана внутри транзакции, ещё раз после её завершения: иначе поиск,
+     * выполненный до фиксации изменения, мог бы вернуть в кэш прежний результат.
+     */
+    public void invalidateAll() {
+        evict();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict();
+                }
+            });
+        }
+    }
+
+    private void evict() {
+        results.invalidateAll();
+        log.debug("Кэш публичного поиска событий сброшен");
+    }
+
+    private record SearchKey(long version, PublicEventSearchParams params, int from, int size) {
+    }
+}
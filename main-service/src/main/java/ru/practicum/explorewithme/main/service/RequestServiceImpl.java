@@ -10,14 +10,15 @@ import ru.practicum.explorewithme.main.error.EntityNotFoundException;
 import ru.practicum.explorewithme.main.mapper.RequestMapper;
 import ru.practicum.explorewithme.main.model.*;
 import ru.practicum.explorewithme.main.repository.EventRepository;
+import ru.practicum.explorewithme.main.repository.EventRepository.ConfirmedRequestsReservation;
 import ru.practicum.explorewithme.main.repository.RequestRepository;
+import ru.practicum.explorewithme.main.repository.RequestRepository.CanceledRequestRowProjection;
+import ru.practicum.explorewithme.main.repository.RequestRepository.RequestRowProjection;
 import ru.practicum.explorewithme.main.repository.UserRepository;
 import ru.practicum.explorewithme.main.service.params.EventRequestStatusUpdateRequestParams;
 
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Comparator;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,24 +28,42 @@ public class RequestServiceImpl implements RequestService {
     private final RequestMapper requestMapper;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final PublicContentVersions publicContentVersions;
 
     @Override
     @Transactional
     public ParticipationRequestDto createRequest(Long userId, Long requestEventId) {
         ParticipationRequest result = checkRequest(userId, requestEventId);
         requestRepository.save(result);
+        if (result.getStatus() == RequestStatus.CONFIRMED) {
+            if (result.getEvent().getParticipantLimit() == 0) {
+                eventRepository.addConfirmedRequests(requestEventId, 1);
+            } else if (eventRepository.reserveConfirmedRequests(requestEventId, 1).isEmpty()) {
+                // Места разобрали параллельные заявки после проверки в checkRequest: заявка откатывается
+                throw new BusinessRuleViolationException("Event participant limit reached");
+            }
+            publicContentVersions.changed(PublicContent.EVENTS);
+        }
         return requestMapper.toRequestDto(result);
     }
 
     @Override
     @Transactional
     public ParticipationRequestDto cancelRequest(Long userId, Long requestId) {
-        ParticipationRequest result = requestRepository.findByIdAndRequester_Id(requestId, userId)
-                .orElseThrow(() ->
-                        new EntityNotFoundException("User with Id = " + userId + " and Request", "Id", userId));
-        result.setStatus(RequestStatus.CANCELED);
-        requestRepository.save(result);
-        return requestMapper.toRequestDto(result);
+        // Проверка статуса и отмена выполняются одним оператором: счётчик уменьшает только та отмена,
+        // которая застала заявку подтверждённой
+        CanceledRequestRowProjection canceled = requestRepository.cancel(requestId, userId).orElse(null);
+        if (canceled == null) {
+            return requestRepository.findByIdAndRequester_Id(requestId, userId)
+                    .map(requestMapper::toRequestDto)
+                    .orElseThrow(() ->
+                            new EntityNotFoundException("User with Id = " + userId + " and Request", "Id", userId));
+        }
+        if (canceled.getPreviousStatus() == RequestStatus.CONFIRMED) {
+            eventRepository.addConfirmedRequests(canceled.getEventId(), -1);
+            publicContentVersions.changed(PublicContent.EVENTS);
+        }
+        return requestMapper.toRequestDto(canceled);
     }
 
     @Override
@@ -88,59 +107,57 @@ public class RequestServiceImpl implements RequestService {
         if (requestRepository.countByIdInAndEvent_Id(requestIdsForUpdate, eventId) != requestIdsForUpdate.size()) {
             throw new BusinessRuleViolationException("Not all requests are for event with Id = " + eventId);
         }
-        if (requestRepository
-              .countByEvent_IdAndStatusEquals(eventId, RequestStatus.CONFIRMED) >= event.getParticipantLimit()) {
+        if (event.getConfirmedRequestsCount() >= event.getParticipantLimit()) {
             throw new BusinessRuleViolationException("Event participant limit reached");
         }
-        LinkedHashMap<Long, ParticipationRequest> requestsMap = requestRepository.findAllByIdIn(requestIdsForUpdate).stream()
-                .sorted(Comparator.comparing(ParticipationRequest::getCreated))
-                .collect(Collectors.toMap(
-                        ParticipationRequest::getId,
-                        request -> request,
-                        (existing, replacement) -> existing,
-                        LinkedHashMap::new
-                ));
-        requestsMap.values().forEach(request -> {
-            if (request.getStatus() != RequestStatus.PENDING) {
-                throw new BusinessRuleViolationException("Cannot update request with status " + request.getStatus() +
-                        ". Only requests with PENDING status can be updated.");
-            }
-        });
+        requestRepository.findFirstByIdInAndStatusNot(requestIdsForUpdate, RequestStatus.PENDING)
+                .ifPresent(request -> {
+                    throw new BusinessRuleViolationException("Cannot update request with status " +
+                            request.getStatus() + ". Only requests with PENDING status can be updated.");
+                });
         EventRequestStatusUpdateResultDto result = new EventRequestStatusUpdateResultDto();
+        long distinctRequests = requestIdsForUpdate.stream().distinct().count();
+        if (distinctRequests == 0) {
+            return result;
+        }
         if (statusUpdate == RequestStatus.REJECTED) {
-            requestsMap.values().forEach(request -> {
-                request.setStatus(RequestStatus.REJECTED);
-                result.getRejectedRequests().add(requestMapper.toRequestDto(request));
-            });
-            requestRepository.saveAll(requestsMap.values());
+            List<RequestRowProjection> rejected = requestRepository.rejectPending(eventId, requestIdsForUpdate);
+            checkAllPendingUpdated(rejected.size(), distinctRequests);
+            result.getRejectedRequests().addAll(toRequestDtos(rejected));
             return result;
         }
 
-        final int[] availableRequests = {event.getParticipantLimit() -
-                requestRepository.countByEvent_IdAndStatusEquals(eventId, RequestStatus.CONFIRMED)};
-        requestsMap.values().forEach(request -> {
-             if (availableRequests[0] > 0) {
-                 request.setStatus(RequestStatus.CONFIRMED);
-                 result.getConfirmedRequests().add(requestMapper.toRequestDto(request));
-                 availableRequests[0]--;
-             } else {
-                 request.setStatus(RequestStatus.REJECTED);
-                 result.getRejectedRequests().add(requestMapper.toRequestDto(request));
-             }
-        });
-        requestRepository.saveAll(requestsMap.values());
-        if (availableRequests[0] == 0) {
-            List<ParticipationRequest> pendingRequests = requestRepository.findByEvent_IdAndStatus(eventId, RequestStatus.PENDING);
-            if (!pendingRequests.isEmpty()) {
-                pendingRequests.forEach(request -> request.setStatus(RequestStatus.REJECTED));
-                requestRepository.saveAll(pendingRequests);
-                result.getRejectedRequests().addAll(pendingRequests.stream()
-                        .map(requestMapper::toRequestDto).toList());
-            }
+        // Места резервируются одним условным UPDATE, поэтому параллельные подтверждения не превышают лимит
+        ConfirmedRequestsReservation reservation = eventRepository.reserveConfirmedRequests(eventId, distinctRequests)
+                .orElseThrow(() -> new BusinessRuleViolationException("Event participant limit reached"));
+        List<RequestRowProjection> confirmed =
+                requestRepository.confirmPending(eventId, requestIdsForUpdate, reservation.getGranted());
+        List<RequestRowProjection> rejected = requestRepository.rejectPending(eventId, requestIdsForUpdate);
+        // Заявку могли изменить параллельно после проверки статусов: откатываем вместе с резервированием
+        checkAllPendingUpdated(confirmed.size() + rejected.size(), distinctRequests);
+        result.getConfirmedRequests().addAll(toRequestDtos(confirmed));
+        result.getRejectedRequests().addAll(toRequestDtos(rejected));
+        if (reservation.getRemaining() == 0) {
+            result.getRejectedRequests().addAll(toRequestDtos(
+                    requestRepository.updateStatusToRejected(eventId, RequestStatus.PENDING)));
         }
+        publicContentVersions.changed(PublicContent.EVENTS);
         return result;
     }
 
+    private void checkAllPendingUpdated(long updated, long expected) {
+        if (updated != expected) {
+            throw new BusinessRuleViolationException("Only requests with PENDING status can be updated.");
+        }
+    }
+
+    private List<ParticipationRequestDto> toRequestDtos(List<RequestRowProjection> requestRows) {
+        return requestRows.stream()
+                .sorted(Comparator.comparing(RequestRowProjection::getCreated)
+                        .thenComparing(RequestRowProjection::getId))
+                .map(requestMapper::toRequestDto).toList();
+    }
+
     private ParticipationRequest checkRequest(Long userId, Long requestEventId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User", "Id", userId));
@@ -155,9 +172,7 @@ public class RequestServiceImpl implements RequestService {
         if (event.getState() != EventState.PUBLISHED) {
             throw new BusinessRuleViolationException("Event must be published");
         }
-        if (event.getParticipantLimit() > 0 &&
-                requestRepository.countByEvent_IdAndStatusEquals(requestEventId, RequestStatus.CONFIRMED) >=
-                        event.getParticipantLimit()) {
+        if (event.getParticipantLimit() > 0 && event.getConfirmedRequestsCount() >= event.getParticipantLimit()) {
             throw new BusinessRuleViolationException("Event participant limit reached");
         }
         ParticipationRequest newRequest = new ParticipationRequest();
@@ -2,6 +2,7 @@ package ru.practicum.explorewithme.main.service;
 
 import ru.practicum.explorewithme.main.dto.NewUserRequestDto;
 import ru.practicum.explorewithme.main.dto.UserDto;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.GetListUsersParameters;
 
 import java.util.List;
@@ -14,4 +15,12 @@ public interface UserService {
 
     List<UserDto> getUsers(GetListUsersParameters parameters);
 
+    /**
+     * Постраничная выдача по ключу (id): {@code from} из параметров не используется,
+     * следующая страница запрашивается токеном продолжения.
+     *
+     * @param cursor токен из предыдущей страницы; {@code null} или пустая строка — первая страница
+     */
+    KeysetPage<UserDto> getUsersByCursor(GetListUsersParameters parameters, String cursor);
+
 }
@@ -1,8 +1,12 @@
 package ru.practicum.explorewithme.main.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.explorewithme.main.dto.NewUserRequestDto;
@@ -12,6 +16,8 @@ import ru.practicum.explorewithme.main.error.EntityNotFoundException;
 import ru.practicum.explorewithme.main.mapper.UserMapper;
 import ru.practicum.explorewithme.main.model.User;
 import ru.practicum.explorewithme.main.repository.UserRepository;
+import ru.practicum.explorewithme.main.service.pagination.KeysetCursor;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.GetListUsersParameters;
 
 import java.util.List;
@@ -25,6 +31,8 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
 
+    private static final String ORDER_BY_ID = "ID";
+
     @Override
     @Transactional
     public UserDto createUser(NewUserRequestDto newUserDto) {
@@ -59,7 +67,7 @@ public class UserServiceImpl implements UserService {
         List<UserDto> result;
 
         if (parameters.getIds() == null || parameters.getIds().isEmpty()) {
-            result = userRepository.findAll(pageable).stream()
+            result = userRepository.findAllBy(pageable).stream()
                     .map(userMapper::toUserDto)
                     .collect(Collectors.toList());
         } else {
@@ -71,4 +79,25 @@ public class UserServiceImpl implements UserService {
         return result;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<UserDto> getUsersByCursor(GetListUsersParameters parameters, String cursor) {
+
+        KeysetScrollPosition position = KeysetCursor.decode(cursor, ORDER_BY_ID);
+        Sort sort = Sort.by(Sort.Direction.ASC, "id");
+        Limit limit = Limit.of(parameters.getSize());
+
+        Window<User> window;
+
+        if (parameters.getIds() == null || parameters.getIds().isEmpty()) {
+            window = userRepository.findAllBy(position, sort, limit);
+        } else {
+            window = userRepository.findAllByIdIn(parameters.getIds(), position, sort, limit);
+        }
+
+        return KeysetPage.of(window, ORDER_BY_ID, users -> users.stream()
+                .map(userMapper::toUserDto)
+                .collect(Collectors.toList()));
+    }
+
 }
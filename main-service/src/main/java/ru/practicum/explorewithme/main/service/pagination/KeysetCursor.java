@@ -0,0 +1,108 @@
+package ru.practicum.explorewithme.main.service.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Кодирует позицию постраничной выдачи по ключу (keyset) в непрозрачный токен продолжения и обратно.
+ * <p>
+ * Токен хранит имя порядка сортировки, для которого он выдан, и значения ключа сортировки последнего
+ * элемента страницы, включая id. Следующая страница выбирается условием «после этого ключа» вместо OFFSET,
+ * поэтому её стоимость не зависит от глубины. Поддерживаются значения ключа типов {@link Long} и
+ * {@link LocalDateTime}.
+ */
+public final class KeysetCursor {
+
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String VALUE_SEPARATOR = "=";
+    private static final char LONG_TYPE = 'L';
+    private static final char DATE_TIME_TYPE = 'T';
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * @param order    имя порядка сортировки, в котором получена страница
+     * @param position позиция последнего элемента страницы
+     * @return токен продолжения
+     */
+    public static String encode(String order, ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalStateException("Keyset position expected, got: " + position);
+        }
+        StringBuilder token = new StringBuilder(order);
+        keyset.getKeys().forEach((key, value) -> token.append(ENTRY_SEPARATOR).append(key).append(VALUE_SEPARATOR)
+            .append(encodeValue(key, value)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token токен продолжения; пустой токен означает первую страницу
+     * @param order имя порядка сортировки текущего запроса
+     * @return позиция, после которой начинается следующая страница
+     * @throws IllegalArgumentException если токен повреждён или выдан для другого порядка сортировки
+     */
+    public static KeysetScrollPosition decode(String token, String order) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        String[] entries = decodeToken(token).split(ENTRY_SEPARATOR);
+        if (entries.length < 2) {
+            throw invalidCursor();
+        }
+        if (!entries[0].equals(order)) {
+            throw new IllegalArgumentException("Cursor was issued for another sort order and cannot be used with "
+                + order + ".");
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (int i = 1; i < entries.length; i++) {
+            int separator = entries[i].indexOf(VALUE_SEPARATOR);
+            if (separator <= 0 || separator == entries[i].length() - 1) {
+                throw invalidCursor();
+            }
+            keys.put(entries[i].substring(0, separator), decodeValue(entries[i].substring(separator + 1)));
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static String encodeValue(String key, Object value) {
+        if (value instanceof Long) {
+            return LONG_TYPE + value.toString();
+        }
+        if (value instanceof LocalDateTime) {
+            return DATE_TIME_TYPE + value.toString();
+        }
+        throw new IllegalStateException("Unsupported keyset value for " + key + ": " + value);
+    }
+
+    private static Object decodeValue(String encoded) {
+        String value = encoded.substring(1);
+        try {
+            return switch (encoded.charAt(0)) {
+                case LONG_TYPE -> Long.parseLong(value);
+                case DATE_TIME_TYPE -> LocalDateTime.parse(value);
+                default -> throw invalidCursor();
+            };
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private static String decodeToken(String token) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private static IllegalArgumentException invalidCursor() {
+        return new IllegalArgumentException("Invalid cursor.");
+    }
+}
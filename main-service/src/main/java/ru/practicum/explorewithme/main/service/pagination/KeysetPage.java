@@ -0,0 +1,31 @@
+package ru.practicum.explorewithme.main.service.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Window;
+
+/**
+ * Страница постраничной выдачи по ключу.
+ *
+ * @param items      элементы страницы
+ * @param nextCursor токен продолжения для следующей страницы или {@code null}, если страница последняя
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Заголовок ответа, в котором эндпоинты списков возвращают {@link #nextCursor()}.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * @param window выборка из репозитория, содержащая признак наличия следующей страницы
+     * @param order  имя порядка сортировки, сохраняемое в токене
+     * @param mapper преобразование сущностей страницы в DTO
+     */
+    public static <E, T> KeysetPage<T> of(Window<E> window, String order, Function<List<E>, List<T>> mapper) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+            ? KeysetCursor.encode(order, window.positionAt(window.size() - 1))
+            : null;
+        return new KeysetPage<>(window.isEmpty() ? List.of() : mapper.apply(window.getContent()), nextCursor);
+    }
+}
@@ -1,23 +1,42 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Идентификаторы выдаются последовательностями с шагом 50, равным allocationSize сущностей: Hibernate
+-- резервирует блок значений одним вызовом nextval и может отправлять INSERT пакетами, в отличие от IDENTITY.
+-- Последовательности принадлежат столбцам id и удаляются вместе с таблицами.
+
 DROP TABLE IF EXISTS compilation_events CASCADE;
 DROP TABLE IF EXISTS requests CASCADE;
 DROP TABLE IF EXISTS events CASCADE;
 DROP TABLE IF EXISTS compilations CASCADE;
 DROP TABLE IF EXISTS categories CASCADE;
 DROP TABLE IF EXISTS users CASCADE;
+DROP TABLE IF EXISTS event_views CASCADE;
+DROP TABLE IF EXISTS event_views_feed_cursor CASCADE;
+DROP TABLE IF EXISTS public_content_versions CASCADE;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT DEFAULT nextval('users_seq') PRIMARY KEY,
     name VARCHAR(250) NOT NULL,
     email VARCHAR(254) NOT NULL UNIQUE
 );
 
+ALTER SEQUENCE users_seq OWNED BY users.id;
+
+CREATE SEQUENCE IF NOT EXISTS categories_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS categories (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT DEFAULT nextval('categories_seq') PRIMARY KEY,
     name VARCHAR(64) NOT NULL UNIQUE
 );
 
+ALTER SEQUENCE categories_seq OWNED BY categories.id;
+
+CREATE SEQUENCE IF NOT EXISTS events_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS events (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT DEFAULT nextval('events_seq') PRIMARY KEY,
     annotation VARCHAR(2000) NOT NULL,
     category_id BIGINT NOT NULL,
     created_on TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -33,12 +52,38 @@ CREATE TABLE IF NOT EXISTS events (
     state VARCHAR(20) NOT NULL,
     title VARCHAR(120) NOT NULL,
     comments_enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    confirmed_requests BIGINT NOT NULL DEFAULT 0 CHECK (confirmed_requests >= 0),
+    views BIGINT NOT NULL DEFAULT 0,
+    search_vector TSVECTOR GENERATED ALWAYS AS (setweight(to_tsvector('simple', title), 'A') ||
+        setweight(to_tsvector('simple', annotation), 'B') ||
+        setweight(to_tsvector('simple', description), 'C')) STORED,
     CONSTRAINT fk_event_to_category FOREIGN KEY(category_id) REFERENCES categories(id),
     CONSTRAINT fk_event_to_user FOREIGN KEY(initiator_id) REFERENCES users(id)
 );
 
+ALTER SEQUENCE events_seq OWNED BY events.id;
+
+-- Публичный поиск всегда фильтрует по состоянию и сортирует по дате события
+CREATE INDEX IF NOT EXISTS idx_events_state_event_date ON events (state, event_date);
+
+-- Публичный поиск с sort=VIEWS читает страницы в порядке этого индекса. events.views — единственный счётчик
+-- просмотров, его обновляет лента изменений сервиса статистики. Из-за этого индекса обновление views не может
+-- быть HOT: каждая новая версия строки добавляет записи во все индексы events, включая GIN полнотекстового
+-- поиска и триграмм. Лента суммирует прирост по событию за период опроса, поэтому строка события обновляется
+-- не чаще одного раза за stats-server.views-feed.poll-interval.
+CREATE INDEX IF NOT EXISTS idx_events_state_views ON events (state, views DESC, id);
+
+-- Полнотекстовый поиск по тексту события
+CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING GIN (search_vector);
+
+-- Поиск подстроки: lower(annotation) LIKE '%текст%' и lower(description) LIKE '%текст%'
+CREATE INDEX IF NOT EXISTS idx_events_annotation_trgm ON events USING GIN (lower(annotation) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_events_description_trgm ON events USING GIN (lower(description) gin_trgm_ops);
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS comments (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT DEFAULT nextval('comments_seq') PRIMARY KEY,
     text VARCHAR(2000) NOT NULL,
     created_on TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     updated_on TIMESTAMP WITHOUT TIME ZONE,
@@ -50,8 +95,12 @@ CREATE TABLE IF NOT EXISTS comments (
     CONSTRAINT fk_comment_to_event FOREIGN KEY(event_id) REFERENCES events(id) ON DELETE CASCADE
 );
 
+ALTER SEQUENCE comments_seq OWNED BY comments.id;
+
+CREATE SEQUENCE IF NOT EXISTS requests_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS requests (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT DEFAULT nextval('requests_seq') PRIMARY KEY,
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     event_id BIGINT NOT NULL,
     requester_id BIGINT NOT NULL,
@@ -61,16 +110,45 @@ CREATE TABLE IF NOT EXISTS requests (
     CONSTRAINT uq_request_requester_event UNIQUE(requester_id, event_id)
 );
 
+ALTER SEQUENCE requests_seq OWNED BY requests.id;
+
+-- Модерация заявок подтверждает и отклоняет ожидающие заявки события пакетными UPDATE
+CREATE INDEX IF NOT EXISTS idx_requests_event_status ON requests (event_id, status);
+
+CREATE SEQUENCE IF NOT EXISTS compilations_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS compilations (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT DEFAULT nextval('compilations_seq') PRIMARY KEY,
     pinned BOOLEAN NOT NULL DEFAULT FALSE,
     title VARCHAR(128) NOT NULL UNIQUE
 );
 
+ALTER SEQUENCE compilations_seq OWNED BY compilations.id;
+
 CREATE TABLE IF NOT EXISTS compilation_events (
     compilation_id BIGINT NOT NULL,
     event_id BIGINT NOT NULL,
     PRIMARY KEY (compilation_id, event_id),
     CONSTRAINT fk_ce_to_compilation FOREIGN KEY(compilation_id) REFERENCES compilations(id),
     CONSTRAINT fk_ce_to_event FOREIGN KEY(event_id) REFERENCES events(id)
-);
\ No newline at end of file
+);
+
+-- Позиция ленты изменений, до которой применены просмотры; обновляется в одной транзакции с events.views
+CREATE TABLE IF NOT EXISTS event_views_feed_cursor (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    position BIGINT NOT NULL
+);
+
+INSERT INTO event_views_feed_cursor (id, position) VALUES (1, 0);
+
+-- Версии содержимого публичного API, общие для всех экземпляров сервиса; из них строятся ETag и ключи кэшей.
+-- Начальная версия — текущее время в миллисекундах, чтобы после пересоздания схемы версии не повторяли прежние
+CREATE TABLE IF NOT EXISTS public_content_versions (
+    content VARCHAR(32) PRIMARY KEY,
+    version BIGINT NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+INSERT INTO public_content_versions (content, version, changed_at)
+SELECT content, (EXTRACT(EPOCH FROM now()) * 1000)::BIGINT, now()
+FROM (VALUES ('CATEGORIES'), ('EVENTS'), ('COMPILATIONS'), ('COMMENTS')) AS contents(content);
@@ -14,7 +14,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
-import ru.practicum.explorewithme.stats.client.StatsClient;
 import ru.practicum.explorewithme.stats.dto.EndpointHitDto;
 
 import java.time.LocalDateTime;
@@ -27,7 +26,7 @@ import static org.mockito.Mockito.*;
 class StatsHitAspectTest {
 
     @Mock
-    private StatsClient statsClient;
+    private StatsHitBuffer statsHitBuffer;
 
     @Mock
     private JoinPoint joinPoint;
@@ -65,8 +64,8 @@ class StatsHitAspectTest {
     }
 
     @Test
-    @DisplayName("logHit должен отправлять EndpointHitDto в StatsClient с корректными данными")
-    void logHit_whenRequestAvailable_shouldSendHitToStatsClient() {
+    @DisplayName("logHit должен ставить EndpointHitDto в буфер с корректными данными")
+    void logHit_whenRequestAvailable_shouldQueueHit() {
         String testUri = "/test/uri";
         String testIp = "123.123.123.123";
         mockRequest.setRequestURI(testUri);
@@ -74,7 +73,7 @@ class StatsHitAspectTest {
 
         statsHitAspect.logHit(joinPoint);
 
-        verify(statsClient, times(1)).saveHit(endpointHitDtoCaptor.capture());
+        verify(statsHitBuffer, times(1)).offer(endpointHitDtoCaptor.capture());
         EndpointHitDto capturedDto = endpointHitDtoCaptor.getValue();
 
         assertNotNull(capturedDto);
@@ -87,29 +86,27 @@ class StatsHitAspectTest {
     }
 
     @Test
-    @DisplayName("logHit не должен вызывать StatsClient, если HttpServletRequest недоступен")
-    void logHit_whenRequestNotAvailable_shouldNotCallStatsClientAndLogWarning() {
+    @DisplayName("logHit не должен ставить хит в буфер, если HttpServletRequest недоступен")
+    void logHit_whenRequestNotAvailable_shouldNotQueueHitAndLogWarning() {
         when(joinPoint.getSignature()).thenReturn(signature);
         when(signature.toShortString()).thenReturn("testMethod()");
         RequestContextHolder.resetRequestAttributes();
 
         statsHitAspect.logHit(joinPoint);
 
-        verifyNoInteractions(statsClient);
+        verifyNoInteractions(statsHitBuffer);
     }
 
     @Test
-    @DisplayName("logHit должен обрабатывать исключение от StatsClient и не пробрасывать его дальше")
-    void logHit_whenStatsClientThrowsException_shouldCatchAndLogError() {
-        String testUri = "/test/uri";
-        String testIp = "123.123.123.123";
-        mockRequest.setRequestURI(testUri);
-        mockRequest.setRemoteAddr(testIp);
-
-        doThrow(new RuntimeException("Stats service unavailable")).when(statsClient).saveHit(any(EndpointHitDto.class));
+    @DisplayName("logHit должен брать IP из заголовка X-Real-IP, если он задан")
+    void logHit_whenXRealIpHeaderPresent_shouldUseHeaderIp() {
+        mockRequest.setRequestURI("/test/uri");
+        mockRequest.setRemoteAddr("10.0.0.1");
+        mockRequest.addHeader("X-Real-IP", "123.123.123.123");
 
-        assertDoesNotThrow(() -> statsHitAspect.logHit(joinPoint));
+        statsHitAspect.logHit(joinPoint);
 
-        verify(statsClient, times(1)).saveHit(any(EndpointHitDto.class));
+        verify(statsHitBuffer).offer(endpointHitDtoCaptor.capture());
+        assertEquals("123.123.123.123", endpointHitDtoCaptor.getValue().getIp());
     }
 }
\ No newline at end of file
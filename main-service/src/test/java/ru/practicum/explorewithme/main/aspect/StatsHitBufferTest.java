@@ -0,0 +1,257 @@
+package ru.practicum.explorewithme.main.aspect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import ru.practicum.explorewithme.main.config.StatsHitBufferProperties;
+import ru.practicum.explorewithme.main.config.StatsHitBufferProperties.OverflowPolicy;
+import ru.practicum.explorewithme.stats.client.StatsClient;
+import ru.practicum.explorewithme.stats.dto.EndpointHitDto;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты для StatsHitBuffer")
+class StatsHitBufferTest {
+
+    @Mock
+    private StatsClient statsClient;
+
+    @TempDir
+    private Path tempDir;
+
+    private StatsHitBufferProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ObjectMapper objectMapper;
+    private StatsHitBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StatsHitBufferProperties();
+        properties.setCapacity(2);
+        properties.setBatchSize(10);
+        properties.setMaxLinger(Duration.ofMillis(50));
+        properties.setBlockTimeout(Duration.ofMillis(10));
+        properties.setSpillDirectory(tempDir);
+
+        meterRegistry = new SimpleMeterRegistry();
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (buffer != null) {
+            buffer.stop();
+        }
+    }
+
+    private StatsHitBuffer createBuffer(OverflowPolicy policy) {
+        properties.setOverflowPolicy(policy);
+        buffer = new StatsHitBuffer(statsClient, properties, objectMapper, meterRegistry);
+        return buffer;
+    }
+
+    private EndpointHitDto hit(String uri) {
+        return EndpointHitDto.builder()
+            .app("test-app")
+            .uri(uri)
+            .ip("127.0.0.1")
+            .timestamp(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))
+            .build();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private double queueDepth() {
+        return meterRegistry.get("stats.hits.queue.depth").gauge().value();
+    }
+
+    @Nested
+    @DisplayName("Фоновая отправка")
+    class FlushTests {
+
+        @Test
+        @DisplayName("Должен отправлять поставленные в очередь хиты фоновым потоком")
+        void offer_whenFlusherStarted_shouldSendHitsInBackground() throws InterruptedException {
+            createBuffer(OverflowPolicy.DROP_OLDEST).start();
+
+            buffer.offer(hit("/events/1"));
+            buffer.offer(hit("/events/2"));
+
+            verify(statsClient, timeout(2_000).atLeastOnce()).saveHits(anyList());
+            buffer.stop();
+            assertEquals(2.0, counter("stats.hits.sent"));
+        }
+
+        @Test
+        @DisplayName("Ошибка сервиса статистики должна учитываться в метрике и не останавливать поток")
+        void offer_whenStatsClientFails_shouldCountFailureAndContinue() throws InterruptedException {
+            doThrow(new RuntimeException("Stats service unavailable")).when(statsClient).saveHits(anyList());
+            createBuffer(OverflowPolicy.DROP_OLDEST).start();
+
+            buffer.offer(hit("/events/1"));
+            verify(statsClient, timeout(2_000).times(1)).saveHits(anyList());
+            buffer.offer(hit("/events/2"));
+            verify(statsClient, timeout(2_000).times(2)).saveHits(anyList());
+            buffer.stop();
+            assertEquals(2.0, counter("stats.hits.failed"));
+        }
+
+        @Test
+        @DisplayName("При остановке должен дослать хиты, оставшиеся в очереди")
+        void stop_shouldSendRemainingHits() throws InterruptedException {
+            EndpointHitDto first = hit("/events/1");
+            EndpointHitDto second = hit("/events/2");
+            createBuffer(OverflowPolicy.DROP_OLDEST);
+            buffer.offer(first);
+            buffer.offer(second);
+            buffer.start();
+
+            buffer.stop();
+
+            verify(statsClient, times(1)).saveHits(List.of(first, second));
+            verify(statsClient, never()).saveHit(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Политики переполнения")
+    class OverflowTests {
+
+        @Test
+        @DisplayName("DROP_OLDEST должен вытеснять самый старый хит и учитывать его в метрике")
+        void offer_whenFullAndDropOldest_shouldEvictOldest() {
+            createBuffer(OverflowPolicy.DROP_OLDEST);
+
+            buffer.offer(hit("/events/1"));
+            buffer.offer(hit("/events/2"));
+            buffer.offer(hit("/events/3"));
+
+            assertEquals(1.0, counter("stats.hits.dropped"));
+            assertEquals(2.0, queueDepth());
+            verifyNoInteractions(statsClient);
+        }
+
+        @Test
+        @DisplayName("BLOCK должен отбросить хит, если место не освободилось за block-timeout")
+        void offer_whenFullAndBlock_shouldDropAfterTimeout() {
+            createBuffer(OverflowPolicy.BLOCK);
+
+            buffer.offer(hit("/events/1"));
+            buffer.offer(hit("/events/2"));
+            buffer.offer(hit("/events/3"));
+
+            assertEquals(1.0, counter("stats.hits.dropped"));
+            assertEquals(2.0, queueDepth());
+        }
+
+        @Test
+        @DisplayName("SPILL_TO_DISK должен сбрасывать хит на диск и затем дослать его")
+        void offer_whenFullAndSpillToDisk_shouldSpillAndResend() throws Exception {
+            createBuffer(OverflowPolicy.SPILL_TO_DISK);
+
+            buffer.offer(hit("/events/1"));
+            buffer.offer(hit("/events/2"));
+            buffer.offer(hit("/events/3"));
+
+            Path spillFile = tempDir.resolve("hits.ndjson");
+            List<String> lines = Files.readAllLines(spillFile);
+            assertEquals(1, lines.size());
+            assertTrue(lines.getFirst().contains("/events/3"));
+            assertEquals(1.0, counter("stats.hits.spilled"));
+            assertEquals(0.0, counter("stats.hits.dropped"));
+
+            buffer.start();
+
+            // Одна пачка из очереди и одна — из файла сброса
+            verify(statsClient, timeout(2_000).times(2)).saveHits(anyList());
+            buffer.stop();
+            assertEquals(3.0, counter("stats.hits.sent"));
+            assertFalse(Files.exists(spillFile));
+        }
+
+        @Test
+        @DisplayName("SPILL_TO_DISK должен сбрасывать на диск пачку, которую не удалось отправить")
+        void send_whenStatsClientFailsAndSpillToDisk_shouldSpillBatch() throws Exception {
+            doThrow(new RuntimeException("Stats service unavailable")).when(statsClient).saveHits(anyList());
+            createBuffer(OverflowPolicy.SPILL_TO_DISK).start();
+
+            buffer.offer(hit("/events/1"));
+            verify(statsClient, timeout(2_000).atLeast(2)).saveHits(anyList());
+            buffer.stop();
+
+            List<String> lines = Files.readAllLines(tempDir.resolve("hits.ndjson"));
+            assertEquals(1, lines.size());
+            assertTrue(lines.getFirst().contains("/events/1"));
+            assertFalse(Files.exists(tempDir.resolve("hits.ndjson.resend")));
+        }
+
+        @Test
+        @DisplayName("Досылка должна удалять из файла сброса только отправленные пачки")
+        void resend_whenSecondBatchFails_shouldKeepOnlyUnsentHits() throws Exception {
+            properties.setBatchSize(2);
+            Path spillFile = tempDir.resolve("hits.ndjson");
+            Files.write(spillFile, List.of(
+                objectMapper.writeValueAsString(hit("/events/1")),
+                objectMapper.writeValueAsString(hit("/events/2")),
+                objectMapper.writeValueAsString(hit("/events/3"))));
+            doNothing().doThrow(new RuntimeException("Stats service unavailable"))
+                .when(statsClient).saveHits(anyList());
+            createBuffer(OverflowPolicy.SPILL_TO_DISK).start();
+
+            verify(statsClient, timeout(2_000).atLeast(2)).saveHits(anyList());
+            buffer.stop();
+
+            List<String> lines = Files.readAllLines(spillFile);
+            assertEquals(1, lines.size());
+            assertTrue(lines.getFirst().contains("/events/3"));
+            assertEquals(2.0, counter("stats.hits.sent"));
+        }
+
+        @Test
+        @DisplayName("SPILL_TO_DISK должен отбрасывать хиты, когда файл сброса достиг лимита")
+        void offer_whenSpillFileFull_shouldDrop() {
+            properties.setSpillMaxSize(DataSize.ofBytes(1));
+            createBuffer(OverflowPolicy.SPILL_TO_DISK);
+
+            buffer.offer(hit("/events/1"));
+            buffer.offer(hit("/events/2"));
+            buffer.offer(hit("/events/3"));
+            buffer.offer(hit("/events/4"));
+
+            assertEquals(1.0, counter("stats.hits.spilled"));
+            assertEquals(1.0, counter("stats.hits.dropped"));
+        }
+    }
+}
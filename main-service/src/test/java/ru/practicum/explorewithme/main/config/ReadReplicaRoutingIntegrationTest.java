@@ -0,0 +1,134 @@
+package ru.practicum.explorewithme.main.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.explorewithme.main.model.Category;
+import ru.practicum.explorewithme.main.repository.CategoryRepository;
+
+/**
+ * Реплика представлена второй независимой базой с той же схемой: по содержимому видно,
+ * из какой базы читала транзакция.
+ */
+@SpringBootTest(properties = {
+    "ewm.read-replica.enabled=true",
+    "ewm.read-replica.lag-check-interval=1h"
+})
+@Testcontainers
+@DisplayName("Маршрутизация транзакций только для чтения на реплику")
+class ReadReplicaRoutingIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> primaryContainer = new PostgreSQLContainer<>("postgres:16.1")
+        .withDatabaseName("ewm_primary");
+
+    @Container
+    static PostgreSQLContainer<?> replicaContainer = new PostgreSQLContainer<>("postgres:16.1")
+        .withDatabaseName("ewm_replica")
+        .withInitScript("schema.sql");
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primaryContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", primaryContainer::getUsername);
+        registry.add("spring.datasource.password", primaryContainer::getPassword);
+        registry.add("ewm.read-replica.url", replicaContainer::getJdbcUrl);
+        registry.add("ewm.read-replica.username", replicaContainer::getUsername);
+        registry.add("ewm.read-replica.password", replicaContainer::getPassword);
+    }
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagAwareDataSource readOnlyDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        readOnlyDataSource.refreshLag();
+        categoryRepository.deleteAllInBatch();
+        categoryRepository.save(Category.builder().name("Только в основной базе").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        readOnlyDataSource.refreshLag();
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+            (String) entityManager.createNativeQuery("SELECT CAST(current_database() AS VARCHAR)").getSingleResult());
+    }
+
+    private long countCategories(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> categoryRepository.count());
+    }
+
+    @Test
+    @DisplayName("Транзакция только для чтения выполняется на реплике, остальные — в основной базе")
+    void readOnlyTransaction_shouldUseReplica() {
+        double replicaConnectionsBefore = meterRegistry.get("datasource.read_only.connections")
+            .tag("pool", "replica").counter().count();
+
+        assertEquals("ewm_replica", currentDatabase(true));
+        assertEquals("ewm_primary", currentDatabase(false));
+        assertEquals(0, countCategories(true));
+        assertEquals(1, countCategories(false));
+        assertTrue(meterRegistry.get("datasource.read_only.connections")
+            .tag("pool", "replica").counter().count() > replicaConnectionsBefore);
+        assertEquals(0.0, meterRegistry.get("datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    @DisplayName("При отставании реплики выше порога чтение переключается на основную базу")
+    void readOnlyTransaction_whenReplicaLagsBehind_shouldFallBackToPrimary() {
+        readOnlyDataSource.updateLag(Duration.ofMinutes(5));
+
+        assertEquals("ewm_primary", currentDatabase(true));
+        assertEquals(1, countCategories(true));
+
+        readOnlyDataSource.refreshLag();
+
+        assertEquals("ewm_replica", currentDatabase(true));
+    }
+
+    @Test
+    @DisplayName("Недоступная реплика не мешает чтению из основной базы")
+    void readOnlyTransaction_whenReplicaUnavailable_shouldFallBackToPrimary() {
+        readOnlyDataSource.markReplicaUnavailable();
+
+        assertEquals("ewm_primary", currentDatabase(true));
+        assertTrue(Double.isNaN(meterRegistry.get("datasource.replica.lag").gauge().value()));
+        assertTrue(meterRegistry.get("datasource.read_only.connections")
+            .tag("pool", "primary").counter().count() > 0);
+    }
+}
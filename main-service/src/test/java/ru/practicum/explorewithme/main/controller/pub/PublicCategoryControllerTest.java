@@ -13,6 +13,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.explorewithme.main.dto.CategoryDto;
 import ru.practicum.explorewithme.main.error.EntityNotFoundException;
 import ru.practicum.explorewithme.main.service.CategoryService;
+import ru.practicum.explorewithme.main.service.PublicContent;
+import ru.practicum.explorewithme.main.service.PublicContentVersions;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -37,6 +39,9 @@ class PublicCategoryControllerTest {
     @MockitoBean
     private CategoryService categoryService;
 
+    @MockitoBean
+    private PublicContentVersions publicContentVersions;
+
     private CategoryDto categoryDto;
     private CategoryDto anotherCategoryDto;
 
@@ -150,6 +155,43 @@ class PublicCategoryControllerTest {
             verify(categoryService, times(1)).getCategoryById(1L);
         }
 
+        @Test
+        @DisplayName("отвечать 304 без обращения к сервису, если ETag не изменился")
+        void getCategoryById_WithMatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+            when(categoryService.getCategoryById(eq(1L))).thenReturn(categoryDto);
+            when(publicContentVersions.etag(PublicContent.CATEGORIES)).thenReturn("\"categories-1-0\"");
+
+            String etag = mockMvc.perform(get("/categories/1"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/categories/1").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", etag))
+                    .andExpect(content().string(""));
+
+            verify(categoryService, times(1)).getCategoryById(1L);
+        }
+
+        @Test
+        @DisplayName("возвращать категорию заново после её изменения")
+        void getCategoryById_AfterCategoriesChanged_ReturnsFreshBody() throws Exception {
+            when(categoryService.getCategoryById(eq(1L))).thenReturn(categoryDto);
+            when(publicContentVersions.etag(PublicContent.CATEGORIES))
+                    .thenReturn("\"categories-1-0\"", "\"categories-2-0\"");
+
+            String etag = mockMvc.perform(get("/categories/1"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/categories/1").header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(etag)))
+                    .andExpect(jsonPath("$.id", is(1)));
+
+            verify(categoryService, times(2)).getCategoryById(1L);
+        }
+
         @Test
         @DisplayName("возвращать 404 при запросе несуществующей категории")
         void getCategoryById_WithNonExistingId_ReturnsNotFound() throws Exception {
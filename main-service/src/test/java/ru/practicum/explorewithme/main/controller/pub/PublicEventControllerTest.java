@@ -18,12 +18,13 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.explorewithme.main.aspect.StatsHitAspect;
+import ru.practicum.explorewithme.main.aspect.StatsHitBuffer;
 import ru.practicum.explorewithme.main.dto.EventFullDto;
 import ru.practicum.explorewithme.main.dto.EventShortDto;
 import ru.practicum.explorewithme.main.model.EventState;
 import ru.practicum.explorewithme.main.service.EventService;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.PublicEventSearchParams;
-import ru.practicum.explorewithme.stats.client.StatsClient;
 import ru.practicum.explorewithme.stats.dto.EndpointHitDto;
 
 import java.time.LocalDateTime;
@@ -44,6 +45,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.explorewithme.common.constants.DateTimeConstants.DATE_TIME_FORMATTER;
@@ -66,7 +68,7 @@ class PublicEventControllerTest {
     private EventService eventService;
 
     @MockitoBean
-    private StatsClient statsClient;
+    private StatsHitBuffer statsHitBuffer;
 
     @Value("${spring.application.name}")
     private String configuredAppName;
@@ -116,7 +118,7 @@ class PublicEventControllerTest {
                 .build();
             verify(eventService).getEventsPublic(eq(expectedSearchParams), eq(0), eq(10));
 
-            verify(statsClient, times(1)).saveHit(hitDtoCaptor.capture());
+            verify(statsHitBuffer, times(1)).offer(hitDtoCaptor.capture());
             EndpointHitDto capturedHit = hitDtoCaptor.getValue();
             assertEquals(configuredAppName, capturedHit.getApp());
             assertEquals("/events", capturedHit.getUri());
@@ -136,7 +138,7 @@ class PublicEventControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-            verify(statsClient, times(1)).saveHit(any(EndpointHitDto.class));
+            verify(statsHitBuffer, times(1)).offer(any(EndpointHitDto.class));
         }
 
         @Test
@@ -149,7 +151,7 @@ class PublicEventControllerTest {
                     .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-            verify(statsClient).saveHit(hitDtoCaptor.capture());
+            verify(statsHitBuffer).offer(hitDtoCaptor.capture());
             assertEquals("10.0.0.1", hitDtoCaptor.getValue().getIp());
         }
 
@@ -164,7 +166,7 @@ class PublicEventControllerTest {
                     .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-            verify(statsClient).saveHit(hitDtoCaptor.capture());
+            verify(statsHitBuffer).offer(hitDtoCaptor.capture());
             assertEquals(defaultMockIp, hitDtoCaptor.getValue().getIp());
         }
 
@@ -210,7 +212,7 @@ class PublicEventControllerTest {
                 .andExpect(status().isOk());
 
             verify(eventService).getEventsPublic(eq(expectedSearchParams), eq(from), eq(size));
-            verify(statsClient).saveHit(any(EndpointHitDto.class));
+            verify(statsHitBuffer).offer(any(EndpointHitDto.class));
         }
 
         @Test
@@ -241,7 +243,39 @@ class PublicEventControllerTest {
                 .andExpect(status().isOk());
 
             verify(eventService).getEventsPublic(eq(expectedSearchParams), eq(from), eq(size));
-            verify(statsClient).saveHit(any(EndpointHitDto.class));
+            verify(statsHitBuffer).offer(any(EndpointHitDto.class));
+        }
+
+        @Test
+        @DisplayName("должен переходить на выдачу по ключу при пустом cursor и возвращать токен в X-Next-Cursor")
+        void withEmptyCursor_shouldUseKeysetPaginationAndReturnNextCursorHeader() throws Exception {
+            when(eventService.getEventsPublicByCursor(any(PublicEventSearchParams.class), eq(""), eq(1)))
+                .thenReturn(new KeysetPage<>(List.of(EventShortDto.builder().id(1L).build()), "next-token"));
+
+            mockMvc.perform(get("/events")
+                    .param("cursor", "")
+                    .param("size", "1")
+                    .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string(KeysetPage.NEXT_CURSOR_HEADER, "next-token"));
+
+            verify(eventService, never()).getEventsPublic(any(), anyInt(), anyInt());
+            verify(statsHitBuffer).offer(any(EndpointHitDto.class));
+        }
+
+        @Test
+        @DisplayName("не должен возвращать X-Next-Cursor на последней странице выдачи по ключу")
+        void withCursorOnLastPage_shouldNotReturnNextCursorHeader() throws Exception {
+            when(eventService.getEventsPublicByCursor(any(PublicEventSearchParams.class), eq("token"), eq(10)))
+                .thenReturn(new KeysetPage<>(Collections.emptyList(), null));
+
+            mockMvc.perform(get("/events")
+                    .param("cursor", "token")
+                    .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)))
+                .andExpect(header().doesNotExist(KeysetPage.NEXT_CURSOR_HEADER));
         }
 
         @Test
@@ -253,7 +287,7 @@ class PublicEventControllerTest {
                     .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
             verifyNoInteractions(eventService);
-            verify(statsClient, never()).saveHit(any(EndpointHitDto.class));
+            verify(statsHitBuffer, never()).offer(any(EndpointHitDto.class));
         }
 
         @Test
@@ -265,7 +299,7 @@ class PublicEventControllerTest {
                     .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
             verifyNoInteractions(eventService);
-            verify(statsClient, never()).saveHit(any(EndpointHitDto.class));
+            verify(statsHitBuffer, never()).offer(any(EndpointHitDto.class));
         }
     }
 
@@ -294,7 +328,7 @@ class PublicEventControllerTest {
 
             verify(eventService).getEventByIdPublic(eq(eventId));
 
-            verify(statsClient, times(1)).saveHit(hitDtoCaptor.capture());
+            verify(statsHitBuffer, times(1)).offer(hitDtoCaptor.capture());
             EndpointHitDto capturedHit = hitDtoCaptor.getValue();
             assertEquals(configuredAppName, capturedHit.getApp());
             assertEquals("/events/" + eventId, capturedHit.getUri());
@@ -314,7 +348,7 @@ class PublicEventControllerTest {
                     .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
 
-            verify(statsClient, never()).saveHit(any(EndpointHitDto.class));
+            verify(statsHitBuffer, never()).offer(any(EndpointHitDto.class));
         }
 
         @Test
@@ -326,7 +360,7 @@ class PublicEventControllerTest {
                 .andExpect(status().isBadRequest());
 
             verifyNoInteractions(eventService);
-            verify(statsClient, never()).saveHit(any(EndpointHitDto.class));
+            verify(statsHitBuffer, never()).offer(any(EndpointHitDto.class));
         }
 
         @Test
@@ -373,7 +407,7 @@ class PublicEventControllerTest {
                 .andExpect(jsonPath("$.views", is(1000)))
                 .andExpect(jsonPath("$.confirmedRequests", is(50)));
 
-            verify(statsClient, times(1)).saveHit(any(EndpointHitDto.class));
+            verify(statsHitBuffer, times(1)).offer(any(EndpointHitDto.class));
         }
     }
 }
\ No newline at end of file
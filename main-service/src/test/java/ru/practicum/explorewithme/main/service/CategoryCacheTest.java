@@ -0,0 +1,131 @@
+package ru.practicum.explorewithme.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.explorewithme.main.config.CategoryCacheProperties;
+import ru.practicum.explorewithme.main.dto.CategoryDto;
+import ru.practicum.explorewithme.main.mapper.CategoryMapper;
+import ru.practicum.explorewithme.main.model.Category;
+import ru.practicum.explorewithme.main.repository.CategoryRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты для CategoryCache")
+class CategoryCacheTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CategoryMapper categoryMapper;
+
+    @Mock
+    private PublicContentVersions contentVersions;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CategoryCache categoryCache;
+
+    private final Category concerts = Category.builder().id(1L).name("концерты").build();
+    private final Category exhibitions = Category.builder().id(2L).name("Выставки").build();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        categoryCache = new CategoryCache(categoryRepository, categoryMapper, new CategoryCacheProperties(),
+            meterRegistry, contentVersions);
+    }
+
+    private void stubMapper(Category category) {
+        when(categoryMapper.toDto(category)).thenReturn(new CategoryDto(category.getId(), category.getName()));
+    }
+
+    @Test
+    @DisplayName("Должен загружать категорию из БД только при первом обращении")
+    void findById_shouldLoadCategoryOnce() {
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(concerts));
+        stubMapper(concerts);
+
+        assertThat(categoryCache.findById(1L)).map(CategoryDto::getName).contains("концерты");
+        assertThat(categoryCache.findById(1L)).map(CategoryDto::getName).contains("концерты");
+
+        verify(categoryRepository, times(1)).findById(1L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CategoryCache.BY_ID_CACHE_NAME)
+            .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Должен загружать категорию заново после смены общей версии категорий")
+    void findById_whenSharedVersionChanged_shouldReload() {
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(concerts));
+        stubMapper(concerts);
+        when(contentVersions.version(PublicContent.CATEGORIES)).thenReturn(1L, 1L, 2L, 2L);
+
+        categoryCache.findById(1L);
+        categoryCache.findById(1L);
+        categoryCache.findById(1L);
+        categoryCache.findById(1L);
+
+        verify(categoryRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Не должен кэшировать отсутствующую категорию")
+    void findById_whenCategoryMissing_shouldNotCacheAbsence() {
+        when(categoryRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertThat(categoryCache.findById(5L)).isEmpty();
+        assertThat(categoryCache.findById(5L)).isEmpty();
+
+        verify(categoryRepository, times(2)).findById(5L);
+    }
+
+    @Test
+    @DisplayName("Должен кэшировать отсортированную страницу и заодно её категории по идентификатору")
+    void getPage_shouldCacheSortedPageAndWarmCategoriesById() {
+        when(categoryRepository.findAllBy(any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(concerts, exhibitions)));
+        stubMapper(concerts);
+        stubMapper(exhibitions);
+
+        List<CategoryDto> page = categoryCache.getPage(0, 10);
+        List<CategoryDto> cachedPage = categoryCache.getPage(0, 10);
+
+        assertThat(page).extracting(CategoryDto::getName).containsExactly("Выставки", "концерты");
+        assertThat(cachedPage).isSameAs(page);
+        assertThat(categoryCache.findById(2L)).map(CategoryDto::getName).contains("Выставки");
+        verify(categoryRepository, times(1)).findAllBy(any(Pageable.class));
+        verify(categoryRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Должен загружать данные заново после сброса кэша")
+    void invalidateAll_shouldDropCategoriesAndPages() {
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(concerts));
+        when(categoryRepository.findAllBy(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(concerts)));
+        stubMapper(concerts);
+
+        categoryCache.findById(1L);
+        categoryCache.getPage(0, 10);
+        categoryCache.invalidateAll();
+        categoryCache.findById(1L);
+        categoryCache.getPage(0, 10);
+
+        verify(categoryRepository, times(2)).findAllBy(any(Pageable.class));
+        verify(categoryRepository, times(2)).findById(1L);
+    }
+}
@@ -55,6 +55,9 @@ class CategoryServiceIntegrationTest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CategoryCache categoryCache;
+
     @Autowired
     private EventRepository eventRepository;
 
@@ -70,6 +73,7 @@ class CategoryServiceIntegrationTest {
     @BeforeEach
     void setUp() {
         categoryRepository.deleteAll();
+        categoryCache.invalidateAll();
 
         newCategoryDto = new NewCategoryDto();
         newCategoryDto.setName("Тестовая категория");
@@ -141,6 +145,22 @@ class CategoryServiceIntegrationTest {
             assertEquals(updateDto.getName(), categoryFromDb.get().getName());
         }
 
+        @Test
+        @DisplayName("Обновление категории сбрасывает ранее закэшированные категорию и список")
+        void updateCategory_AfterCachedReads_ReturnsUpdatedCategory() {
+
+            CategoryDto createdCategory = categoryService.createCategory(newCategoryDto);
+            categoryService.getCategoryById(createdCategory.getId());
+            categoryService.getAllCategories(0, 10);
+
+            NewCategoryDto updateDto = new NewCategoryDto();
+            updateDto.setName("Обновлённая категория");
+            categoryService.updateCategory(createdCategory.getId(), updateDto);
+
+            assertEquals(updateDto.getName(), categoryService.getCategoryById(createdCategory.getId()).getName());
+            assertEquals(updateDto.getName(), categoryService.getAllCategories(0, 10).getFirst().getName());
+        }
+
         @Test
         @DisplayName("Исключение при обновлении несуществующей категории")
         void updateCategory_CategoryNotFound_ThrowsException() {
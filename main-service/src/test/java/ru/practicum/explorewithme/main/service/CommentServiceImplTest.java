@@ -31,10 +31,10 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import ru.practicum.explorewithme.main.dto.CommentAdminDto;
 import ru.practicum.explorewithme.main.dto.CommentDto;
@@ -63,6 +63,8 @@ class CommentServiceImplTest {
     private CommentMapper commentMapper;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private PublicContentVersions publicContentVersions;
 
     @InjectMocks
     private CommentServiceImpl commentService;
@@ -258,7 +260,7 @@ class CommentServiceImplTest {
 
             when(userRepository.existsById(userId)).thenReturn(true);
             when(commentRepository.findByAuthorIdAndIsDeletedFalse(eq(userId), any(Pageable.class)))
-                    .thenReturn(new PageImpl<>(List.of()));
+                    .thenReturn(new SliceImpl<>(List.of()));
             when(commentMapper.toDtoList(List.of())).thenReturn(List.of());
 
             List<CommentDto> result = commentService.getUserComments(userId, 0, 10);
@@ -279,7 +281,7 @@ class CommentServiceImplTest {
 
             when(userRepository.existsById(userId)).thenReturn(true);
             when(commentRepository.findByAuthorIdAndIsDeletedFalse(eq(userId), any(Pageable.class)))
-                    .thenReturn(new PageImpl<>(comments));
+                    .thenReturn(new SliceImpl<>(comments));
             when(commentMapper.toDtoList(comments)).thenReturn(commentDtos);
 
             List<CommentDto> result = commentService.getUserComments(userId, 0, 10);
@@ -501,19 +503,19 @@ class CommentServiceImplTest {
         }
 
         @Test
-        @DisplayName("Должен вызывать commentRepository.findAll с предикатом и пагинацией")
+        @DisplayName("Должен вызывать commentRepository.findSlice с предикатом и пагинацией")
         void getAllCommentsAdmin_withFilters_shouldCallRepositoryWithPredicate() {
             AdminCommentSearchParams params = AdminCommentSearchParams.builder()
                 .userId(1L)
                 .eventId(2L)
                 .isDeleted(false)
                 .build();
-            Page<Comment> emptyPage = new PageImpl<>(Collections.emptyList(), defaultPageable, 0);
-            when(commentRepository.findAll(any(Predicate.class), eq(defaultPageable))).thenReturn(emptyPage);
+            Slice<Comment> emptyPage = new SliceImpl<>(Collections.emptyList(), defaultPageable, false);
+            when(commentRepository.findSlice(any(Predicate.class), eq(defaultPageable))).thenReturn(emptyPage);
 
             commentService.getAllCommentsAdmin(params, 0, 10);
 
-            verify(commentRepository).findAll(predicateCaptor.capture(), eq(defaultPageable));
+            verify(commentRepository).findSlice(predicateCaptor.capture(), eq(defaultPageable));
             Predicate capturedPredicate = predicateCaptor.getValue();
             assertNotNull(capturedPredicate);
             String predicateStr = capturedPredicate.toString();
@@ -523,30 +525,30 @@ class CommentServiceImplTest {
         }
 
         @Test
-        @DisplayName("Должен вызывать commentRepository.findAll с пагинацией, если фильтры не заданы")
+        @DisplayName("Должен вызывать commentRepository.findSlice с пагинацией, если фильтры не заданы")
         void getAllCommentsAdmin_noFilters_shouldCallRepositoryWithoutPredicateParts() {
             AdminCommentSearchParams params = AdminCommentSearchParams.builder().build();
-            Page<Comment> emptyPage = new PageImpl<>(Collections.emptyList(), defaultPageable, 0);
-            when(commentRepository.findAll(any(Predicate.class), eq(defaultPageable))).thenReturn(emptyPage);
+            Slice<Comment> emptyPage = new SliceImpl<>(Collections.emptyList(), defaultPageable, false);
+            when(commentRepository.findSlice(any(Predicate.class), eq(defaultPageable))).thenReturn(emptyPage);
 
             commentService.getAllCommentsAdmin(params, 0, 10);
 
-            verify(commentRepository).findAll(predicateCaptor.capture(), eq(defaultPageable));
+            verify(commentRepository).findSlice(predicateCaptor.capture(), eq(defaultPageable));
             Predicate capturedPredicate = predicateCaptor.getValue();
             assertNotNull(capturedPredicate);
         }
 
         @Test
-        @DisplayName("getAllCommentsAdmin БЕЗ ФИЛЬТРОВ: должен вызывать commentRepository.findAll(Pageable)")
+        @DisplayName("getAllCommentsAdmin БЕЗ ФИЛЬТРОВ: должен вызывать commentRepository.findSlice(Pageable)")
         void getAllCommentsAdmin_noFiltersAtAll_shouldCallRepositoryFindAllWithPageable() {
             AdminCommentSearchParams params = AdminCommentSearchParams.builder().build();
-            Page<Comment> emptyPage = new PageImpl<>(Collections.emptyList(), defaultPageable, 0);
+            Slice<Comment> emptyPage = new SliceImpl<>(Collections.emptyList(), defaultPageable, false);
 
-            when(commentRepository.findAll(any(Predicate.class), eq(defaultPageable))).thenReturn(emptyPage);
+            when(commentRepository.findSlice(any(Predicate.class), eq(defaultPageable))).thenReturn(emptyPage);
 
             commentService.getAllCommentsAdmin(params, 0, 10);
 
-            verify(commentRepository, times(1)).findAll(predicateCaptor.capture(), eq(defaultPageable));
+            verify(commentRepository, times(1)).findSlice(predicateCaptor.capture(), eq(defaultPageable));
             Predicate capturedPredicate = predicateCaptor.getValue();
             assertEquals(new BooleanBuilder(), capturedPredicate); // Проверяем, что предикат был пустым.
         }
@@ -556,8 +558,8 @@ class CommentServiceImplTest {
         @DisplayName("Должен возвращать пустой список, если репозиторий вернул пустую страницу")
         void getAllCommentsAdmin_whenRepositoryReturnsEmptyPage_shouldReturnEmptyList() {
             AdminCommentSearchParams params = AdminCommentSearchParams.builder().userId(1L).build();
-            Page<Comment> emptyPage = new PageImpl<>(Collections.emptyList(), defaultPageable, 0);
-            when(commentRepository.findAll(any(Predicate.class), eq(defaultPageable))).thenReturn(emptyPage);
+            Slice<Comment> emptyPage = new SliceImpl<>(Collections.emptyList(), defaultPageable, false);
+            when(commentRepository.findSlice(any(Predicate.class), eq(defaultPageable))).thenReturn(emptyPage);
 
             List<CommentAdminDto> result = commentService.getAllCommentsAdmin(params, 0, 10);
 
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -32,6 +33,7 @@ import ru.practicum.explorewithme.main.repository.CategoryRepository;
 import ru.practicum.explorewithme.main.repository.CommentRepository;
 import ru.practicum.explorewithme.main.repository.EventRepository;
 import ru.practicum.explorewithme.main.repository.UserRepository;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.AdminCommentSearchParams;
 import ru.practicum.explorewithme.main.service.params.PublicCommentParameters;
 
@@ -186,6 +188,30 @@ class CommentServiceIntegrationTest {
             assertThat(page3).hasSize(1);
         }
 
+        @Test
+        @DisplayName("Выдача по ключу проходит комментарии по дате создания, различая одновременные по id")
+        void shouldWalkCommentsByCursor() {
+
+            Event event = saveEvent(true, EventState.PUBLISHED, "Событие для курсора", user1, category1,
+                now.plusDays(13));
+            LocalDateTime createdOn = now.truncatedTo(ChronoUnit.SECONDS);
+            Comment older = saveComment(event, user1, "Ранний", createdOn.minusMinutes(1), false, false);
+            Comment sameTime1 = saveComment(event, user2, "Одновременный 1", createdOn, false, false);
+            Comment sameTime2 = saveComment(event, user1, "Одновременный 2", createdOn, false, false);
+
+            PublicCommentParameters params = PublicCommentParameters.builder()
+                    .from(0).size(2).sort(Sort.by(Sort.Direction.DESC, "createdOn")).build();
+
+            KeysetPage<CommentDto> page1 = commentService.getCommentsForEventByCursor(event.getId(), params, "");
+            KeysetPage<CommentDto> page2 = commentService.getCommentsForEventByCursor(event.getId(), params,
+                    page1.nextCursor());
+
+            assertThat(page1.items()).extracting(CommentDto::getId)
+                    .containsExactly(sameTime2.getId(), sameTime1.getId());
+            assertThat(page2.items()).extracting(CommentDto::getId).containsExactly(older.getId());
+            assertThat(page2.nextCursor()).isNull();
+        }
+
         @Test
         @DisplayName("Пустой список, когда у опубликованного события нет комментариев")
         void shouldReturnEmptyList_whenNoComments() {
@@ -0,0 +1,85 @@
+package ru.practicum.explorewithme.main.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.explorewithme.main.dto.CompilationDto;
+import ru.practicum.explorewithme.main.dto.EventShortDto;
+import ru.practicum.explorewithme.main.mapper.CompilationMapper;
+import ru.practicum.explorewithme.main.model.Compilation;
+import ru.practicum.explorewithme.main.model.Event;
+import ru.practicum.explorewithme.main.repository.CompilationRepository;
+import ru.practicum.explorewithme.main.repository.EventRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты для CompilationServiceImpl")
+class CompilationServiceImplTest {
+
+    @Mock
+    private CompilationRepository compilationRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private CompilationMapper compilationMapper;
+
+    @Mock
+    private PublicContentVersions publicContentVersions;
+
+    @InjectMocks
+    private CompilationServiceImpl compilationService;
+
+    @Test
+    @DisplayName("Должен заполнять просмотры событий всех подборок страницы из счётчика событий")
+    void getCompilations_shouldFillViewsFromStoredCounters() {
+        Compilation first = Compilation.builder().id(1L)
+            .events(Set.of(Event.builder().id(10L).views(7L).build())).build();
+        Compilation second = Compilation.builder().id(2L)
+            .events(Set.of(Event.builder().id(20L).build())).build();
+        EventShortDto sharedEvent = EventShortDto.builder().id(10L).confirmedRequests(4L).build();
+        EventShortDto ownEvent = EventShortDto.builder().id(20L).confirmedRequests(1L).build();
+        when(compilationRepository.findAllBy(any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(first, second)));
+        when(compilationMapper.toDto(first))
+            .thenReturn(new CompilationDto(1L, true, "First", Set.of(sharedEvent)));
+        when(compilationMapper.toDto(second))
+            .thenReturn(new CompilationDto(2L, false, "Second", Set.of(ownEvent)));
+
+        List<CompilationDto> result = compilationService.getCompilations(null, 0, 10);
+
+        assertEquals(2, result.size());
+        assertEquals(7L, sharedEvent.getViews());
+        assertEquals(0L, ownEvent.getViews());
+        assertEquals(4L, sharedEvent.getConfirmedRequests(), "Счётчик заявок из маппера не должен обнуляться");
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    @DisplayName("Должен заполнять просмотры событий одной подборки")
+    void getCompilationById_shouldFillViews() {
+        Compilation compilation = Compilation.builder().id(1L)
+            .events(Set.of(Event.builder().id(10L).views(3L).build())).build();
+        EventShortDto event = EventShortDto.builder().id(10L).confirmedRequests(2L).build();
+        when(compilationRepository.findById(1L)).thenReturn(Optional.of(compilation));
+        when(compilationMapper.toDto(compilation)).thenReturn(new CompilationDto(1L, true, "Title", Set.of(event)));
+
+        CompilationDto result = compilationService.getCompilationById(1L);
+
+        assertEquals(3L, result.getEvents().iterator().next().getViews());
+        assertEquals(2L, result.getEvents().iterator().next().getConfirmedRequests());
+    }
+}
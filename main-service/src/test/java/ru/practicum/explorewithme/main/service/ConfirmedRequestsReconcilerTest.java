@@ -0,0 +1,89 @@
+package ru.practicum.explorewithme.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.explorewithme.main.repository.EventRepository;
+import ru.practicum.explorewithme.main.repository.EventRepository.ConfirmedRequestsDriftProjection;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты для ConfirmedRequestsReconciler")
+class ConfirmedRequestsReconcilerTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private PublicContentVersions publicContentVersions;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConfirmedRequestsReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler = new ConfirmedRequestsReconciler(eventRepository, publicContentVersions, meterRegistry);
+    }
+
+    private static ConfirmedRequestsDriftProjection drift(long eventId, long stored, long actual) {
+        return new ConfirmedRequestsDriftProjection() {
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public Long getStoredCount() {
+                return stored;
+            }
+
+            @Override
+            public Long getActualCount() {
+                return actual;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Должен пересчитать счётчики событий с расхождением под блокировкой и учесть их в метрике")
+    void reconcile_whenDriftFound_shouldLockAndRecountEachEvent() {
+        when(eventRepository.findConfirmedRequestsDrift()).thenReturn(List.of(drift(1L, 3L, 2L), drift(5L, 0L, 1L)));
+
+        int fixed = reconciler.reconcile();
+
+        assertThat(fixed).isEqualTo(2);
+        InOrder order = inOrder(eventRepository);
+        order.verify(eventRepository).lockById(1L);
+        order.verify(eventRepository).recountConfirmedRequests(1L);
+        order.verify(eventRepository).lockById(5L);
+        order.verify(eventRepository).recountConfirmedRequests(5L);
+        assertThat(meterRegistry.get("events.confirmed_requests.drift").counter().count()).isEqualTo(2.0);
+        verify(publicContentVersions).changed(PublicContent.EVENTS);
+    }
+
+    @Test
+    @DisplayName("Не должен ничего исправлять, если счётчики совпадают с заявками")
+    void reconcile_whenNoDrift_shouldNotRecount() {
+        when(eventRepository.findConfirmedRequestsDrift()).thenReturn(List.of());
+
+        assertThat(reconciler.reconcile()).isZero();
+
+        verify(eventRepository, never()).recountConfirmedRequests(anyLong());
+        verifyNoInteractions(publicContentVersions);
+        assertThat(meterRegistry.get("events.confirmed_requests.drift").counter().count()).isZero();
+    }
+}
@@ -2,22 +2,27 @@ package ru.practicum.explorewithme.main.service;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.querydsl.core.types.Predicate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,12 +33,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import ru.practicum.explorewithme.main.config.PublicEventSearchCacheProperties;
+import ru.practicum.explorewithme.main.dto.CategoryDto;
 import ru.practicum.explorewithme.main.dto.EventFullDto;
 import ru.practicum.explorewithme.main.dto.EventShortDto;
 import ru.practicum.explorewithme.main.dto.NewEventDto;
@@ -43,10 +53,12 @@ import ru.practicum.explorewithme.main.error.BusinessRuleViolationException;
 import ru.practicum.explorewithme.main.error.EntityNotFoundException;
 import ru.practicum.explorewithme.main.mapper.EventMapper;
 import ru.practicum.explorewithme.main.model.*;
-import ru.practicum.explorewithme.main.repository.CategoryRepository;
 import ru.practicum.explorewithme.main.repository.EventRepository;
 import ru.practicum.explorewithme.main.repository.UserRepository;
+import ru.practicum.explorewithme.main.service.pagination.KeysetCursor;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.AdminEventSearchParams;
+import ru.practicum.explorewithme.main.service.params.PublicEventSearchParams;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Тесты для реализации EventService")
@@ -62,7 +74,15 @@ class EventServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private CategoryRepository categoryRepository;
+    private CategoryCache categoryCache;
+
+    @Mock
+    private PublicContentVersions publicContentVersions;
+
+    @Spy
+    private PublicEventSearchCache publicEventSearchCache =
+        new PublicEventSearchCache(new PublicEventSearchCacheProperties(), new SimpleMeterRegistry(),
+            mock(PublicContentVersions.class));
 
     @InjectMocks
     private EventServiceImpl eventService;
@@ -140,6 +160,162 @@ class EventServiceImplTest {
         eventFullDto = EventFullDto.builder().id(1L).title("New Event Title").build();
     }
 
+    @Nested
+    @DisplayName("Метод getEventsPublic")
+    class GetEventsPublicTests {
+
+        private final Pageable pageable = PageRequest.of(0, 10,
+            Sort.by(Sort.Direction.ASC, "eventDate").and(Sort.by(Sort.Direction.ASC, "id")));
+
+        @Test
+        @DisplayName("Должен фильтровать доступные события в запросе к БД, если указан onlyAvailable")
+        void getEventsPublic_withOnlyAvailable_shouldApplyAvailabilityPredicate() {
+            when(eventRepository.findShortDtoSlice(predicateCaptor.capture(), eq(pageable)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), pageable, false));
+
+            PublicEventSearchParams params = PublicEventSearchParams.builder().onlyAvailable(true).build();
+            eventService.getEventsPublic(params, 0, 10);
+
+            String predicateString = predicateCaptor.getValue().toString();
+            assertTrue(predicateString.contains(qEvent.participantLimit + " = 0")
+                    && predicateString.contains(qEvent.confirmedRequestsCount + " < " + qEvent.participantLimit),
+                "Предикат должен содержать условие доступности события");
+        }
+
+        @Test
+        @DisplayName("Не должен фильтровать по доступности, если onlyAvailable не указан")
+        void getEventsPublic_withoutOnlyAvailable_shouldNotApplyAvailabilityPredicate() {
+            when(eventRepository.findShortDtoSlice(predicateCaptor.capture(), eq(pageable)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), pageable, false));
+
+            eventService.getEventsPublic(PublicEventSearchParams.builder().build(), 0, 10);
+
+            assertFalse(predicateCaptor.getValue().toString().contains(qEvent.confirmedRequestsCount.toString()),
+                "Предикат не должен содержать условие доступности события");
+        }
+
+        @Test
+        @DisplayName("Должен искать текст через полнотекстовый индекс и по подстроке")
+        void getEventsPublic_withText_shouldApplyFullTextAndSubstringPredicate() {
+            when(eventRepository.findShortDtoSlice(predicateCaptor.capture(), eq(pageable)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), pageable, false));
+
+            eventService.getEventsPublic(PublicEventSearchParams.builder().text("Jazz").build(), 0, 10);
+
+            String predicateString = predicateCaptor.getValue().toString();
+            assertTrue(predicateString.contains("function('fts_match', " + qEvent.id + ", Jazz)")
+                    && predicateString.contains("like %jazz%"),
+                "Предикат должен содержать полнотекстовое совпадение и поиск подстроки");
+        }
+
+        @Test
+        @DisplayName("Должен упорядочивать страницу по релевантности, если sort=RELEVANCE и указан текст")
+        void getEventsPublic_withSortByRelevance_shouldOrderByRank() {
+            ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+            when(eventRepository.findShortDtoSlice(any(Predicate.class), pageableCaptor.capture()))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), pageable, false));
+
+            eventService.getEventsPublic(PublicEventSearchParams.builder().text("jazz").sort("RELEVANCE").build(),
+                0, 10);
+
+            String sortString = pageableCaptor.getValue().getSort().toString();
+            assertTrue(sortString.contains("function('fts_rank', " + qEvent.id + ", jazz): DESC"),
+                "Сортировка должна идти по релевантности: " + sortString);
+        }
+
+        @Test
+        @DisplayName("Должен сортировать по дате события, если sort=RELEVANCE указан без текста")
+        void getEventsPublic_withSortByRelevanceWithoutText_shouldOrderByEventDate() {
+            when(eventRepository.findShortDtoSlice(any(Predicate.class), eq(pageable)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), pageable, false));
+
+            eventService.getEventsPublic(PublicEventSearchParams.builder().sort("RELEVANCE").build(), 0, 10);
+
+            verify(eventRepository).findShortDtoSlice(any(Predicate.class), eq(pageable));
+        }
+
+        @Test
+        @DisplayName("Должен запрашивать страницу, упорядоченную по просмотрам в БД, если sort=VIEWS")
+        void getEventsPublic_withSortByViews_shouldOrderPageByViewsInQuery() {
+            Pageable byViews = PageRequest.of(1, 10,
+                Sort.by(Sort.Direction.DESC, "views").and(Sort.by(Sort.Direction.ASC, "id")));
+            when(eventRepository.findShortDtoSlice(any(Predicate.class), eq(byViews)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), byViews, false));
+
+            eventService.getEventsPublic(PublicEventSearchParams.builder().sort("VIEWS").build(), 10, 10);
+
+            verify(eventRepository).findShortDtoSlice(any(Predicate.class), eq(byViews));
+        }
+
+        @Test
+        @DisplayName("Должен отдавать повторный одинаковый поиск из кэша")
+        void getEventsPublic_whenSameSearchRepeated_shouldQueryOnce() {
+            EventShortDto dto = EventShortDto.builder().id(7L).views(3L).build();
+            when(eventRepository.findShortDtoSlice(any(Predicate.class), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(dto), pageable, false));
+
+            List<EventShortDto> first = eventService.getEventsPublic(PublicEventSearchParams.builder().build(), 0, 10);
+            List<EventShortDto> second = eventService.getEventsPublic(PublicEventSearchParams.builder().build(), 0, 10);
+
+            assertEquals(first, second);
+            assertEquals(3L, second.get(0).getViews());
+            verify(eventRepository, times(1)).findShortDtoSlice(any(Predicate.class), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Должен выполнять поиск заново для другой страницы")
+        void getEventsPublic_whenPageDiffers_shouldQueryAgain() {
+            when(eventRepository.findShortDtoSlice(any(Predicate.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), pageable, false));
+
+            eventService.getEventsPublic(PublicEventSearchParams.builder().build(), 0, 10);
+            eventService.getEventsPublic(PublicEventSearchParams.builder().build(), 10, 10);
+
+            verify(eventRepository, times(2)).findShortDtoSlice(any(Predicate.class), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Должен вернуть страницу по ключу и токен продолжения с ключом последнего события")
+        void getEventsPublicByCursor_whenNextPageExists_shouldReturnNextCursor() {
+            LocalDateTime eventDate = plusThreeHours;
+            Event event = Event.builder().id(7L).eventDate(eventDate).views(3L).build();
+            Window<Event> window = Window.from(List.of(event),
+                index -> ScrollPosition.forward(Map.of("eventDate", eventDate, "id", 7L)), true);
+            when(eventRepository.findBy(any(Predicate.class), any())).thenReturn(window);
+            when(eventMapper.toEventShortDto(event)).thenReturn(EventShortDto.builder().id(7L).build());
+
+            KeysetPage<EventShortDto> page = eventService.getEventsPublicByCursor(
+                PublicEventSearchParams.builder().build(), null, 1);
+
+            assertEquals(1, page.items().size());
+            assertEquals(3L, page.items().get(0).getViews());
+            assertEquals(Map.of("eventDate", eventDate, "id", 7L),
+                KeysetCursor.decode(page.nextCursor(), "EVENT_DATE").getKeys());
+        }
+
+        @Test
+        @DisplayName("Не должен возвращать токен продолжения на последней странице")
+        void getEventsPublicByCursor_whenLastPage_shouldReturnNoCursor() {
+            when(eventRepository.findBy(any(Predicate.class), any())).thenReturn(Window.from(List.of(),
+                ScrollPosition::offset));
+
+            KeysetPage<EventShortDto> page = eventService.getEventsPublicByCursor(
+                PublicEventSearchParams.builder().sort("VIEWS").build(), "", 10);
+
+            assertTrue(page.items().isEmpty());
+            assertNull(page.nextCursor());
+        }
+
+        @Test
+        @DisplayName("Должен отклонять курсорную выдачу при сортировке по релевантности")
+        void getEventsPublicByCursor_withSortByRelevance_shouldThrowIllegalArgumentException() {
+            PublicEventSearchParams params = PublicEventSearchParams.builder().text("jazz").sort("RELEVANCE").build();
+
+            assertThrows(IllegalArgumentException.class, () -> eventService.getEventsPublicByCursor(params, "", 10));
+            verifyNoInteractions(eventRepository);
+        }
+    }
+
     @Nested
     @DisplayName("Метод getEventsAdmin")
     class GetEventsAdminTests {
@@ -149,9 +325,9 @@ class EventServiceImplTest {
         void getEventsAdmin_withUserFilter_shouldApplyUserPredicate() {
             List<Long> users = List.of(1L, 2L);
             Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
-            Page<Event> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+            Slice<Event> emptyPage = new SliceImpl<>(Collections.emptyList(), pageable, false);
 
-            when(eventRepository.findAll(predicateCaptor.capture(), eq(pageable))).thenReturn(
+            when(eventRepository.findSlice(predicateCaptor.capture(), eq(pageable))).thenReturn(
                 emptyPage);
 
             AdminEventSearchParams params = AdminEventSearchParams.builder().users(users).build();
@@ -164,7 +340,7 @@ class EventServiceImplTest {
             assertTrue(predicateString.contains(qEvent.initiator.id.toString())
                     && predicateString.contains("in [1, 2]"),
                 "Предикат должен содержать фильтр по ID пользователей");
-            verify(eventRepository).findAll(capturedPredicate, pageable);
+            verify(eventRepository).findSlice(capturedPredicate, pageable);
         }
 
         @Test
@@ -172,8 +348,8 @@ class EventServiceImplTest {
         void getEventsAdmin_withStateFilter_shouldApplyStatePredicate() {
             List<EventState> states = List.of(EventState.PENDING, EventState.PUBLISHED);
             Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
-            Page<Event> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
-            when(eventRepository.findAll(predicateCaptor.capture(), eq(pageable))).thenReturn(
+            Slice<Event> emptyPage = new SliceImpl<>(Collections.emptyList(), pageable, false);
+            when(eventRepository.findSlice(predicateCaptor.capture(), eq(pageable))).thenReturn(
                 emptyPage);
 
             AdminEventSearchParams params = AdminEventSearchParams.builder().states(states).build();
@@ -186,7 +362,7 @@ class EventServiceImplTest {
                 predicateString.contains(qEvent.state.toString()) && predicateString.contains(
                     "in [" + EventState.PENDING + ", " + EventState.PUBLISHED + "]"),
                 "Предикат должен содержать фильтр по состояниям");
-            verify(eventRepository).findAll(capturedPredicate, pageable);
+            verify(eventRepository).findSlice(capturedPredicate, pageable);
         }
 
         @Test
@@ -194,8 +370,8 @@ class EventServiceImplTest {
         void getEventsAdmin_withCategoryFilter_shouldApplyCategoryPredicate() {
             List<Long> categories = List.of(5L);
             Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
-            Page<Event> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
-            when(eventRepository.findAll(predicateCaptor.capture(), eq(pageable))).thenReturn(
+            Slice<Event> emptyPage = new SliceImpl<>(Collections.emptyList(), pageable, false);
+            when(eventRepository.findSlice(predicateCaptor.capture(), eq(pageable))).thenReturn(
                 emptyPage);
 
             AdminEventSearchParams params = AdminEventSearchParams.builder().categories(categories).build();
@@ -209,7 +385,7 @@ class EventServiceImplTest {
 
             assertTrue(predicateString.contains(categoryIdPath) && predicateString.contains("5"),
                 "Предикат должен содержать фильтр по ID категорий: " + predicateString);
-            verify(eventRepository).findAll(capturedPredicate, pageable);
+            verify(eventRepository).findSlice(capturedPredicate, pageable);
         }
 
 
@@ -217,8 +393,8 @@ class EventServiceImplTest {
         @DisplayName("Должен формировать предикат, если передана начальная дата диапазона")
         void getEventsAdmin_withRangeStart_shouldApplyRangeStartPredicate() {
             Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
-            Page<Event> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
-            when(eventRepository.findAll(predicateCaptor.capture(), eq(pageable))).thenReturn(
+            Slice<Event> emptyPage = new SliceImpl<>(Collections.emptyList(), pageable, false);
+            when(eventRepository.findSlice(predicateCaptor.capture(), eq(pageable))).thenReturn(
                 emptyPage);
 
             AdminEventSearchParams params = AdminEventSearchParams.builder().rangeStart(now).build();
@@ -231,15 +407,15 @@ class EventServiceImplTest {
                 predicateString.contains(qEvent.eventDate.toString()) && predicateString.contains(
                     now.toString()), // goe(now)
                 "Предикат должен содержать фильтр по начальной дате");
-            verify(eventRepository).findAll(capturedPredicate, pageable);
+            verify(eventRepository).findSlice(capturedPredicate, pageable);
         }
 
         @Test
         @DisplayName("Должен формировать предикат, если передана конечная дата диапазона")
         void getEventsAdmin_withRangeEnd_shouldApplyRangeEndPredicate() {
             Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
-            Page<Event> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
-            when(eventRepository.findAll(predicateCaptor.capture(), eq(pageable))).thenReturn(
+            Slice<Event> emptyPage = new SliceImpl<>(Collections.emptyList(), pageable, false);
+            when(eventRepository.findSlice(predicateCaptor.capture(), eq(pageable))).thenReturn(
                 emptyPage);
 
             AdminEventSearchParams params = AdminEventSearchParams.builder().rangeEnd(plusTwoHours).build();
@@ -252,23 +428,23 @@ class EventServiceImplTest {
                 predicateString.contains(qEvent.eventDate.toString()) && predicateString.contains(
                     plusTwoHours.toString()), // loe(plusTwoHours)
                 "Предикат должен содержать фильтр по конечной дате");
-            verify(eventRepository).findAll(capturedPredicate, pageable);
+            verify(eventRepository).findSlice(capturedPredicate, pageable);
         }
 
         @Test
-        @DisplayName("Поиск без фильтров должен вызывать eventRepository.findAll с 'пустым' "
+        @DisplayName("Поиск без фильтров должен вызывать eventRepository.findSlice с 'пустым' "
             + "предикатом")
         void getEventsAdmin_whenNoFilters_shouldCallRepositoryWithEmptyPredicate() {
             Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
-            Page<Event> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+            Slice<Event> emptyPage = new SliceImpl<>(Collections.emptyList(), pageable, false);
 
-            when(eventRepository.findAll(any(Predicate.class), eq(pageable))).thenReturn(emptyPage);
+            when(eventRepository.findSlice(any(Predicate.class), eq(pageable))).thenReturn(emptyPage);
 
             AdminEventSearchParams params = AdminEventSearchParams.builder().build();
             eventService.getEventsAdmin(params, 0, 10);
 
             ArgumentCaptor<Predicate> localPredicateCaptor = ArgumentCaptor.forClass(Predicate.class);
-            verify(eventRepository).findAll(localPredicateCaptor.capture(), eq(pageable));
+            verify(eventRepository).findSlice(localPredicateCaptor.capture(), eq(pageable));
 
             Predicate capturedPredicate = localPredicateCaptor.getValue();
             assertNotNull(capturedPredicate);
@@ -283,9 +459,9 @@ class EventServiceImplTest {
             LocalDateTime rangeStart = now;
             LocalDateTime rangeEnd = plusTwoHours;
             Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
-            Page<Event> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+            Slice<Event> emptyPage = new SliceImpl<>(Collections.emptyList(), pageable, false);
 
-            when(eventRepository.findAll(predicateCaptor.capture(), eq(pageable))).thenReturn(
+            when(eventRepository.findSlice(predicateCaptor.capture(), eq(pageable))).thenReturn(
                 emptyPage);
 
             AdminEventSearchParams params = AdminEventSearchParams.builder()
@@ -323,7 +499,7 @@ class EventServiceImplTest {
                     predicateString.contains(eventDatePath) && predicateString.contains("<= " + rangeEnd.toString()),
                     "Фильтр по конечной дате: " + predicateString)
             );
-            verify(eventRepository).findAll(capturedPredicate, pageable);
+            verify(eventRepository).findSlice(capturedPredicate, pageable);
         }
 
         @Test
@@ -357,7 +533,7 @@ class EventServiceImplTest {
         @DisplayName("Должен успешно создавать событие")
         void addEventPrivate_whenDataIsValid_shouldCreateAndReturnEventFullDto() {
             when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-            when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
+            when(categoryCache.findById(testCategory.getId())).thenReturn(Optional.of(toCategoryDto(testCategory)));
             when(eventMapper.toEvent(newEventDto)).thenReturn(mappedEventFromDto);
             when(eventRepository.save(any(Event.class))).thenReturn(savedEvent);
             when(eventMapper.toEventFullDto(savedEvent)).thenReturn(eventFullDto);
@@ -369,7 +545,7 @@ class EventServiceImplTest {
             assertEquals(eventFullDto.getTitle(), result.getTitle());
 
             verify(userRepository).findById(testUser.getId());
-            verify(categoryRepository).findById(testCategory.getId());
+            verify(categoryCache).findById(testCategory.getId());
             verify(eventMapper).toEvent(newEventDto);
             verify(eventRepository).save(eventArgumentCaptor.capture());
             Event capturedEvent = eventArgumentCaptor.getValue();
@@ -390,7 +566,7 @@ class EventServiceImplTest {
             assertTrue(exception.getMessage().contains("Пользователь"));
             assertTrue(exception.getMessage().contains(nonExistentUserId.toString()));
             verify(userRepository).findById(nonExistentUserId);
-            verifyNoInteractions(categoryRepository, eventRepository, eventMapper);
+            verifyNoInteractions(categoryCache, eventRepository, eventMapper);
         }
 
         @Test
@@ -404,7 +580,7 @@ class EventServiceImplTest {
                 .build();
 
             when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-            when(categoryRepository.findById(nonExistentCategoryId)).thenReturn(Optional.empty());
+            when(categoryCache.findById(nonExistentCategoryId)).thenReturn(Optional.empty());
 
             EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> eventService.addEventPrivate(testUser.getId(), dtoWithNonExistentCategory));
@@ -412,7 +588,7 @@ class EventServiceImplTest {
             assertTrue(exception.getMessage().contains("Категория"));
             assertTrue(exception.getMessage().contains(nonExistentCategoryId.toString()));
             verify(userRepository).findById(testUser.getId());
-            verify(categoryRepository).findById(nonExistentCategoryId);
+            verify(categoryCache).findById(nonExistentCategoryId);
             verifyNoInteractions(eventRepository, eventMapper);
         }
 
@@ -427,7 +603,7 @@ class EventServiceImplTest {
                 .build();
 
             when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-            when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
+            when(categoryCache.findById(testCategory.getId())).thenReturn(Optional.of(toCategoryDto(testCategory)));
 
             BusinessRuleViolationException exception = assertThrows(
                 BusinessRuleViolationException.class,
@@ -435,7 +611,7 @@ class EventServiceImplTest {
             assertTrue(exception.getMessage().contains("должна быть не ранее, чем через 2 часа"));
 
             verify(userRepository).findById(testUser.getId());
-            verify(categoryRepository).findById(testCategory.getId());
+            verify(categoryCache).findById(testCategory.getId());
             verifyNoInteractions(eventRepository, eventMapper);
         }
 
@@ -443,7 +619,7 @@ class EventServiceImplTest {
         @DisplayName("Должен корректно устанавливать инициатора и категорию в событие перед сохранением")
         void addEventPrivate_shouldSetInitiatorAndCategoryCorrectly() {
             when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-            when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
+            when(categoryCache.findById(testCategory.getId())).thenReturn(Optional.of(toCategoryDto(testCategory)));
             when(eventMapper.toEvent(newEventDto)).thenReturn(mappedEventFromDto);
             when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
             when(eventMapper.toEventFullDto(any(Event.class))).thenReturn(eventFullDto);
@@ -454,7 +630,9 @@ class EventServiceImplTest {
             Event capturedEvent = eventArgumentCaptor.getValue();
 
             assertEquals(testUser, capturedEvent.getInitiator(), "Инициатор должен быть корректно установлен.");
-            assertEquals(testCategory.getId(), capturedEvent.getCategory().getId(), "ID категории должен быть корректно установлен маппером.");
+            assertEquals(testCategory.getId(), capturedEvent.getCategory().getId(), "ID категории должен быть корректно установлен.");
+            assertEquals(testCategory.getName(), capturedEvent.getCategory().getName(),
+                "Название категории должно браться из кэша, чтобы попасть в ответ.");
         }
     }
 
@@ -464,34 +642,26 @@ class EventServiceImplTest {
         private Long ownerId;
         private Long nonExistentOwnerId;
         private Pageable defaultPageable;
-        private Event event1Owned, event2Owned;
 
         @BeforeEach
         void setUpOwnerEvents() {
             ownerId = testUser.getId();
             nonExistentOwnerId = 999L;
-            defaultPageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "eventDate"));
-
-            event1Owned = Event.builder().id(101L).title("Owned Event 1").initiator(testUser).category(testCategory)
-                .eventDate(now.plusDays(1)).state(EventState.PENDING).createdOn(now).build();
-            event2Owned = Event.builder().id(102L).title("Owned Event 2").initiator(testUser).category(testCategory)
-                .eventDate(now.plusDays(2)).state(EventState.PUBLISHED).createdOn(now).build();
+            defaultPageable = PageRequest.of(0, 10,
+                Sort.by(Sort.Direction.DESC, "eventDate").and(Sort.by(Sort.Direction.DESC, "id")));
         }
 
         @Test
         @DisplayName("Должен возвращать список EventShortDto событий пользователя с пагинацией")
         void getEventsByOwner_whenUserExistsAndHasEvents_shouldReturnEventShortDtoList() {
-            List<Event> eventsFromRepo = List.of(event2Owned, event1Owned);
-            Page<Event> eventPage = new PageImpl<>(eventsFromRepo, defaultPageable, eventsFromRepo.size());
-
             List<EventShortDto> expectedDtos = List.of(
                 EventShortDto.builder().id(102L).title("Owned Event 2").build(),
                 EventShortDto.builder().id(101L).title("Owned Event 1").build()
             );
 
             when(userRepository.existsById(ownerId)).thenReturn(true);
-            when(eventRepository.findByInitiatorId(ownerId, defaultPageable)).thenReturn(eventPage);
-            when(eventMapper.toEventShortDtoList(eventsFromRepo)).thenReturn(expectedDtos);
+            when(eventRepository.findShortDtoSlice(predicateCaptor.capture(), eq(defaultPageable)))
+                .thenReturn(new SliceImpl<>(expectedDtos, defaultPageable, false));
 
             List<EventShortDto> result = eventService.getEventsByOwner(ownerId, 0, 10);
 
@@ -499,25 +669,40 @@ class EventServiceImplTest {
             assertEquals(2, result.size());
             assertEquals(expectedDtos.get(0).getTitle(), result.get(0).getTitle());
             assertEquals(expectedDtos.get(1).getTitle(), result.get(1).getTitle());
+            assertEquals(qEvent.initiator.id.eq(ownerId), predicateCaptor.getValue());
 
             verify(userRepository).existsById(ownerId);
-            verify(eventRepository).findByInitiatorId(ownerId, defaultPageable);
-            verify(eventMapper).toEventShortDtoList(eventsFromRepo);
+            verifyNoInteractions(eventMapper);
         }
 
         @Test
         @DisplayName("Должен возвращать пустой список, если у пользователя нет событий")
         void getEventsByOwner_whenUserHasNoEvents_shouldReturnEmptyList() {
             when(userRepository.existsById(ownerId)).thenReturn(true);
-            when(eventRepository.findByInitiatorId(ownerId, defaultPageable))
-                .thenReturn(new PageImpl<>(Collections.emptyList(), defaultPageable, 0));
+            when(eventRepository.findShortDtoSlice(any(Predicate.class), eq(defaultPageable)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), defaultPageable, false));
 
             List<EventShortDto> result = eventService.getEventsByOwner(ownerId, 0, 10);
 
             assertNotNull(result);
             assertTrue(result.isEmpty());
             verify(userRepository).existsById(ownerId);
-            verify(eventRepository).findByInitiatorId(ownerId, defaultPageable);
+            verify(eventRepository).findShortDtoSlice(any(Predicate.class), eq(defaultPageable));
+        }
+
+        @Test
+        @DisplayName("Должен заполнять просмотры из счётчика события при выдаче по курсору")
+        void getEventsByOwnerByCursor_shouldFillViewsFromEvent() {
+            Event event = Event.builder().id(7L).eventDate(plusThreeHours).views(12L).build();
+            when(userRepository.existsById(ownerId)).thenReturn(true);
+            when(eventRepository.findBy(any(Predicate.class), any())).thenReturn(Window.from(List.of(event),
+                ScrollPosition::offset));
+            when(eventMapper.toEventShortDto(event)).thenReturn(EventShortDto.builder().id(7L).build());
+
+            KeysetPage<EventShortDto> page = eventService.getEventsByOwnerByCursor(ownerId, null, 10);
+
+            assertEquals(1, page.items().size());
+            assertEquals(12L, page.items().get(0).getViews());
         }
 
         @Test
@@ -719,7 +904,7 @@ class EventServiceImplTest {
 
             when(eventRepository.findByIdAndInitiatorId(existingEventId, testUser.getId()))
                 .thenReturn(Optional.of(eventToUpdate));
-            when(categoryRepository.findById(newCategory.getId())).thenReturn(Optional.of(newCategory));
+            when(categoryCache.findById(newCategory.getId())).thenReturn(Optional.of(toCategoryDto(newCategory)));
             when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0)); // Возвращаем измененный event
             when(eventMapper.toEventFullDto(any(Event.class))).thenReturn(updatedEventFullDto);
 
@@ -814,7 +999,7 @@ class EventServiceImplTest {
 
             when(eventRepository.findByIdAndInitiatorId(existingEventId, testUser.getId()))
                 .thenReturn(Optional.of(existingEvent));
-            when(categoryRepository.findById(nonExistentCategoryId)).thenReturn(Optional.empty());
+            when(categoryCache.findById(nonExistentCategoryId)).thenReturn(Optional.empty());
 
             EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
                 eventService.updateEventByOwner(testUser.getId(), existingEventId, dtoWithNonExistentCategory);
@@ -822,7 +1007,7 @@ class EventServiceImplTest {
             assertTrue(exception.getMessage().contains("Category with id=" + nonExistentCategoryId));
 
             verify(eventRepository).findByIdAndInitiatorId(existingEventId, testUser.getId());
-            verify(categoryRepository).findById(nonExistentCategoryId);
+            verify(categoryCache).findById(nonExistentCategoryId);
             verifyNoInteractions(eventMapper);
         }
     }
@@ -903,6 +1088,39 @@ class EventServiceImplTest {
                 savedEvent.getPublishedOn().isBefore(now.plusSeconds(5)));
         }
 
+        @Test
+        @DisplayName("Должен сбрасывать кэш публичного поиска при публикации события")
+        void moderateEventByAdmin_whenPublish_shouldInvalidatePublicSearchCache() {
+            when(eventRepository.findById(existingEventId)).thenReturn(Optional.of(existingPendingEvent));
+            when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            eventService.moderateEventByAdmin(existingEventId, publishRequestDto);
+
+            verify(publicEventSearchCache).invalidateAll();
+        }
+
+        @Test
+        @DisplayName("Должен сбрасывать кэш публичного поиска при изменении опубликованного события")
+        void moderateEventByAdmin_whenPublishedEventUpdated_shouldInvalidatePublicSearchCache() {
+            when(eventRepository.findById(2L)).thenReturn(Optional.of(existingPublishedEvent));
+            when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            eventService.moderateEventByAdmin(2L, UpdateEventAdminRequestDto.builder().title("New Title").build());
+
+            verify(publicEventSearchCache).invalidateAll();
+        }
+
+        @Test
+        @DisplayName("Не должен сбрасывать кэш публичного поиска при отклонении неопубликованного события")
+        void moderateEventByAdmin_whenRejectPending_shouldKeepPublicSearchCache() {
+            when(eventRepository.findById(existingEventId)).thenReturn(Optional.of(existingPendingEvent));
+            when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            eventService.moderateEventByAdmin(existingEventId, rejectRequestDto);
+
+            verify(publicEventSearchCache, never()).invalidateAll();
+        }
+
         @Test
         @DisplayName("Должен успешно отклонять PENDING событие")
         void moderateEventByAdmin_whenRejectPendingEvent_shouldCancel() {
@@ -932,7 +1150,7 @@ class EventServiceImplTest {
             existingPendingEvent.setEventDate(now.plusHours(2));
 
             when(eventRepository.findById(existingEventId)).thenReturn(Optional.of(existingPendingEvent));
-            when(categoryRepository.findById(newCategory.getId())).thenReturn(Optional.of(newCategory));
+            when(categoryCache.findById(newCategory.getId())).thenReturn(Optional.of(toCategoryDto(newCategory)));
             when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
             when(eventMapper.toEventFullDto(any(Event.class))).thenReturn(mappedEventFullDto);
 
@@ -1032,15 +1250,19 @@ class EventServiceImplTest {
             existingPendingEvent.setEventDate(now.plusHours(2));
 
             when(eventRepository.findById(existingEventId)).thenReturn(Optional.of(existingPendingEvent));
-            when(categoryRepository.findById(nonExistentCategoryId)).thenReturn(Optional.empty());
+            when(categoryCache.findById(nonExistentCategoryId)).thenReturn(Optional.empty());
 
             EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
                 eventService.moderateEventByAdmin(existingEventId, updateDtoWithBadCategory);
             });
             assertTrue(exception.getMessage().contains("Category with id=" + nonExistentCategoryId));
             verify(eventRepository).findById(existingEventId);
-            verify(categoryRepository).findById(nonExistentCategoryId);
+            verify(categoryCache).findById(nonExistentCategoryId);
             verify(eventRepository, never()).save(any());
         }
     }
-}
\ No newline at end of file
+
+    private static CategoryDto toCategoryDto(Category category) {
+        return new CategoryDto(category.getId(), category.getName());
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.explorewithme.main.service;
 
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,6 +29,7 @@ import ru.practicum.explorewithme.main.repository.CategoryRepository;
 import ru.practicum.explorewithme.main.repository.EventRepository;
 import ru.practicum.explorewithme.main.repository.RequestRepository;
 import ru.practicum.explorewithme.main.repository.UserRepository;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.AdminEventSearchParams;
 
 import java.time.LocalDateTime;
@@ -35,6 +37,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import ru.practicum.explorewithme.main.service.params.PublicEventSearchParams;
 import ru.practicum.explorewithme.stats.client.StatsClient;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
 import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -58,7 +61,6 @@ class EventServiceIntegrationTest {
         registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
         registry.add("spring.datasource.username", postgresContainer::getUsername);
         registry.add("spring.datasource.password", postgresContainer::getPassword);
-        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
     }
 
     @Autowired
@@ -79,6 +81,15 @@ class EventServiceIntegrationTest {
     @Autowired
     private RequestRepository requestRepository;
 
+    @Autowired
+    private ConfirmedRequestsReconciler confirmedRequestsReconciler;
+
+    @Autowired
+    private EventViewsService eventViewsService;
+
+    @Autowired
+    private PublicEventSearchCache publicEventSearchCache;
+
     @MockitoBean
     private StatsClient statsClient;
 
@@ -93,6 +104,7 @@ class EventServiceIntegrationTest {
         eventRepository.deleteAllInBatch();
         categoryRepository.deleteAllInBatch();
         userRepository.deleteAllInBatch();
+        publicEventSearchCache.invalidateAll();
 
         now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
 
@@ -295,6 +307,19 @@ class EventServiceIntegrationTest {
             assertEquals(2, allUser1Events.size());
         }
 
+        @Test
+        @DisplayName("Выдача по ключу должна возвращать события пользователя от поздних к ранним")
+        void getEventsByOwnerByCursor_whenUserHasEvents_thenWalksTheirEventsByEventDateDesc() {
+            KeysetPage<EventShortDto> page1 = eventService.getEventsByOwnerByCursor(user1.getId(), "", 1);
+            assertEquals(eventUser1Cat2.getTitle(), page1.items().getFirst().getTitle());
+            assertNotNull(page1.nextCursor());
+
+            KeysetPage<EventShortDto> page2 = eventService.getEventsByOwnerByCursor(user1.getId(), page1.nextCursor(), 1);
+            assertEquals(1, page2.items().size());
+            assertEquals(eventUser1Cat1.getTitle(), page2.items().getFirst().getTitle());
+            assertNull(page2.nextCursor());
+        }
+
         @Test
         @DisplayName("Должен возвращать пустой список, если у пользователя нет событий")
         void getEventsByOwner_whenUserHasNoEvents_thenReturnsEmptyList() {
@@ -657,15 +682,14 @@ class EventServiceIntegrationTest {
             ParticipationRequest req1 = ParticipationRequest.builder().event(publishedEvent).requester(user2).status(RequestStatus.CONFIRMED).created(now).build();
             ParticipationRequest req2 = ParticipationRequest.builder().event(publishedEvent).requester(user3).status(RequestStatus.CONFIRMED).created(now).build();
             requestRepository.saveAll(List.of(req1, req2));
+            // Заявки сохранены в обход RequestService, поэтому счётчики событий пересчитываются явно
+            confirmedRequestsReconciler.reconcile();
         }
 
         @Test
         @DisplayName("Должен возвращать EventFullDto с просмотрами и подтвержденными запросами")
         void getEventByIdPublic_whenEventExistsAndPublished_thenReturnsDtoWithViewsAndRequests() {
-            String eventUri = "/events/" + publishedEvent.getId();
-            ViewStatsDto viewStat = new ViewStatsDto("ewm-main-service", eventUri, 5L);
-            when(statsClient.getStats(any(LocalDateTime.class), any(LocalDateTime.class), eq(List.of(eventUri)), eq(true)))
-                .thenReturn(List.of(viewStat));
+            eventRepository.addViews(publishedEvent.getId(), 5L);
 
             EventFullDto resultDto = eventService.getEventByIdPublic(publishedEvent.getId());
 
@@ -690,21 +714,12 @@ class EventServiceIntegrationTest {
         }
 
         @Test
-        @DisplayName("Просмотры должны быть 0, если сервис статистики вернул пустой список или ошибку")
-        void getEventByIdPublic_whenStatsServiceFailsOrReturnsEmpty_thenViewsAreZero() {
-            String eventUri = "/events/" + publishedEvent.getId();
-            when(statsClient.getStats(any(LocalDateTime.class), any(LocalDateTime.class), eq(List.of(eventUri)), eq(true)))
-                .thenReturn(Collections.emptyList());
-
-            EventFullDto resultDtoEmptyStats = eventService.getEventByIdPublic(publishedEvent.getId());
-            assertEquals(0L, resultDtoEmptyStats.getViews(), "Views should be 0 if stats service returns empty");
-
-            when(statsClient.getStats(any(LocalDateTime.class), any(LocalDateTime.class), eq(List.of(eventUri)), eq(true)))
-                .thenThrow(new RuntimeException("Stats service error"));
+        @DisplayName("Просмотры должны быть 0, если в локальной проекции нет записи о событии")
+        void getEventByIdPublic_whenNoViewsInProjection_thenViewsAreZero() {
+            EventFullDto resultDto = eventService.getEventByIdPublic(publishedEvent.getId());
 
-            EventFullDto resultDtoErrorStats = eventService.getEventByIdPublic(publishedEvent.getId());
-            assertEquals(0L, resultDtoErrorStats.getViews(), "Views should be 0 if stats service throws error");
-            assertEquals(2L, resultDtoErrorStats.getConfirmedRequests());
+            assertEquals(0L, resultDto.getViews(), "Views should be 0 if projection has no entry");
+            assertEquals(2L, resultDto.getConfirmedRequests());
         }
     }
 
@@ -751,6 +766,7 @@ class EventServiceIntegrationTest {
             }
 
             requestRepository.save(ParticipationRequest.builder().event(event2Pub).requester(user1).status(RequestStatus.CONFIRMED).created(now).build());
+            confirmedRequestsReconciler.reconcile();
         }
 
         @Test
@@ -767,6 +783,24 @@ class EventServiceIntegrationTest {
             assertTrue(results.stream().anyMatch(e -> e.getId().equals(event2Pub.getId())));
         }
 
+        @Test
+        @DisplayName("Должен заполнять категорию, инициатора и счётчик заявок краткого представления из одного запроса")
+        void getEventsPublic_shouldProjectCategoryInitiatorAndConfirmedRequests() {
+            List<EventShortDto> results = eventService.getEventsPublic(PublicEventSearchParams.builder().build(), 0, 10);
+
+            EventShortDto alpha = results.stream().filter(e -> e.getId().equals(event1Pub.getId())).findFirst()
+                .orElseThrow();
+            assertEquals("Public Search Event Alpha", alpha.getTitle());
+            assertEquals("Alpha sports concert", alpha.getAnnotation());
+            assertEquals(category1.getId(), alpha.getCategory().getId());
+            assertEquals("Category A", alpha.getCategory().getName());
+            assertEquals(user1.getId(), alpha.getInitiator().getId());
+            assertEquals("User One", alpha.getInitiator().getName());
+            assertEquals(5L, alpha.getConfirmedRequests());
+            assertEquals(false, alpha.getPaid());
+            assertEquals(0L, alpha.getViews());
+        }
+
         @Test
         @DisplayName("Должен корректно фильтровать по тексту в аннотации или описании (регистронезависимо)")
         void getEventsPublic_withTextFilter_shouldReturnMatchingEvents() {
@@ -778,6 +812,40 @@ class EventServiceIntegrationTest {
             assertEquals(event1Pub.getId(), results.getFirst().getId());
         }
 
+        @Test
+        @DisplayName("Полнотекстовый поиск должен находить слова текста в любом порядке")
+        void getEventsPublic_withWordsInAnotherOrder_shouldMatchByFullText() {
+            PublicEventSearchParams params = PublicEventSearchParams.builder().text("sports Alpha").build();
+
+            List<EventShortDto> results = eventService.getEventsPublic(params, 0, 10);
+
+            assertEquals(1, results.size());
+            assertEquals(event1Pub.getId(), results.getFirst().getId());
+        }
+
+        @Test
+        @DisplayName("Должен сортировать найденные по тексту события по релевантности")
+        void getEventsPublic_withSortByRelevance_shouldRankMoreRelevantFirst() {
+            Event festival = eventRepository.save(Event.builder().title("Jazz festival")
+                .annotation("Open air jazz and blues").description("Jazz bands from all over the country play jazz")
+                .category(category1).initiator(user1).location(location1)
+                .eventDate(now.plusDays(4)).state(EventState.PUBLISHED).publishedOn(now.minusDays(1))
+                .createdOn(now.minusDays(2)).build());
+            Event lecture = eventRepository.save(Event.builder().title("History lecture")
+                .annotation("Lecture about the history of music").description("Including a short part on jazz")
+                .category(category1).initiator(user1).location(location1)
+                .eventDate(now.plusDays(1)).state(EventState.PUBLISHED).publishedOn(now.minusDays(1))
+                .createdOn(now.minusDays(2)).build());
+
+            List<EventShortDto> byRelevance = eventService.getEventsPublic(
+                PublicEventSearchParams.builder().text("jazz").sort("RELEVANCE").build(), 0, 10);
+            List<EventShortDto> byDate = eventService.getEventsPublic(
+                PublicEventSearchParams.builder().text("jazz").build(), 0, 10);
+
+            assertEquals(List.of(festival.getId(), lecture.getId()), byRelevance.stream().map(EventShortDto::getId).toList());
+            assertEquals(List.of(lecture.getId(), festival.getId()), byDate.stream().map(EventShortDto::getId).toList());
+        }
+
         @Test
         @DisplayName("Должен корректно фильтровать по категориям")
         void getEventsPublic_withCategoriesFilter_shouldReturnMatchingEvents() {
@@ -824,6 +892,7 @@ class EventServiceIntegrationTest {
             event4PastPub.setParticipantLimit(5);
             requestRepository.save(ParticipationRequest.builder().event(event4PastPub).requester(user1).status(RequestStatus.CONFIRMED).created(now).build());
             eventRepository.save(event4PastPub);
+            confirmedRequestsReconciler.reconcile();
 
             entityManager.flush();
             entityManager.clear();
@@ -843,9 +912,12 @@ class EventServiceIntegrationTest {
 
             requestRepository.save(ParticipationRequest.builder().event(event2Pub).requester(user2).status(RequestStatus.CONFIRMED).created(now).build());
             requestRepository.save(ParticipationRequest.builder().event(event2Pub).requester(user3).status(RequestStatus.CONFIRMED).created(now).build());
+            confirmedRequestsReconciler.reconcile();
 
             entityManager.flush();
             entityManager.clear();
+            // Заявки меняются в обход модерации событий, поэтому закэшированный результат поиска сбрасывается явно
+            publicEventSearchCache.invalidateAll();
 
             results = eventService.getEventsPublic(params, 0, 10);
             assertEquals(2, results.size(), "Event2Pub should now be unavailable");
@@ -855,21 +927,17 @@ class EventServiceIntegrationTest {
         @Test
         @DisplayName("Должен сортировать по просмотрам (VIEWS), если указано")
         void getEventsPublic_withSortByViews_shouldSortByViewsDesc() {
-            String applicationName = "test-app-name";
-            String uri1 = "/events/" + event1Pub.getId();
-            String uri2 = "/events/" + event2Pub.getId();
             PublicEventSearchParams params = PublicEventSearchParams.builder()
                 .sort("VIEWS")
                 .rangeStart(now.minusDays(5))
                 .build();
 
-            ViewStatsDto stat1 = new ViewStatsDto(applicationName, uri1, 100L);
-            ViewStatsDto stat2 = new ViewStatsDto(applicationName, uri2, 200L);
-            String uri4 = "/events/" + event4PastPub.getId();
-            ViewStatsDto stat4 = new ViewStatsDto(applicationName, uri4, 50L);
-
-            when(statsClient.getStats(any(LocalDateTime.class), any(LocalDateTime.class), anyList(), eq(true)))
-                .thenReturn(List.of(stat1, stat2, stat4));
+            long cursor = eventViewsService.getFeedCursor();
+            eventViewsService.applyChanges(cursor, new ViewChangesDto(cursor + 1, List.of(
+                new ViewStatsDto("ewm-main-service", "/events/" + event1Pub.getId(), 100L),
+                new ViewStatsDto("ewm-main-service", "/events/" + event2Pub.getId(), 200L),
+                new ViewStatsDto("ewm-main-service", "/events/" + event4PastPub.getId(), 50L))));
+            entityManager.clear();
 
             List<EventShortDto> results = eventService.getEventsPublic(params, 0, 10);
 
@@ -880,6 +948,10 @@ class EventServiceIntegrationTest {
             assertEquals(100L, results.get(1).getViews());
             assertEquals(event4PastPub.getId(), results.get(2).getId(), "Event4 (50 views) should be third");
             assertEquals(50L, results.get(2).getViews());
+
+            List<EventShortDto> secondPage = eventService.getEventsPublic(params, 1, 1);
+            assertEquals(1, secondPage.size());
+            assertEquals(event1Pub.getId(), secondPage.getFirst().getId(), "Pages should follow the global order");
         }
 
         @Test
@@ -901,5 +973,44 @@ class EventServiceIntegrationTest {
             assertEquals(event2Pub.getId(), resultsExplicit.get(0).getId());
             assertEquals(event1Pub.getId(), resultsExplicit.get(1).getId());
         }
+
+        @Test
+        @DisplayName("Выдача по ключу должна пройти события в порядке просмотров, различая равные значения по id")
+        void getEventsPublicByCursor_withSortByViews_shouldWalkAllPagesInOrder() {
+            PublicEventSearchParams params = PublicEventSearchParams.builder()
+                .sort("VIEWS")
+                .rangeStart(now.minusDays(5))
+                .build();
+
+            long cursor = eventViewsService.getFeedCursor();
+            eventViewsService.applyChanges(cursor, new ViewChangesDto(cursor + 1, List.of(
+                new ViewStatsDto("ewm-main-service", "/events/" + event1Pub.getId(), 100L),
+                new ViewStatsDto("ewm-main-service", "/events/" + event2Pub.getId(), 200L),
+                new ViewStatsDto("ewm-main-service", "/events/" + event4PastPub.getId(), 100L))));
+            entityManager.clear();
+
+            List<Long> pagedIds = new ArrayList<>();
+            String pageCursor = "";
+            do {
+                KeysetPage<EventShortDto> page = eventService.getEventsPublicByCursor(params, pageCursor, 1);
+                page.items().forEach(event -> pagedIds.add(event.getId()));
+                pageCursor = page.nextCursor();
+            } while (pageCursor != null);
+
+            assertEquals(List.of(event2Pub.getId(), event1Pub.getId(), event4PastPub.getId()), pagedIds);
+        }
+
+        @Test
+        @DisplayName("Выдача по ключу по дате события должна совпадать с выдачей по смещению")
+        void getEventsPublicByCursor_withSortByEventDate_shouldMatchOffsetPages() {
+            PublicEventSearchParams params = PublicEventSearchParams.builder().build();
+
+            KeysetPage<EventShortDto> first = eventService.getEventsPublicByCursor(params, null, 1);
+            KeysetPage<EventShortDto> second = eventService.getEventsPublicByCursor(params, first.nextCursor(), 1);
+
+            assertEquals(List.of(event2Pub.getId()), first.items().stream().map(EventShortDto::getId).toList());
+            assertEquals(List.of(event1Pub.getId()), second.items().stream().map(EventShortDto::getId).toList());
+            assertNull(second.nextCursor());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package ru.practicum.explorewithme.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.explorewithme.main.repository.EventRepository;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
+import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты для EventViewsServiceImpl")
+class EventViewsServiceImplTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private EventViewsServiceImpl eventViewsService;
+
+    @Nested
+    @DisplayName("Метод applyChanges")
+    class ApplyChangesTests {
+
+        @Test
+        @DisplayName("Должен сдвинуть курсор и добавить прирост просмотров событиям")
+        void applyChanges_shouldAdvanceCursorAndAddViews() {
+            ViewChangesDto changes = new ViewChangesDto(20L, List.of(
+                new ViewStatsDto("ewm-main-service", "/events/2", 3L),
+                new ViewStatsDto("ewm-main-service", "/events/1", 5L),
+                new ViewStatsDto("other-app", "/events/2", 1L)));
+            when(eventRepository.advanceViewsFeedCursor(10L, 20L)).thenReturn(1);
+
+            boolean applied = eventViewsService.applyChanges(10L, changes);
+
+            assertThat(applied).isTrue();
+            InOrder order = inOrder(eventRepository);
+            order.verify(eventRepository).advanceViewsFeedCursor(10L, 20L);
+            order.verify(eventRepository).addViews(1L, 5L);
+            order.verify(eventRepository).addViews(2L, 4L);
+        }
+
+        @Test
+        @DisplayName("Должен пропускать URI, не относящиеся к событиям")
+        void applyChanges_shouldSkipNonEventUris() {
+            ViewChangesDto changes = new ViewChangesDto(20L, List.of(
+                new ViewStatsDto("ewm-main-service", "/events", 7L),
+                new ViewStatsDto("ewm-main-service", "/events/1/comments", 2L)));
+            when(eventRepository.advanceViewsFeedCursor(10L, 20L)).thenReturn(1);
+
+            assertThat(eventViewsService.applyChanges(10L, changes)).isTrue();
+
+            verify(eventRepository, never()).addViews(anyLong(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Не должен применять порцию, если курсор уже сдвинут другим экземпляром")
+        void applyChanges_whenCursorAlreadyAdvanced_shouldNotAddViews() {
+            ViewChangesDto changes = new ViewChangesDto(20L, List.of(
+                new ViewStatsDto("ewm-main-service", "/events/1", 5L)));
+            when(eventRepository.advanceViewsFeedCursor(10L, 20L)).thenReturn(0);
+
+            assertThat(eventViewsService.applyChanges(10L, changes)).isFalse();
+
+            verify(eventRepository, never()).addViews(anyLong(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Не должен обращаться к БД, если лента не продвинулась")
+        void applyChanges_whenCursorDidNotMove_shouldDoNothing() {
+            assertThat(eventViewsService.applyChanges(10L, new ViewChangesDto(10L, List.of()))).isFalse();
+
+            verifyNoInteractions(eventRepository);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package ru.practicum.explorewithme.main.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.explorewithme.main.model.Category;
+import ru.practicum.explorewithme.main.model.Comment;
+import ru.practicum.explorewithme.main.model.Event;
+import ru.practicum.explorewithme.main.model.EventState;
+import ru.practicum.explorewithme.main.model.Location;
+import ru.practicum.explorewithme.main.model.User;
+import ru.practicum.explorewithme.main.repository.CategoryRepository;
+import ru.practicum.explorewithme.main.repository.CommentRepository;
+import ru.practicum.explorewithme.main.repository.EventRepository;
+import ru.practicum.explorewithme.main.repository.RequestRepository;
+import ru.practicum.explorewithme.main.repository.UserRepository;
+import ru.practicum.explorewithme.main.service.params.AdminCommentSearchParams;
+import ru.practicum.explorewithme.main.service.params.AdminEventSearchParams;
+import ru.practicum.explorewithme.main.service.params.GetListUsersParameters;
+import ru.practicum.explorewithme.main.service.params.PublicCommentParameters;
+import ru.practicum.explorewithme.main.service.params.PublicEventSearchParams;
+import ru.practicum.explorewithme.stats.client.StatsClient;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "ru.practicum.explorewithme.main.service.ListQueryCountIntegrationTest$RecordingStatementInspector")
+@Testcontainers
+@Transactional
+@DisplayName("Количество запросов к БД в списочных методах")
+class ListQueryCountIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:16.1");
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private PublicEventSearchCache publicEventSearchCache;
+
+    @MockitoBean
+    private StatsClient statsClient;
+
+    private User user;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAllInBatch();
+        requestRepository.deleteAllInBatch();
+        eventRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        categoryCache.invalidateAll();
+        publicEventSearchCache.invalidateAll();
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        user = userRepository.save(User.builder().name("User").email("user@queries.com").build());
+        User other = userRepository.save(User.builder().name("Other").email("other@queries.com").build());
+        List<Category> categories = List.of(categoryRepository.save(Category.builder().name("Category").build()),
+            categoryRepository.save(Category.builder().name("Another").build()));
+        // События разных категорий и инициаторов, чтобы ленивая загрузка связей проявилась отдельными запросами
+        for (int i = 0; i < 4; i++) {
+            event = eventRepository.save(Event.builder().title("Event " + i).annotation("A").description("D")
+                .category(categories.get(i % 2)).initiator(i < 3 ? user : other)
+                .location(Location.builder().lat(10f).lon(10f).build())
+                .eventDate(now.plusDays(i + 1)).state(EventState.PUBLISHED).createdOn(now).publishedOn(now)
+                .commentsEnabled(true).build());
+        }
+        for (int i = 0; i < 3; i++) {
+            commentRepository.save(Comment.builder().event(event).author(user).text("Comment " + i)
+                .createdOn(now.plusMinutes(i)).isEdited(false).isDeleted(false).build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("Публичный поиск событий выполняет один запрос к events без подсчёта")
+    void getEventsPublic_shouldIssueSingleEventsQuery() {
+        eventService.getEventsPublic(PublicEventSearchParams.builder().build(), 0, 2);
+
+        assertSingleDataQuery("events");
+    }
+
+    @Test
+    @DisplayName("Поиск событий администратором выполняет один запрос к events без подсчёта")
+    void getEventsAdmin_shouldIssueSingleEventsQuery() {
+        eventService.getEventsAdmin(AdminEventSearchParams.builder().build(), 0, 2);
+
+        assertSingleDataQuery("events");
+    }
+
+    @Test
+    @DisplayName("Поиск событий администратором не догружает категории и инициаторов отдельными запросами")
+    void getEventsAdmin_shouldNotLazyLoadCategoryOrInitiator() {
+        eventService.getEventsAdmin(AdminEventSearchParams.builder().build(), 0, 10);
+
+        // события с категориями, инициаторами и просмотрами
+        assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("Публичный поиск событий не догружает категории и инициаторов отдельными запросами")
+    void getEventsPublic_shouldNotLazyLoadCategoryOrInitiator() {
+        eventService.getEventsPublic(PublicEventSearchParams.builder().build(), 0, 10);
+
+        // события с категориями, инициаторами и просмотрами
+        assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("Список событий владельца не догружает категории и инициаторов отдельными запросами")
+    void getEventsByOwner_shouldNotLazyLoadCategoryOrInitiator() {
+        eventService.getEventsByOwner(user.getId(), 0, 10);
+
+        // проверка пользователя + события с категориями и инициаторами
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("Поиск событий администратором по курсору не догружает категории и инициаторов")
+    void getEventsAdminByCursor_shouldNotLazyLoadCategoryOrInitiator() {
+        eventService.getEventsAdminByCursor(AdminEventSearchParams.builder().build(), null, 10);
+
+        assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("Публичный поиск событий по курсору не догружает категории и инициаторов")
+    void getEventsPublicByCursor_shouldNotLazyLoadCategoryOrInitiator() {
+        eventService.getEventsPublicByCursor(PublicEventSearchParams.builder().build(), null, 10);
+
+        assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("Список событий владельца по курсору не догружает категории и инициаторов")
+    void getEventsByOwnerByCursor_shouldNotLazyLoadCategoryOrInitiator() {
+        eventService.getEventsByOwnerByCursor(user.getId(), null, 10);
+
+        // проверка пользователя + события с категориями и инициаторами
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("Список событий владельца выполняет один запрос к events без подсчёта")
+    void getEventsByOwner_shouldIssueSingleEventsQuery() {
+        eventService.getEventsByOwner(user.getId(), 0, 2);
+
+        assertSingleDataQuery("events");
+    }
+
+    @Test
+    @DisplayName("Комментарии события выполняют один запрос к comments без подсчёта")
+    void getCommentsForEvent_shouldIssueSingleCommentsQuery() {
+        commentService.getCommentsForEvent(event.getId(), PublicCommentParameters.builder()
+            .from(0).size(2).sort(Sort.by(Sort.Direction.DESC, "createdOn")).build());
+
+        assertSingleDataQuery("comments");
+    }
+
+    @Test
+    @DisplayName("Комментарии пользователя выполняют один запрос к comments без подсчёта")
+    void getUserComments_shouldIssueSingleCommentsQuery() {
+        commentService.getUserComments(user.getId(), 0, 2);
+
+        assertSingleDataQuery("comments");
+    }
+
+    @Test
+    @DisplayName("Поиск комментариев администратором выполняет один запрос к comments без подсчёта")
+    void getAllCommentsAdmin_shouldIssueSingleCommentsQuery() {
+        commentService.getAllCommentsAdmin(AdminCommentSearchParams.builder().build(), 0, 2);
+
+        assertSingleDataQuery("comments");
+    }
+
+    @Test
+    @DisplayName("Список пользователей выполняет один запрос к users без подсчёта")
+    void getUsers_shouldIssueSingleUsersQuery() {
+        userService.getUsers(GetListUsersParameters.builder().from(0).size(1).build());
+        assertSingleDataQuery("users");
+
+        RecordingStatementInspector.STATEMENTS.clear();
+        userService.getUsers(GetListUsersParameters.builder().ids(List.of(user.getId())).from(0).size(1).build());
+        assertSingleDataQuery("users");
+    }
+
+    @Test
+    @DisplayName("Список категорий выполняет один запрос к categories без подсчёта")
+    void getAllCategories_shouldIssueSingleCategoriesQuery() {
+        categoryService.getAllCategories(0, 10);
+
+        assertSingleDataQuery("categories");
+    }
+
+    private void assertStatementCount(int expected) {
+        List<String> statements = List.copyOf(RecordingStatementInspector.STATEMENTS);
+        assertEquals(expected, statements.size(), () -> "Unexpected statements: " + statements);
+    }
+
+    private void assertSingleDataQuery(String table) {
+        Pattern fromTable = Pattern.compile("\\bfrom " + table + "\\b");
+        List<String> tableQueries = RecordingStatementInspector.STATEMENTS.stream()
+            .map(sql -> sql.toLowerCase(Locale.ROOT))
+            .filter(sql -> fromTable.matcher(sql).find())
+            .toList();
+
+        assertEquals(1, tableQueries.size(), () -> "Expected one query to " + table + ", got: " + tableQueries);
+        assertTrue(tableQueries.stream().noneMatch(sql -> sql.contains("count(")),
+            () -> "Unexpected count query: " + tableQueries);
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package ru.practicum.explorewithme.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.explorewithme.main.repository.PublicContentVersionRepository;
+import ru.practicum.explorewithme.main.repository.PublicContentVersionRepository.ContentVersion;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты для PublicContentVersions")
+class PublicContentVersionsTest {
+
+    @Mock
+    private PublicContentVersionRepository repository;
+
+    private MutableClock clock;
+    private PublicContentVersions versions;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        versions = new PublicContentVersions(repository, Duration.ofSeconds(30), Duration.ofSeconds(10), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Должен строить ETag из общей версии содержимого и его зависимостей без признака экземпляра")
+    void etag_shouldBeBuiltFromSharedVersionOfContentAndDependencies() {
+        when(repository.find(List.of("CATEGORIES", "EVENTS"), Duration.ofSeconds(10)))
+            .thenReturn(new ContentVersion(42, true));
+
+        long interval = clock.millis() / Duration.ofSeconds(30).toMillis();
+        assertThat(versions.etag(PublicContent.EVENTS)).isEqualTo("\"events-42-" + interval + "\"");
+    }
+
+    @Test
+    @DisplayName("Должен помечать ETag как неустоявшийся, пока реплика может не догнать изменение")
+    void etag_whenReplicaMayLag_shouldBeUnsettled() {
+        when(repository.find(List.of("CATEGORIES"), Duration.ofSeconds(10)))
+            .thenReturn(new ContentVersion(7, false), new ContentVersion(7, true));
+
+        String duringLag = versions.etag(PublicContent.CATEGORIES);
+
+        assertThat(duringLag).endsWith("-unsettled\"");
+        assertThat(versions.etag(PublicContent.CATEGORIES)).isNotEqualTo(duringLag).doesNotContain("unsettled");
+    }
+
+    @Test
+    @DisplayName("Должен менять ETag по истечении max-age даже без изменений")
+    void etag_whenMaxAgeElapsed_shouldChange() {
+        when(repository.find(List.of("CATEGORIES"), Duration.ofSeconds(10))).thenReturn(new ContentVersion(7, true));
+        String etag = versions.etag(PublicContent.CATEGORIES);
+
+        clock.advance(Duration.ofSeconds(30));
+
+        assertThat(versions.etag(PublicContent.CATEGORIES)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Должен читать версию для ключей кэша без учёта отставания реплики")
+    void version_shouldReturnSumOfSharedVersions() {
+        when(repository.find(List.of("CATEGORIES", "EVENTS", "COMPILATIONS"), Duration.ZERO))
+            .thenReturn(new ContentVersion(99, false));
+
+        assertThat(versions.version(PublicContent.COMPILATIONS)).isEqualTo(99);
+    }
+
+    @Test
+    @DisplayName("Вне транзакции должен сразу увеличивать версию")
+    void changed_withoutTransaction_shouldIncrementImmediately() {
+        versions.changed(PublicContent.EVENTS);
+
+        verify(repository).increment("EVENTS");
+    }
+
+    @Test
+    @DisplayName("В транзакции должен увеличивать каждую версию один раз перед фиксацией в порядке видов")
+    void changed_inTransaction_shouldIncrementOncePerContentBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        versions.changed(PublicContent.COMMENTS);
+        versions.changed(PublicContent.CATEGORIES);
+        versions.changed(PublicContent.COMMENTS);
+
+        verify(repository, never()).increment(anyString());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+
+        InOrder inOrder = Mockito.inOrder(repository);
+        inOrder.verify(repository).increment("CATEGORIES");
+        inOrder.verify(repository).increment("COMMENTS");
+        verify(repository, times(2)).increment(anyString());
+    }
+
+    @Test
+    @DisplayName("Не должен менять версию при откате транзакции")
+    void changed_whenTransactionRolledBack_shouldNotIncrement() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        versions.changed(PublicContent.EVENTS);
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(repository, never()).increment(any());
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
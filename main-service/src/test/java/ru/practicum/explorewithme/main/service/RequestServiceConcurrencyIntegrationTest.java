@@ -0,0 +1,234 @@
+package ru.practicum.explorewithme.main.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.explorewithme.main.dto.EventRequestStatusUpdateResultDto;
+import ru.practicum.explorewithme.main.dto.ParticipationRequestDto;
+import ru.practicum.explorewithme.main.error.BusinessRuleViolationException;
+import ru.practicum.explorewithme.main.model.Category;
+import ru.practicum.explorewithme.main.model.Event;
+import ru.practicum.explorewithme.main.model.EventState;
+import ru.practicum.explorewithme.main.model.Location;
+import ru.practicum.explorewithme.main.model.ParticipationRequest;
+import ru.practicum.explorewithme.main.model.RequestStatus;
+import ru.practicum.explorewithme.main.model.User;
+import ru.practicum.explorewithme.main.repository.CategoryRepository;
+import ru.practicum.explorewithme.main.repository.CommentRepository;
+import ru.practicum.explorewithme.main.repository.EventRepository;
+import ru.practicum.explorewithme.main.repository.RequestRepository;
+import ru.practicum.explorewithme.main.repository.UserRepository;
+import ru.practicum.explorewithme.main.service.params.EventRequestStatusUpdateRequestParams;
+
+/**
+ * Без {@code @Transactional} на классе: каждая заявка фиксируется в собственной транзакции,
+ * как при параллельных HTTP-запросах.
+ */
+@SpringBootTest
+@Testcontainers
+@DisplayName("Соблюдение лимита участников при параллельных заявках")
+class RequestServiceConcurrencyIntegrationTest {
+
+    private static final int REQUESTERS = 500;
+    private static final int PARTICIPANT_LIMIT = 50;
+
+    @Container
+    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:16.1");
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private User initiator;
+    private List<User> requesters;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAllInBatch();
+        requestRepository.deleteAllInBatch();
+        eventRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+
+        initiator = userRepository.save(User.builder().name("Initiator").email("initiator@load.com").build());
+        category = categoryRepository.save(Category.builder().name("Load").build());
+        requesters = userRepository.saveAll(IntStream.range(0, REQUESTERS)
+            .mapToObj(i -> User.builder().name("User " + i).email("user" + i + "@load.com").build())
+            .toList());
+    }
+
+    private Event saveEvent(boolean requestModeration) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        return eventRepository.save(Event.builder().title("Hot event").annotation("A").description("D")
+            .category(category).initiator(initiator)
+            .location(Location.builder().lat(10f).lon(10f).build())
+            .eventDate(now.plusDays(1)).state(EventState.PUBLISHED).createdOn(now).publishedOn(now)
+            .participantLimit(PARTICIPANT_LIMIT).requestModeration(requestModeration).build());
+    }
+
+    /**
+     * Запускает задачи одновременно по общему сигналу и возвращает число отказов из-за лимита.
+     */
+    private int runConcurrently(List<Callable<?>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger limitViolations = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Callable<?> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        return task.call();
+                    } catch (BusinessRuleViolationException e) {
+                        limitViolations.incrementAndGet();
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return limitViolations.get();
+    }
+
+    @Test
+    @DisplayName("500 параллельных заявок без модерации не превышают лимит участников")
+    void createRequest_withParallelRequesters_shouldNotOverbook() throws Exception {
+        Event event = saveEvent(false);
+        List<Callable<?>> tasks = requesters.stream()
+            .<Callable<?>>map(user -> () -> requestService.createRequest(user.getId(), event.getId()))
+            .toList();
+
+        int rejected = runConcurrently(tasks);
+
+        assertEquals(REQUESTERS - PARTICIPANT_LIMIT, rejected);
+        assertEquals(PARTICIPANT_LIMIT, requestRepository.findByEvent_IdAndStatus(event.getId(),
+            RequestStatus.CONFIRMED).size());
+        assertEquals(PARTICIPANT_LIMIT, requestRepository.findByEvent_Id(event.getId()).size(),
+            "Отклонённые заявки должны откатываться вместе с резервированием");
+        assertEquals(PARTICIPANT_LIMIT, eventRepository.findById(event.getId()).orElseThrow()
+            .getConfirmedRequestsCount());
+    }
+
+    @Test
+    @DisplayName("Параллельные подтверждения заявок инициатором не превышают лимит участников")
+    void updateRequestsStatus_withParallelConfirmations_shouldNotOverbook() throws Exception {
+        Event event = saveEvent(true);
+        List<ParticipationRequest> pending = requestRepository.saveAll(requesters.stream()
+            .map(user -> ParticipationRequest.builder().requester(user).event(event)
+                .status(RequestStatus.PENDING).build())
+            .toList());
+        List<Long> confirmed = new CopyOnWriteArrayList<>();
+        List<Callable<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < pending.size(); i += 5) {
+            List<Long> batch = pending.subList(i, i + 5).stream().map(ParticipationRequest::getId).toList();
+            tasks.add(() -> {
+                EventRequestStatusUpdateResultDto result = requestService.updateRequestsStatus(
+                    EventRequestStatusUpdateRequestParams.builder().userId(initiator.getId()).eventId(event.getId())
+                        .requestIds(batch).status(RequestStatus.CONFIRMED).build());
+                result.getConfirmedRequests().forEach(request -> confirmed.add(request.getId()));
+                return result;
+            });
+        }
+
+        runConcurrently(tasks);
+
+        assertEquals(PARTICIPANT_LIMIT, confirmed.size());
+        assertEquals(PARTICIPANT_LIMIT, requestRepository.findByEvent_IdAndStatus(event.getId(),
+            RequestStatus.CONFIRMED).size());
+        assertEquals(PARTICIPANT_LIMIT, eventRepository.findById(event.getId()).orElseThrow()
+            .getConfirmedRequestsCount());
+        assertTrue(requestRepository.findByEvent_IdAndStatus(event.getId(), RequestStatus.PENDING).isEmpty(),
+            "После исчерпания лимита ожидающие заявки должны отклоняться");
+    }
+
+    @Test
+    @DisplayName("Подтверждение сверх остатка мест отклоняет лишние и все ожидающие заявки пакетно")
+    void updateRequestsStatus_whenLimitExhausted_shouldRejectOverflowAndPending() {
+        Event event = saveEvent(true);
+        List<ParticipationRequest> pending = requestRepository.saveAll(requesters.stream()
+            .limit(PARTICIPANT_LIMIT + 10)
+            .map(user -> ParticipationRequest.builder().requester(user).event(event)
+                .status(RequestStatus.PENDING).build())
+            .toList());
+        List<Long> requestIds = pending.subList(0, PARTICIPANT_LIMIT + 2).stream()
+            .map(ParticipationRequest::getId).toList();
+
+        EventRequestStatusUpdateResultDto result = requestService.updateRequestsStatus(
+            EventRequestStatusUpdateRequestParams.builder().userId(initiator.getId()).eventId(event.getId())
+                .requestIds(requestIds).status(RequestStatus.CONFIRMED).build());
+
+        assertEquals(requestIds.subList(0, PARTICIPANT_LIMIT), result.getConfirmedRequests().stream()
+            .map(ParticipationRequestDto::getId).toList());
+        assertEquals(10, result.getRejectedRequests().size());
+        assertTrue(result.getRejectedRequests().stream()
+            .allMatch(request -> request.getStatus() == RequestStatus.REJECTED && request.getCreated() != null
+                && event.getId().equals(request.getEventId())));
+        assertEquals(PARTICIPANT_LIMIT, eventRepository.findById(event.getId()).orElseThrow()
+            .getConfirmedRequestsCount());
+        assertTrue(requestRepository.findByEvent_IdAndStatus(event.getId(), RequestStatus.PENDING).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Параллельные отмены подтверждённой заявки уменьшают счётчик участников один раз")
+    void cancelRequest_withParallelCancels_shouldDecrementOnce() throws Exception {
+        Event event = saveEvent(false);
+        User requester = requesters.getFirst();
+        ParticipationRequestDto request = requestService.createRequest(requester.getId(), event.getId());
+        assertEquals(1, eventRepository.findById(event.getId()).orElseThrow().getConfirmedRequestsCount());
+        List<Callable<?>> tasks = IntStream.range(0, 20)
+            .<Callable<?>>mapToObj(i -> () -> requestService.cancelRequest(requester.getId(), request.getId()))
+            .toList();
+
+        runConcurrently(tasks);
+
+        assertEquals(RequestStatus.CANCELED, requestRepository.findById(request.getId()).orElseThrow().getStatus());
+        assertEquals(0, eventRepository.findById(event.getId()).orElseThrow().getConfirmedRequestsCount());
+    }
+}
@@ -19,6 +19,7 @@ import ru.practicum.explorewithme.main.model.User;
 import ru.practicum.explorewithme.main.repository.UserRepository;
 
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.explorewithme.main.service.pagination.KeysetPage;
 import ru.practicum.explorewithme.main.service.params.GetListUsersParameters;
 
 import java.util.Arrays;
@@ -212,6 +213,40 @@ class UserServiceIntegrationTest {
             assertEquals(5, allUserIds.stream().distinct().count());
         }
 
+        @Test
+        @DisplayName("Выдача по ключу должна пройти всех пользователей по возрастанию id без пропусков и повторов")
+        void getUsersByCursor_ReturnsAllUsersInIdOrder() {
+            List<Long> createdIds = IntStream.range(0, 5)
+                    .mapToObj(i -> {
+                        NewUserRequestDto request = new NewUserRequestDto();
+                        request.setName("User " + i);
+                        request.setEmail("cursor" + i + "@example.com");
+                        return userService.createUser(request).getId();
+                    })
+                    .collect(Collectors.toList());
+            GetListUsersParameters parameters = new GetListUsersParameters(null, 0, 2);
+
+            List<Long> pagedIds = new java.util.ArrayList<>();
+            List<Integer> pageSizes = new java.util.ArrayList<>();
+            String cursor = "";
+            do {
+                KeysetPage<UserDto> page = userService.getUsersByCursor(parameters, cursor);
+                page.items().forEach(user -> pagedIds.add(user.getId()));
+                pageSizes.add(page.items().size());
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            assertEquals(createdIds, pagedIds);
+            assertEquals(List.of(2, 2, 1), pageSizes);
+
+            KeysetPage<UserDto> filtered = userService.getUsersByCursor(
+                    new GetListUsersParameters(List.of(createdIds.get(4), createdIds.get(1)), 0, 1), null);
+            assertEquals(List.of(createdIds.get(1)), filtered.items().stream().map(UserDto::getId).toList());
+            assertEquals(List.of(createdIds.get(4)), userService.getUsersByCursor(
+                    new GetListUsersParameters(List.of(createdIds.get(4), createdIds.get(1)), 0, 1),
+                    filtered.nextCursor()).items().stream().map(UserDto::getId).toList());
+        }
+
         @Test
         @DisplayName("Получение пустого списка при отсутствии пользователей")
         void getUsers_EmptyRepository_ReturnsEmptyList() {
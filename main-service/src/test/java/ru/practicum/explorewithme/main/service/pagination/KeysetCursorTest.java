@@ -0,0 +1,57 @@
+package ru.practicum.explorewithme.main.service.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+@DisplayName("Тесты для KeysetCursor")
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Должен восстанавливать из токена ключ последнего элемента страницы")
+    void decode_shouldRestoreEncodedKeys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("eventDate", LocalDateTime.of(2030, 1, 2, 3, 4, 5, 123456000));
+        keys.put("id", 42L);
+
+        String token = KeysetCursor.encode("EVENT_DATE", ScrollPosition.forward(keys));
+        KeysetScrollPosition position = KeysetCursor.decode(token, "EVENT_DATE");
+
+        assertThat(position.getKeys()).containsExactlyEntriesOf(keys);
+        assertThat(position.scrollsForward()).isTrue();
+        assertThat(token).doesNotContain("eventDate");
+    }
+
+    @Test
+    @DisplayName("Должен считать отсутствующий или пустой токен началом выдачи")
+    void decode_whenTokenIsEmpty_shouldReturnInitialPosition() {
+        assertThat(KeysetCursor.decode(null, "ID").isInitial()).isTrue();
+        assertThat(KeysetCursor.decode("", "ID").isInitial()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Должен отклонять токен, выданный для другого порядка сортировки")
+    void decode_whenOrderDiffers_shouldThrowIllegalArgumentException() {
+        String token = KeysetCursor.encode("VIEWS", ScrollPosition.forward(Map.of("views", 10L, "id", 1L)));
+
+        assertThatThrownBy(() -> KeysetCursor.decode(token, "EVENT_DATE"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("EVENT_DATE");
+    }
+
+    @Test
+    @DisplayName("Должен отклонять повреждённый токен")
+    void decode_whenTokenIsMalformed_shouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor!", "ID"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("SUQ7aWQ9WDE", "ID"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
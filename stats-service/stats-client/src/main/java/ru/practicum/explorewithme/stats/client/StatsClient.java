@@ -1,6 +1,7 @@
 package ru.practicum.explorewithme.stats.client;
 
 import ru.practicum.explorewithme.stats.dto.EndpointHitDto;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
 import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
 
 import java.time.LocalDateTime;
@@ -9,5 +10,21 @@ import java.util.List;
 public interface StatsClient {
     void saveHit(EndpointHitDto endpointHitDto);
 
-    List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique);
+    void saveHits(List<EndpointHitDto> endpointHitDtos);
+
+    default List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        return getStats(start, end, uris, unique, false);
+    }
+
+    /**
+     * Запрос статистики; при {@code approximate = true} уникальные посещения оцениваются сервером
+     * по HyperLogLog-скетчам с погрешностью около 1-2% вместо точного подсчёта.
+     */
+    List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique,
+                                boolean approximate);
+
+    /**
+     * Запрос прироста уникальных просмотров по URI после позиции {@code cursor} ленты изменений.
+     */
+    ViewChangesDto getViewChanges(long cursor);
 }
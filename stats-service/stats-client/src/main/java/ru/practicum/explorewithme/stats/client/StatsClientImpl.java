@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 import ru.practicum.explorewithme.stats.dto.EndpointHitDto;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
 import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
 
 @Service
@@ -60,8 +61,22 @@ public class StatsClientImpl implements StatsClient {
     }
 
     @Override
-    public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
-        log.debug("Запрос статистики: start={}, end={}, uris={}, unique={}", start, end, uris, unique);
+    public void saveHits(List<EndpointHitDto> endpointHitDtos) {
+        log.debug("Пакетная отправка данных статистики: {} хитов", endpointHitDtos.size());
+        restClient.post()
+                .uri("/hits")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(endpointHitDtos)
+                .retrieve()
+                .toBodilessEntity();
+        log.debug("Пакет статистики успешно сохранен");
+    }
+
+    @Override
+    public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique,
+                                       boolean approximate) {
+        log.debug("Запрос статистики: start={}, end={}, uris={}, unique={}, approximate={}",
+                start, end, uris, unique, approximate);
         List<ViewStatsDto> stats = restClient.get()
                 .uri(uriBuilder -> {
                     uriBuilder.path("/stats")
@@ -80,6 +95,10 @@ public class StatsClientImpl implements StatsClient {
                         uriBuilder.queryParam("unique", unique);
                     }
 
+                    if (approximate) {
+                        uriBuilder.queryParam("approximate", true);
+                    }
+
                     return uriBuilder.build();
                 })
                 .retrieve()
@@ -89,5 +108,19 @@ public class StatsClientImpl implements StatsClient {
         return stats;
     }
 
+    @Override
+    public ViewChangesDto getViewChanges(long cursor) {
+        log.debug("Запрос изменений просмотров после позиции {}", cursor);
+        ViewChangesDto changes = restClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/views/changes")
+                        .queryParam("cursor", cursor)
+                        .build())
+                .retrieve()
+                .body(ViewChangesDto.class);
+
+        log.debug("Получены изменения просмотров: {}", changes);
+        return changes;
+    }
+
 
 }
\ No newline at end of file
@@ -27,6 +27,7 @@ import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.explorewithme.stats.dto.EndpointHitDto;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
 import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
 
 @DisplayName("Тесты для StatsClientImpl")
@@ -164,6 +165,55 @@ class StatsClientTest {
         }
     }
 
+    @Nested
+    @DisplayName("Тесты метода saveHits")
+    class SaveHitsTests {
+        @Test
+        @DisplayName("Пакет хитов отправляется одним запросом на /hits")
+        void saveHits_sendsArrayInSingleRequest() {
+            LocalDateTime timestamp = LocalDateTime.now();
+            List<EndpointHitDto> hits = List.of(
+                    new EndpointHitDto("service", "/events/1", "192.168.0.1", timestamp),
+                    new EndpointHitDto("service", "/events/2", "192.168.0.2", timestamp)
+            );
+
+            mockServer.expect(requestTo(baseUrl + "/hits"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].uri").value("/events/1"))
+                    .andExpect(jsonPath("$[1].ip").value("192.168.0.2"))
+                    .andRespond(withStatus(HttpStatus.CREATED));
+
+            assertDoesNotThrow(
+                    () -> statsClient.saveHits(hits),
+                    "Метод saveHits должен успешно выполниться без исключений"
+            );
+
+            mockServer.verify();
+        }
+
+        @Test
+        @DisplayName("Обработка ошибки сервера при пакетном сохранении")
+        void saveHits_throwsExceptionWhenFails() {
+            List<EndpointHitDto> hits = List.of(
+                    new EndpointHitDto("service", "/events/1", "192.168.0.1", LocalDateTime.now())
+            );
+
+            mockServer.expect(requestTo(baseUrl + "/hits"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withServerError());
+
+            assertThrows(
+                    RestClientException.class,
+                    () -> statsClient.saveHits(hits),
+                    "Должно быть выброшено исключение при ошибке сервера"
+            );
+
+            mockServer.verify();
+        }
+    }
+
     @Nested
     @DisplayName("Тесты метода getStats")
     class GetStatsTests {
@@ -229,6 +279,31 @@ class StatsClientTest {
             mockServer.verify();
         }
 
+        @Test
+        @DisplayName("Приближённый подсчёт передаётся параметром approximate")
+        void getStats_withApproximate_addsQueryParam() {
+            LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+            LocalDateTime end = LocalDateTime.of(2023, 12, 31, 23, 59, 59);
+
+            String url = baseUrl + "/stats" +
+                    "?start=2023-01-01%2000:00:00" +
+                    "&end=2023-12-31%2023:59:59" +
+                    "&uris=/event/1" +
+                    "&unique=true" +
+                    "&approximate=true";
+
+            mockServer.expect(requestTo(url))
+                    .andExpect(method(HttpMethod.GET))
+                    .andRespond(withSuccess("[{\"app\":\"app1\",\"uri\":\"/event/1\",\"hits\":1000}]",
+                            MediaType.APPLICATION_JSON));
+
+            List<ViewStatsDto> result = statsClient.getStats(start, end, List.of("/event/1"), true, true);
+
+            assertThat(result).hasSize(1);
+            assertThat(result.getFirst().getHits()).isEqualTo(1000L);
+            mockServer.verify();
+        }
+
         @Test
         @DisplayName("Получение статистики с пустым списком URI")
         void getStats_withEmptyUris() {
@@ -442,4 +517,25 @@ class StatsClientTest {
             mockServer.verify();
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Тесты метода getViewChanges")
+    class GetViewChangesTests {
+        @Test
+        @DisplayName("Успешное получение изменений просмотров по курсору")
+        void getViewChanges_successful() {
+            String expectedResponseJson = "{\"nextCursor\":1024," +
+                    "\"deltas\":[{\"app\":\"app1\",\"uri\":\"/events/1\",\"hits\":3}]}";
+
+            mockServer.expect(requestTo(baseUrl + "/views/changes?cursor=512"))
+                    .andExpect(method(HttpMethod.GET))
+                    .andRespond(withSuccess(expectedResponseJson, MediaType.APPLICATION_JSON));
+
+            ViewChangesDto result = statsClient.getViewChanges(512L);
+
+            assertThat(result.getNextCursor()).isEqualTo(1024L);
+            assertThat(result.getDeltas()).containsExactly(new ViewStatsDto("app1", "/events/1", 3L));
+            mockServer.verify();
+        }
+    }
+}
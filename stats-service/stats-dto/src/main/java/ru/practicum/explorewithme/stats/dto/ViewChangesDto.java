@@ -0,0 +1,26 @@
+package ru.practicum.explorewithme.stats.dto;
+
+import java.util.List;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Порция ленты изменений уникальных просмотров: прирост уникальных посещений по URI
+ * с момента {@code cursor} предыдущего запроса.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ViewChangesDto {
+    /**
+     * Позиция ленты, с которой нужно запросить следующую порцию.
+     */
+    Long nextCursor;
+
+    /**
+     * Прирост уникальных посещений; в поле {@code hits} указано количество новых уникальных IP.
+     */
+    List<ViewStatsDto> deltas;
+}
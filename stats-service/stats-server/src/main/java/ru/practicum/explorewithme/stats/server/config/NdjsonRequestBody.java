@@ -0,0 +1,17 @@
+package ru.practicum.explorewithme.stats.server.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Параметр-список, читаемый из тела запроса в формате NDJSON (один JSON-объект на строку)
+ * через {@link NdjsonRequestBodyArgumentResolver}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface NdjsonRequestBody {
+}
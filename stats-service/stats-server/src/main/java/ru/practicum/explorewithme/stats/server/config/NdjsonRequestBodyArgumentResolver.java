@@ -0,0 +1,48 @@
+package ru.practicum.explorewithme.stats.server.config;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.List;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Читает тело запроса в формате NDJSON в список DTO, тип элементов берётся из объявления параметра.
+ * Объекты разбираются по одному по мере чтения потока, без промежуточного JSON-массива.
+ */
+public class NdjsonRequestBodyArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final ObjectMapper objectMapper;
+
+    public NdjsonRequestBodyArgumentResolver(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(NdjsonRequestBody.class)
+            && List.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public List<?> resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                   NativeWebRequest webRequest, WebDataBinderFactory binderFactory)
+        throws IOException {
+        Class<?> elementType = ResolvableType.forMethodParameter(parameter).asCollection().resolveGeneric(0);
+        ServletServerHttpRequest inputMessage =
+            new ServletServerHttpRequest(webRequest.getNativeRequest(HttpServletRequest.class));
+        try (MappingIterator<?> iterator = objectMapper.readerFor(elementType).readValues(inputMessage.getBody())) {
+            return iterator.readAll();
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Malformed NDJSON body: " + e.getMessage(), e, inputMessage);
+        }
+    }
+}
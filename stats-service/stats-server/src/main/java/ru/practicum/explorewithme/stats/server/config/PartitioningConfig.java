@@ -0,0 +1,12 @@
+package ru.practicum.explorewithme.stats.server.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(PartitioningProperties.class)
+@SuppressWarnings("unused")
+public class PartitioningConfig {
+}
@@ -0,0 +1,73 @@
+package ru.practicum.explorewithme.stats.server.config;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки партиционирования таблицы {@code endpoint_hits} по времени и хранения сырых хитов.
+ */
+@ConfigurationProperties(prefix = "stats.partitioning")
+@Getter
+@Setter
+public class PartitioningProperties {
+
+    /**
+     * Включает создание и удаление партиций по расписанию.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Период, который покрывает одна партиция.
+     */
+    private Granularity granularity = Granularity.DAY;
+
+    /**
+     * Количество будущих периодов, для которых партиции создаются заранее.
+     */
+    private int premake = 7;
+
+    /**
+     * Срок хранения сырых хитов в днях; 0 отключает удаление старых партиций.
+     */
+    private int retentionDays = 0;
+
+    /**
+     * Расписание обслуживания партиций в формате cron.
+     */
+    private String maintenanceCron = "0 15 0 * * *";
+
+    /**
+     * @return момент, до которого сырые хиты и почасовые наборы IP удаляются по сроку хранения,
+     * или {@code null}, если они не удаляются.
+     */
+    public LocalDateTime retentionCutoff(LocalDateTime now) {
+        return enabled && retentionDays > 0 ? now.minusDays(retentionDays) : null;
+    }
+
+    /**
+     * Периоды партиций.
+     */
+    public enum Granularity {
+        /**
+         * Одна партиция на сутки
+         */
+        DAY,
+
+        /**
+         * Одна партиция на календарный месяц
+         */
+        MONTH;
+
+        public LocalDateTime truncate(LocalDateTime dateTime) {
+            LocalDateTime day = dateTime.truncatedTo(ChronoUnit.DAYS);
+            return this == DAY ? day : day.withDayOfMonth(1);
+        }
+
+        public LocalDateTime next(LocalDateTime periodStart) {
+            return this == DAY ? periodStart.plusDays(1) : periodStart.plusMonths(1);
+        }
+    }
+}
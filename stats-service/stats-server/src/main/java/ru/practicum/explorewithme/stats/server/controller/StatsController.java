@@ -3,12 +3,14 @@ package ru.practicum.explorewithme.stats.server.controller;
 import static ru.practicum.explorewithme.common.constants.DateTimeConstants.DATE_TIME_FORMAT_PATTERN;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -17,7 +19,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.explorewithme.stats.dto.EndpointHitDto;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
 import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
+import ru.practicum.explorewithme.stats.server.config.NdjsonRequestBody;
 import ru.practicum.explorewithme.stats.server.service.StatsService;
 
 @RestController
@@ -42,6 +46,31 @@ public class StatsController {
         statsService.saveHit(endpointHitDto);
     }
 
+    /**
+     * Пакетное сохранение информации о запросах к эндпоинтам, переданной JSON-массивом.
+     * Все хиты сохраняются в одной транзакции; при ошибке валидации любого из них не сохраняется ни один.
+     *
+     * @param endpointHitDtos данные запросов
+     */
+    @PostMapping(value = "/hits", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public void saveHits(@RequestBody @NotEmpty List<@Valid EndpointHitDto> endpointHitDtos) {
+        log.info("Controller: request to save {} hits received.", endpointHitDtos.size());
+        statsService.saveHits(endpointHitDtos);
+    }
+
+    /**
+     * То же, что {@link #saveHits}, для тела в формате NDJSON (application/x-ndjson, один хит на строку).
+     *
+     * @param endpointHitDtos данные запросов
+     */
+    @PostMapping(value = "/hits", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public void saveHitsNdjson(@NdjsonRequestBody @NotEmpty List<@Valid EndpointHitDto> endpointHitDtos) {
+        log.info("Controller: request to save {} NDJSON hits received.", endpointHitDtos.size());
+        statsService.saveHits(endpointHitDtos);
+    }
+
     /**
      * Получение статистики по посещениям.
      *
@@ -49,6 +78,9 @@ public class StatsController {
      * @param end    Дата и время конца диапазона (в формате "yyyy-MM-dd HH:mm:ss")
      * @param uris   Список uri для которых нужно выгрузить статистику (опционально)
      * @param unique Нужно ли учитывать только уникальные посещения (опционально, default: false)
+     * @param approximate Можно ли оценить уникальные посещения по HyperLogLog-скетчам вместо точного подсчёта
+     *                    (опционально, default: false). За часы старше срока хранения сырых хитов уникальные
+     *                    посещения всегда оцениваются по скетчам
      * @return Список ViewStatsDto со статистикой
      */
     @GetMapping("/stats")
@@ -63,12 +95,26 @@ public class StatsController {
         LocalDateTime end,
 
         @RequestParam(name = "uris", required = false) List<String> uris,
-        @RequestParam(name = "unique", defaultValue = "false") Boolean unique) {
+        @RequestParam(name = "unique", defaultValue = "false") Boolean unique,
+        @RequestParam(name = "approximate", defaultValue = "false") Boolean approximate) {
 
         log.info("Controller: request to retrieve stats received.");
-        log.debug("Request params: start={}, end={}, uris={}, unique={}",
-            start, end, uris, unique);
+        log.debug("Request params: start={}, end={}, uris={}, unique={}, approximate={}",
+            start, end, uris, unique, approximate);
+
+        return statsService.getStats(start, end, uris, unique, approximate);
+    }
 
-        return statsService.getStats(start, end, uris, unique);
+    /**
+     * Лента изменений уникальных просмотров для поддержания локальных счётчиков у потребителей.
+     *
+     * @param cursor позиция из предыдущего ответа (опционально, default: 0 — чтение ленты с начала)
+     * @return прирост уникальных посещений по URI и позиция для следующего запроса
+     */
+    @GetMapping("/views/changes")
+    @ResponseStatus(HttpStatus.OK)
+    public ViewChangesDto getViewChanges(@RequestParam(name = "cursor", defaultValue = "0") Long cursor) {
+        log.info("Controller: request to retrieve view changes after cursor {} received.", cursor);
+        return statsService.getViewChanges(cursor);
     }
 }
\ No newline at end of file
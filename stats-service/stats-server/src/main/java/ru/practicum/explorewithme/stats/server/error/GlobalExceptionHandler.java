@@ -5,11 +5,13 @@ import java.util.List;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import ru.practicum.explorewithme.common.error.ApiError;
 
 @RestControllerAdvice
@@ -36,6 +38,36 @@ public class GlobalExceptionHandler {
             .build();
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiError handleHandlerMethodValidationException(final HandlerMethodValidationException e) {
+        List<String> errors = e.getAllErrors()
+            .stream()
+            .map(error -> error.getDefaultMessage() == null ? error.toString() : error.getDefaultMessage())
+            .collect(Collectors.toList());
+        String errorMessage = "Validation error(s): " + String.join("; ", errors);
+        log.warn(errorMessage, e);
+        return ApiError.builder()
+            .errors(errors)
+            .status(HttpStatus.BAD_REQUEST)
+            .reason("Incorrectly made request due to validation errors.")
+            .message(errorMessage)
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiError handleHttpMessageNotReadableException(final HttpMessageNotReadableException e) {
+        log.warn("Malformed request body: {}", e.getMessage());
+        return ApiError.builder()
+            .status(HttpStatus.BAD_REQUEST)
+            .reason("Malformed request body.")
+            .message("The request body is malformed or unreadable: " + e.getMessage())
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+
     @ExceptionHandler(MissingServletRequestParameterException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiError handleMissingServletRequestParameter(final MissingServletRequestParameterException e) {
@@ -5,6 +5,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -16,7 +18,10 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
-@Table(name = "endpoint_hits")
+@Table(name = "endpoint_hits", indexes = {
+    @Index(name = "idx_endpoint_hits_uri_timestamp", columnList = "uri, timestamp"),
+    @Index(name = "idx_endpoint_hits_timestamp", columnList = "timestamp")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,7 +31,8 @@ import lombok.ToString;
 public class EndpointHit {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "endpoint_hits_seq")
+    @SequenceGenerator(name = "endpoint_hits_seq", sequenceName = "endpoint_hits_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "app", nullable = false, length = 32)
@@ -0,0 +1,15 @@
+package ru.practicum.explorewithme.stats.server.repository;
+
+import java.util.List;
+import ru.practicum.explorewithme.stats.server.model.EndpointHit;
+
+public interface StatsBatchRepository {
+
+    /**
+     * Сохраняет хиты пакетными JDBC-вставками в рамках текущей транзакции.
+     *
+     * @param hits список хитов для сохранения.
+     */
+    void insertAll(List<EndpointHit> hits);
+
+}
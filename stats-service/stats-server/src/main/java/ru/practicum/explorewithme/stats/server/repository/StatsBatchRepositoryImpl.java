@@ -0,0 +1,37 @@
+package ru.practicum.explorewithme.stats.server.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.explorewithme.stats.server.model.EndpointHit;
+
+@RequiredArgsConstructor
+@Slf4j
+public class StatsBatchRepositoryImpl implements StatsBatchRepository {
+
+    private static final String INSERT_HIT_SQL =
+        "INSERT INTO endpoint_hits (app, uri, ip, \"timestamp\") VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${stats.ingest.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    @Override
+    public void insertAll(List<EndpointHit> hits) {
+        if (hits.isEmpty()) {
+            return;
+        }
+        // Вставка в обход Hibernate: хиты не нужны в контексте персистентности, идентификатор берётся из DEFAULT столбца
+        jdbcTemplate.batchUpdate(INSERT_HIT_SQL, hits, jdbcBatchSize, (ps, hit) -> {
+            ps.setString(1, hit.getApp());
+            ps.setString(2, hit.getUri());
+            ps.setString(3, hit.getIp());
+            ps.setTimestamp(4, Timestamp.valueOf(hit.getTimestamp()));
+        });
+        log.debug("Repository: Inserted {} hits in batches of {}", hits.size(), jdbcBatchSize);
+    }
+}
@@ -12,15 +12,28 @@ import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface StatsRepository extends JpaRepository<EndpointHit, Long> {
+public interface StatsRepository extends JpaRepository<EndpointHit, Long>, StatsBatchRepository,
+    StatsRollupRepository, StatsSketchRepository, StatsViewFeedRepository {
+
+    // Запросы без фильтра по URI и с фильтром разделены: условие вида (:uris IS NULL OR eh.uri IN :uris)
+    // не позволяет планировщику использовать индекс (uri, timestamp)
 
     @Query("SELECT new ru.practicum.explorewithme.stats.dto.ViewStatsDto(eh.app, eh.uri, COUNT(eh.ip)) " +
         "FROM EndpointHit eh " +
         "WHERE eh.timestamp BETWEEN :start AND :end " +
-        "AND (:uris IS NULL OR eh.uri IN :uris) " +
         "GROUP BY eh.app, eh.uri " +
         "ORDER BY COUNT(eh.ip) DESC")
     List<ViewStatsDto> findStats(
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end);
+
+    @Query("SELECT new ru.practicum.explorewithme.stats.dto.ViewStatsDto(eh.app, eh.uri, COUNT(eh.ip)) " +
+        "FROM EndpointHit eh " +
+        "WHERE eh.uri IN :uris " +
+        "AND eh.timestamp BETWEEN :start AND :end " +
+        "GROUP BY eh.app, eh.uri " +
+        "ORDER BY COUNT(eh.ip) DESC")
+    List<ViewStatsDto> findStatsByUris(
         @Param("start") LocalDateTime start,
         @Param("end") LocalDateTime end,
         @Param("uris") Collection<String> uris);
@@ -28,10 +41,19 @@ public interface StatsRepository extends JpaRepository<EndpointHit, Long> {
     @Query("SELECT new ru.practicum.explorewithme.stats.dto.ViewStatsDto(eh.app, eh.uri, COUNT(DISTINCT eh.ip)) " +
         "FROM EndpointHit eh " +
         "WHERE eh.timestamp BETWEEN :start AND :end " +
-        "AND (:uris IS NULL OR eh.uri IN :uris) " +
         "GROUP BY eh.app, eh.uri " +
         "ORDER BY COUNT(DISTINCT eh.ip) DESC")
     List<ViewStatsDto> findUniqueStats(
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end);
+
+    @Query("SELECT new ru.practicum.explorewithme.stats.dto.ViewStatsDto(eh.app, eh.uri, COUNT(DISTINCT eh.ip)) " +
+        "FROM EndpointHit eh " +
+        "WHERE eh.uri IN :uris " +
+        "AND eh.timestamp BETWEEN :start AND :end " +
+        "GROUP BY eh.app, eh.uri " +
+        "ORDER BY COUNT(DISTINCT eh.ip) DESC")
+    List<ViewStatsDto> findUniqueStatsByUris(
         @Param("start") LocalDateTime start,
         @Param("end") LocalDateTime end,
         @Param("uris") Collection<String> uris);
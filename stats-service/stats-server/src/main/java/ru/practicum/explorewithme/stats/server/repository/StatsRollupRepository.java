@@ -0,0 +1,54 @@
+package ru.practicum.explorewithme.stats.server.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
+import ru.practicum.explorewithme.stats.server.model.EndpointHit;
+
+/**
+ * Почасовые агрегаты хитов: количество хитов и множество IP на каждую тройку (app, uri, час).
+ * Агрегаты обновляются при сохранении хитов, поэтому статистика за длинные периоды
+ * не требует сканирования всех сырых записей.
+ */
+public interface StatsRollupRepository {
+
+    /**
+     * Учитывает хиты в почасовых агрегатах. Вызывается в той же транзакции, что и сохранение самих хитов.
+     *
+     * @param hits сохраняемые хиты.
+     */
+    void addToRollups(List<EndpointHit> hits);
+
+    /**
+     * Статистика по общему количеству хитов: полные часы {@code [rollupFrom, rollupTo)} берутся из агрегатов,
+     * неполные хвосты {@code [start, rollupFrom)} и {@code [rollupTo, end]} — из сырых записей.
+     *
+     * @param start      начало диапазона.
+     * @param end        конец диапазона (включительно).
+     * @param rollupFrom начало первого полного часа внутри диапазона.
+     * @param rollupTo   начало последнего неполного часа диапазона.
+     * @param uris       список URI или null для всех URI.
+     * @return статистика, отсортированная по убыванию количества хитов.
+     */
+    List<ViewStatsDto> findStatsWithRollups(LocalDateTime start, LocalDateTime end,
+                                            LocalDateTime rollupFrom, LocalDateTime rollupTo,
+                                            Collection<String> uris);
+
+    /**
+     * Статистика по уникальным IP с тем же разбиением диапазона, что и в
+     * {@link #findStatsWithRollups(LocalDateTime, LocalDateTime, LocalDateTime, LocalDateTime, Collection)}.
+     * Множества IP объединяются, поэтому результат совпадает с подсчётом по сырым записям.
+     *
+     * @param start      начало диапазона.
+     * @param end        конец диапазона (включительно).
+     * @param rollupFrom начало первого полного часа внутри диапазона.
+     * @param rollupTo   начало последнего неполного часа диапазона.
+     * @param uris       список URI или null для всех URI.
+     * @return статистика, отсортированная по убыванию количества уникальных IP.
+     */
+    List<ViewStatsDto> findUniqueStatsWithRollups(LocalDateTime start, LocalDateTime end,
+                                                  LocalDateTime rollupFrom, LocalDateTime rollupTo,
+                                                  Collection<String> uris);
+
+}
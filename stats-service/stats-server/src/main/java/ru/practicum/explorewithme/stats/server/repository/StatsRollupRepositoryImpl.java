@@ -0,0 +1,130 @@
+package ru.practicum.explorewithme.stats.server.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
+import ru.practicum.explorewithme.stats.server.model.EndpointHit;
+
+@RequiredArgsConstructor
+@Slf4j
+public class StatsRollupRepositoryImpl implements StatsRollupRepository {
+
+    private static final String UPSERT_HOURLY_SQL =
+        "INSERT INTO endpoint_hits_hourly (app, uri, bucket_start, hits) VALUES (:app, :uri, :bucketStart, :hits) " +
+        "ON CONFLICT (app, uri, bucket_start) DO UPDATE SET hits = endpoint_hits_hourly.hits + EXCLUDED.hits";
+
+    private static final String INSERT_HOURLY_IP_SQL =
+        "INSERT INTO endpoint_hits_hourly_ips (app, uri, bucket_start, ip) VALUES (:app, :uri, :bucketStart, :ip) " +
+        "ON CONFLICT DO NOTHING";
+
+    static final String RAW_TAIL_CONDITION =
+        "((eh.\"timestamp\" >= :start AND eh.\"timestamp\" < :rollupFrom) " +
+        "OR (eh.\"timestamp\" >= :rollupTo AND eh.\"timestamp\" <= :end))";
+
+    private static final String FIND_STATS_SQL =
+        "SELECT t.app, t.uri, SUM(t.hits) AS hits FROM (" +
+        "SELECT r.app, r.uri, r.hits FROM endpoint_hits_hourly r " +
+        "WHERE r.bucket_start >= :rollupFrom AND r.bucket_start < :rollupTo %1$s " +
+        "UNION ALL " +
+        "SELECT eh.app, eh.uri, COUNT(eh.ip) FROM endpoint_hits eh " +
+        "WHERE " + RAW_TAIL_CONDITION + " %2$s " +
+        "GROUP BY eh.app, eh.uri" +
+        ") t GROUP BY t.app, t.uri ORDER BY hits DESC";
+
+    private static final String FIND_UNIQUE_STATS_SQL =
+        "SELECT t.app, t.uri, COUNT(DISTINCT t.ip) AS hits FROM (" +
+        "SELECT r.app, r.uri, r.ip FROM endpoint_hits_hourly_ips r " +
+        "WHERE r.bucket_start >= :rollupFrom AND r.bucket_start < :rollupTo %1$s " +
+        "UNION ALL " +
+        "SELECT eh.app, eh.uri, eh.ip FROM endpoint_hits eh " +
+        "WHERE " + RAW_TAIL_CONDITION + " %2$s" +
+        ") t GROUP BY t.app, t.uri ORDER BY hits DESC";
+
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator.comparing(RollupKey::app)
+        .thenComparing(RollupKey::uri)
+        .thenComparing(RollupKey::bucketStart);
+
+    private static final RowMapper<ViewStatsDto> VIEW_STATS_ROW_MAPPER = (rs, rowNum) -> new ViewStatsDto(
+        rs.getString("app"), rs.getString("uri"), rs.getLong("hits"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addToRollups(List<EndpointHit> hits) {
+        if (hits.isEmpty()) {
+            return;
+        }
+        // Ключи упорядочены, чтобы параллельные транзакции блокировали строки агрегатов в одном порядке
+        Map<RollupKey, Long> hitCounts = new TreeMap<>(KEY_ORDER);
+        Map<RollupKey, Set<String>> ips = new TreeMap<>(KEY_ORDER);
+        for (EndpointHit hit : hits) {
+            RollupKey key = new RollupKey(hit.getApp(), hit.getUri(), hit.getTimestamp().truncatedTo(ChronoUnit.HOURS));
+            hitCounts.merge(key, 1L, Long::sum);
+            ips.computeIfAbsent(key, k -> new TreeSet<>()).add(hit.getIp());
+        }
+
+        List<MapSqlParameterSource> hourlyParams = new ArrayList<>(hitCounts.size());
+        hitCounts.forEach((key, count) -> hourlyParams.add(key.toParams().addValue("hits", count)));
+        List<MapSqlParameterSource> ipParams = new ArrayList<>();
+        ips.forEach((key, keyIps) -> keyIps.forEach(ip -> ipParams.add(key.toParams().addValue("ip", ip))));
+
+        jdbcTemplate.batchUpdate(UPSERT_HOURLY_SQL, hourlyParams.toArray(MapSqlParameterSource[]::new));
+        jdbcTemplate.batchUpdate(INSERT_HOURLY_IP_SQL, ipParams.toArray(MapSqlParameterSource[]::new));
+        log.debug("Repository: Added {} hits to {} hourly rollup buckets", hits.size(), hitCounts.size());
+    }
+
+    @Override
+    public List<ViewStatsDto> findStatsWithRollups(LocalDateTime start, LocalDateTime end,
+                                                   LocalDateTime rollupFrom, LocalDateTime rollupTo,
+                                                   Collection<String> uris) {
+        return query(FIND_STATS_SQL, start, end, rollupFrom, rollupTo, uris);
+    }
+
+    @Override
+    public List<ViewStatsDto> findUniqueStatsWithRollups(LocalDateTime start, LocalDateTime end,
+                                                         LocalDateTime rollupFrom, LocalDateTime rollupTo,
+                                                         Collection<String> uris) {
+        return query(FIND_UNIQUE_STATS_SQL, start, end, rollupFrom, rollupTo, uris);
+    }
+
+    private List<ViewStatsDto> query(String sqlTemplate, LocalDateTime start, LocalDateTime end,
+                                     LocalDateTime rollupFrom, LocalDateTime rollupTo, Collection<String> uris) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("start", Timestamp.valueOf(start))
+            .addValue("end", Timestamp.valueOf(end))
+            .addValue("rollupFrom", Timestamp.valueOf(rollupFrom))
+            .addValue("rollupTo", Timestamp.valueOf(rollupTo));
+        String sql;
+        if (uris == null) {
+            sql = String.format(sqlTemplate, "", "");
+        } else {
+            params.addValue("uris", uris);
+            sql = String.format(sqlTemplate, "AND r.uri IN (:uris)", "AND eh.uri IN (:uris)");
+        }
+        return jdbcTemplate.query(sql, params, VIEW_STATS_ROW_MAPPER);
+    }
+
+    private record RollupKey(String app, String uri, LocalDateTime bucketStart) {
+
+        MapSqlParameterSource toParams() {
+            return new MapSqlParameterSource()
+                .addValue("app", app)
+                .addValue("uri", uri)
+                .addValue("bucketStart", Timestamp.valueOf(bucketStart));
+        }
+    }
+}
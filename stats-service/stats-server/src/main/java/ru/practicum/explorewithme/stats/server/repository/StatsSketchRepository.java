@@ -0,0 +1,44 @@
+package ru.practicum.explorewithme.stats.server.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
+import ru.practicum.explorewithme.stats.server.model.EndpointHit;
+
+/**
+ * Почасовые HyperLogLog-скетчи IP-адресов для приближённой статистики по уникальным посещениям.
+ */
+public interface StatsSketchRepository {
+
+    /**
+     * Добавляет IP-адреса хитов в скетчи соответствующих часовых корзин.
+     * Вызывается в той же транзакции, что и сохранение самих хитов.
+     *
+     * @param hits сохраняемые хиты.
+     */
+    void addToSketches(List<EndpointHit> hits);
+
+    /**
+     * Приближённая статистика по уникальным IP: скетчи полных часов {@code [rollupFrom, rollupTo)} объединяются,
+     * IP из неполных хвостов {@code [start, rollupFrom)} и {@code [rollupTo, end]} добавляются в них из сырых записей.
+     *
+     * @param start      начало диапазона.
+     * @param end        конец диапазона (включительно).
+     * @param rollupFrom начало первого полного часа внутри диапазона.
+     * @param rollupTo   начало последнего неполного часа диапазона.
+     * @param uris       список URI или null для всех URI.
+     * @return статистика, отсортированная по убыванию оценки количества уникальных IP.
+     */
+    List<ViewStatsDto> findApproximateUniqueStats(LocalDateTime start, LocalDateTime end,
+                                                  LocalDateTime rollupFrom, LocalDateTime rollupTo,
+                                                  Collection<String> uris);
+
+    /**
+     * Строит скетчи по уже накопленным почасовым множествам IP, если таблица скетчей пуста.
+     *
+     * @return количество построенных скетчей.
+     */
+    int backfillSketches();
+
+}
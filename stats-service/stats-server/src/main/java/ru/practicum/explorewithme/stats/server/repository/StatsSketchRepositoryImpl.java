@@ -0,0 +1,213 @@
+package ru.practicum.explorewithme.stats.server.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
+import ru.practicum.explorewithme.stats.server.model.EndpointHit;
+import ru.practicum.explorewithme.stats.server.sketch.HyperLogLog;
+
+@RequiredArgsConstructor
+@Slf4j
+public class StatsSketchRepositoryImpl implements StatsSketchRepository {
+
+    private static final String INSERT_SKETCH_SQL =
+        "INSERT INTO endpoint_hits_hourly_hll (app, uri, bucket_start, hll_precision, registers) " +
+        "VALUES (:app, :uri, :bucketStart, :precision, :registers) " +
+        "ON CONFLICT (app, uri, bucket_start) DO NOTHING";
+
+    private static final String SELECT_SKETCHES_FOR_UPDATE_SQL =
+        "SELECT app, uri, bucket_start, hll_precision, registers FROM endpoint_hits_hourly_hll " +
+        "WHERE (app, uri, bucket_start) IN (:keys) " +
+        "ORDER BY app, uri, bucket_start FOR UPDATE";
+
+    private static final String UPDATE_SKETCH_SQL =
+        "UPDATE endpoint_hits_hourly_hll SET hll_precision = :precision, registers = :registers " +
+        "WHERE app = :app AND uri = :uri AND bucket_start = :bucketStart";
+
+    private static final String FIND_SKETCHES_SQL =
+        "SELECT r.app, r.uri, r.hll_precision, r.registers FROM endpoint_hits_hourly_hll r " +
+        "WHERE r.bucket_start >= :rollupFrom AND r.bucket_start < :rollupTo %s";
+
+    private static final String FIND_RAW_TAIL_IPS_SQL =
+        "SELECT eh.app, eh.uri, eh.ip FROM endpoint_hits eh " +
+        "WHERE " + StatsRollupRepositoryImpl.RAW_TAIL_CONDITION + " %s";
+
+    private static final String SKETCHES_EXIST_SQL = "SELECT EXISTS (SELECT 1 FROM endpoint_hits_hourly_hll)";
+
+    private static final String FIND_HOURLY_IPS_SQL =
+        "SELECT app, uri, bucket_start, ip FROM endpoint_hits_hourly_ips ORDER BY app, uri, bucket_start";
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private static final Comparator<SketchKey> KEY_ORDER = Comparator.comparing(SketchKey::app)
+        .thenComparing(SketchKey::uri)
+        .thenComparing(SketchKey::bucketStart);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${stats.hll.precision:12}")
+    private int precision;
+
+    @Override
+    public void addToSketches(List<EndpointHit> hits) {
+        if (hits.isEmpty()) {
+            return;
+        }
+        Map<SketchKey, HyperLogLog> partials = new TreeMap<>(KEY_ORDER);
+        for (EndpointHit hit : hits) {
+            SketchKey key = new SketchKey(hit.getApp(), hit.getUri(), hit.getTimestamp().truncatedTo(ChronoUnit.HOURS));
+            partials.computeIfAbsent(key, k -> new HyperLogLog(precision)).add(hit.getIp());
+        }
+
+        // Вставка отсутствующих скетчей, затем слияние под блокировкой строк: объединение скетчей идемпотентно,
+        // поэтому повторное добавление частичного скетча в только что вставленную строку ничего не меняет
+        jdbcTemplate.batchUpdate(INSERT_SKETCH_SQL, partials.entrySet().stream()
+            .map(entry -> toInsertParams(entry.getKey(), entry.getValue()))
+            .toArray(MapSqlParameterSource[]::new));
+
+        List<Object[]> keys = partials.keySet().stream()
+            .map(key -> new Object[]{key.app(), key.uri(), Timestamp.valueOf(key.bucketStart())})
+            .toList();
+        List<MapSqlParameterSource> updates = new ArrayList<>(partials.size());
+        jdbcTemplate.query(SELECT_SKETCHES_FOR_UPDATE_SQL, new MapSqlParameterSource("keys", keys), rs -> {
+            SketchKey key = new SketchKey(rs.getString("app"), rs.getString("uri"),
+                rs.getTimestamp("bucket_start").toLocalDateTime());
+            HyperLogLog stored = HyperLogLog.fromBytes(rs.getInt("hll_precision"), rs.getBytes("registers"));
+            HyperLogLog merged = HyperLogLog.fromBytes(stored.getPrecision(), stored.toBytes())
+                .union(partials.get(key));
+            if (!merged.equals(stored)) {
+                updates.add(toInsertParams(key, merged));
+            }
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SKETCH_SQL, updates.toArray(MapSqlParameterSource[]::new));
+        }
+        log.debug("Repository: Added {} hits to {} HyperLogLog sketches, {} updated",
+            hits.size(), partials.size(), updates.size());
+    }
+
+    @Override
+    public List<ViewStatsDto> findApproximateUniqueStats(LocalDateTime start, LocalDateTime end,
+                                                         LocalDateTime rollupFrom, LocalDateTime rollupTo,
+                                                         Collection<String> uris) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("start", Timestamp.valueOf(start))
+            .addValue("end", Timestamp.valueOf(end))
+            .addValue("rollupFrom", Timestamp.valueOf(rollupFrom))
+            .addValue("rollupTo", Timestamp.valueOf(rollupTo));
+        String sketchUriFilter = "";
+        String rawUriFilter = "";
+        if (uris != null) {
+            params.addValue("uris", uris);
+            sketchUriFilter = "AND r.uri IN (:uris)";
+            rawUriFilter = "AND eh.uri IN (:uris)";
+        }
+
+        Map<AppUri, HyperLogLog> sketches = new HashMap<>();
+        jdbcTemplate.query(String.format(FIND_SKETCHES_SQL, sketchUriFilter), params, rs -> {
+            AppUri appUri = new AppUri(rs.getString("app"), rs.getString("uri"));
+            HyperLogLog bucket = HyperLogLog.fromBytes(rs.getInt("hll_precision"), rs.getBytes("registers"));
+            sketches.merge(appUri, bucket, HyperLogLog::union);
+        });
+        jdbcTemplate.query(String.format(FIND_RAW_TAIL_IPS_SQL, rawUriFilter), params, rs -> {
+            AppUri appUri = new AppUri(rs.getString("app"), rs.getString("uri"));
+            sketches.computeIfAbsent(appUri, k -> new HyperLogLog(precision)).add(rs.getString("ip"));
+        });
+
+        return sketches.entrySet().stream()
+            .map(entry -> new ViewStatsDto(entry.getKey().app(), entry.getKey().uri(), entry.getValue().estimate()))
+            .sorted(Comparator.comparing(ViewStatsDto::getHits).reversed())
+            .toList();
+    }
+
+    @Override
+    public int backfillSketches() {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(SKETCHES_EXIST_SQL, Map.of(), Boolean.class))) {
+            return 0;
+        }
+        BackfillWriter writer = new BackfillWriter();
+        jdbcTemplate.query(FIND_HOURLY_IPS_SQL, writer::processRow);
+        return writer.finish();
+    }
+
+    private MapSqlParameterSource toInsertParams(SketchKey key, HyperLogLog sketch) {
+        return key.toParams()
+            .addValue("precision", sketch.getPrecision())
+            .addValue("registers", sketch.toBytes());
+    }
+
+    private record SketchKey(String app, String uri, LocalDateTime bucketStart) {
+
+        MapSqlParameterSource toParams() {
+            return new MapSqlParameterSource()
+                .addValue("app", app)
+                .addValue("uri", uri)
+                .addValue("bucketStart", Timestamp.valueOf(bucketStart));
+        }
+    }
+
+    private record AppUri(String app, String uri) {
+    }
+
+    /**
+     * Строит скетчи по строкам, упорядоченным по ключу, поэтому в памяти держится только текущий скетч
+     * и пачка готовых к вставке.
+     */
+    private final class BackfillWriter {
+
+        private final List<MapSqlParameterSource> pending = new ArrayList<>(BACKFILL_BATCH_SIZE);
+        private SketchKey currentKey;
+        private HyperLogLog current;
+        private int built;
+
+        void processRow(ResultSet rs) throws SQLException {
+            SketchKey key = new SketchKey(rs.getString("app"), rs.getString("uri"),
+                rs.getTimestamp("bucket_start").toLocalDateTime());
+            if (!key.equals(currentKey)) {
+                completeCurrent();
+                currentKey = key;
+                current = new HyperLogLog(precision);
+            }
+            current.add(rs.getString("ip"));
+        }
+
+        int finish() {
+            completeCurrent();
+            flush();
+            return built;
+        }
+
+        private void completeCurrent() {
+            if (currentKey == null) {
+                return;
+            }
+            pending.add(toInsertParams(currentKey, current));
+            built++;
+            if (pending.size() >= BACKFILL_BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!pending.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SKETCH_SQL, pending.toArray(MapSqlParameterSource[]::new));
+                pending.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.explorewithme.stats.server.repository;
+
+import java.util.List;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
+import ru.practicum.explorewithme.stats.server.model.EndpointHit;
+
+/**
+ * Лента изменений уникальных просмотров: каждая впервые встреченная тройка (app, uri, ip) запоминается
+ * вместе с идентификатором записавшей её транзакции, что позволяет потребителям забирать прирост
+ * уникальных посещений по курсору вместо пересчёта статистики при каждом чтении.
+ */
+public interface StatsViewFeedRepository {
+
+    /**
+     * Запоминает новые уникальные посещения. Вызывается в той же транзакции, что и сохранение самих хитов.
+     *
+     * @param hits сохраняемые хиты.
+     */
+    void addToUniqueViews(List<EndpointHit> hits);
+
+    /**
+     * Прирост уникальных посещений, записанных транзакциями с идентификаторами от {@code cursor}
+     * до горизонта — наименьшего идентификатора ещё не завершённой транзакции. Все транзакции до горизонта
+     * завершены, поэтому ни одно изменение не будет пропущено из-за позднего коммита.
+     *
+     * @param cursor позиция, возвращённая предыдущим запросом, или 0 для чтения ленты с начала.
+     * @return прирост по (app, uri) и позиция для следующего запроса.
+     */
+    ViewChangesDto findViewChanges(long cursor);
+}
@@ -0,0 +1,69 @@
+package ru.practicum.explorewithme.stats.server.repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
+import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
+import ru.practicum.explorewithme.stats.server.model.EndpointHit;
+
+@RequiredArgsConstructor
+@Slf4j
+public class StatsViewFeedRepositoryImpl implements StatsViewFeedRepository {
+
+    private static final String INSERT_UNIQUE_VIEW_SQL =
+        "INSERT INTO endpoint_unique_views (app, uri, ip) VALUES (:app, :uri, :ip) ON CONFLICT DO NOTHING";
+
+    private static final String FEED_HORIZON_SQL =
+        "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+    private static final String FIND_VIEW_CHANGES_SQL =
+        "SELECT app, uri, COUNT(*) AS hits FROM endpoint_unique_views " +
+        "WHERE tx_id >= :cursor AND tx_id < :horizon " +
+        "GROUP BY app, uri";
+
+    private static final Comparator<UniqueView> KEY_ORDER = Comparator.comparing(UniqueView::app)
+        .thenComparing(UniqueView::uri)
+        .thenComparing(UniqueView::ip);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addToUniqueViews(List<EndpointHit> hits) {
+        if (hits.isEmpty()) {
+            return;
+        }
+        // Ключи упорядочены, чтобы параллельные транзакции вставляли конфликтующие строки в одном порядке
+        TreeSet<UniqueView> views = new TreeSet<>(KEY_ORDER);
+        hits.forEach(hit -> views.add(new UniqueView(hit.getApp(), hit.getUri(), hit.getIp())));
+        jdbcTemplate.batchUpdate(INSERT_UNIQUE_VIEW_SQL, views.stream()
+            .map(view -> new MapSqlParameterSource()
+                .addValue("app", view.app())
+                .addValue("uri", view.uri())
+                .addValue("ip", view.ip()))
+            .toArray(MapSqlParameterSource[]::new));
+    }
+
+    @Override
+    public ViewChangesDto findViewChanges(long cursor) {
+        Long horizon = jdbcTemplate.queryForObject(FEED_HORIZON_SQL, Map.of(), Long.class);
+        if (horizon == null || horizon <= cursor) {
+            return new ViewChangesDto(cursor, List.of());
+        }
+        List<ViewStatsDto> deltas = jdbcTemplate.query(FIND_VIEW_CHANGES_SQL,
+            new MapSqlParameterSource()
+                .addValue("cursor", cursor)
+                .addValue("horizon", horizon),
+            (rs, rowNum) -> new ViewStatsDto(rs.getString("app"), rs.getString("uri"), rs.getLong("hits")));
+        log.debug("Repository: {} view deltas between transactions {} and {}", deltas.size(), cursor, horizon);
+        return new ViewChangesDto(horizon, deltas);
+    }
+
+    private record UniqueView(String app, String uri, String ip) {
+    }
+}
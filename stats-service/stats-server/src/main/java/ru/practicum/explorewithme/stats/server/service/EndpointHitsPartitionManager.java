@@ -0,0 +1,210 @@
+package ru.practicum.explorewithme.stats.server.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.explorewithme.stats.server.config.PartitioningProperties;
+
+/**
+ * Обслуживает партиции таблицы {@code endpoint_hits}: заранее создаёт партиции на текущий и следующие периоды
+ * и удаляет партиции старше срока хранения, если их хиты уже учтены в почасовых агрегатах. С тем же сроком
+ * удаляются почасовые наборы IP, для которых уже есть HyperLogLog-скетч: уникальные посещения за более
+ * ранние часы оцениваются по скетчам.
+ * <p>
+ * Запросы статистики передают границы периода параметрами, поэтому PostgreSQL отсекает
+ * лишние партиции при выполнении запроса.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EndpointHitsPartitionManager {
+
+    static final String IS_PARTITIONED_SQL =
+        "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('endpoint_hits'))";
+
+    static final String FIND_PARTITIONS_SQL =
+        "SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound " +
+        "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+        "WHERE i.inhparent = to_regclass('endpoint_hits')";
+
+    static final String ROLLED_UP_HITS_SQL =
+        "SELECT COALESCE(SUM(hits), 0) FROM endpoint_hits_hourly WHERE bucket_start >= ? AND bucket_start < ?";
+
+    static final String ROLLED_UP_HITS_BEFORE_SQL =
+        "SELECT COALESCE(SUM(hits), 0) FROM endpoint_hits_hourly WHERE bucket_start < ?";
+
+    static final String DELETE_EXPIRED_DEFAULT_SQL =
+        "DELETE FROM endpoint_hits_default WHERE \"timestamp\" < ?";
+
+    static final String DELETE_EXPIRED_HOURLY_IPS_SQL =
+        "DELETE FROM endpoint_hits_hourly_ips i WHERE i.bucket_start < ? AND EXISTS (" +
+        "SELECT 1 FROM endpoint_hits_hourly_hll h " +
+        "WHERE h.app = i.app AND h.uri = i.uri AND h.bucket_start = i.bucket_start)";
+
+    private static final Pattern RANGE_BOUND = Pattern.compile("FOR VALUES FROM \\((.+)\\) TO \\((.+)\\)");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitioningProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${stats.partitioning.maintenance-cron:0 15 0 * * *}")
+    public void maintain() {
+        maintain(LocalDateTime.now());
+    }
+
+    void maintain(LocalDateTime now) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class))) {
+            log.warn("PartitionManager: Table endpoint_hits is not partitioned, maintenance skipped");
+            return;
+        }
+        List<Partition> partitions = findPartitions();
+        createUpcomingPartitions(partitions, now);
+        LocalDateTime cutoff = properties.retentionCutoff(now);
+        if (cutoff != null) {
+            dropExpiredPartitions(partitions, cutoff);
+            deleteExpiredHourlyIps(cutoff);
+        }
+    }
+
+    private List<Partition> findPartitions() {
+        List<Partition> partitions = new ArrayList<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList(FIND_PARTITIONS_SQL)) {
+            String name = (String) row.get("name");
+            Matcher matcher = RANGE_BOUND.matcher((String) row.get("bound"));
+            if (matcher.matches()) {
+                partitions.add(new Partition(name, parseBound(matcher.group(1)), parseBound(matcher.group(2))));
+            }
+        }
+        partitions.sort(Comparator.comparing(Partition::from, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return partitions;
+    }
+
+    /**
+     * Создаёт партиции на текущий и {@code premake} следующих периодов, заполняя только не покрытые
+     * существующими партициями промежутки.
+     */
+    private void createUpcomingPartitions(List<Partition> partitions, LocalDateTime now) {
+        PartitioningProperties.Granularity granularity = properties.getGranularity();
+        LocalDateTime periodStart = granularity.truncate(now);
+        for (int i = 0; i <= properties.getPremake(); i++) {
+            LocalDateTime periodEnd = granularity.next(periodStart);
+            LocalDateTime cursor = periodStart;
+            while (cursor != null && cursor.isBefore(periodEnd)) {
+                Partition covering = findCovering(partitions, cursor);
+                if (covering != null) {
+                    cursor = covering.to();
+                    continue;
+                }
+                LocalDateTime gapEnd = nextPartitionStart(partitions, cursor, periodEnd);
+                createPartition(new Partition("endpoint_hits_p" + cursor.format(PARTITION_SUFFIX), cursor, gapEnd));
+                cursor = gapEnd;
+            }
+            periodStart = periodEnd;
+        }
+    }
+
+    private void createPartition(Partition partition) {
+        String sql = String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF endpoint_hits " +
+                "FOR VALUES FROM ('%s') TO ('%s')",
+            partition.name(), Timestamp.valueOf(partition.from()), Timestamp.valueOf(partition.to()));
+        try {
+            jdbcTemplate.execute(sql);
+            log.info("PartitionManager: Created partition {} for [{}, {})",
+                partition.name(), partition.from(), partition.to());
+        } catch (DataAccessException e) {
+            // Например, в партиции по умолчанию уже есть строки из этого диапазона
+            log.warn("PartitionManager: Failed to create partition {}: {}", partition.name(), e.getMessage());
+        }
+    }
+
+    /**
+     * Удаляет партиции, целиком лежащие до {@code cutoff}. Партиция удаляется, только если почасовые агрегаты
+     * за её диапазон учитывают не меньше хитов, чем в ней хранится.
+     */
+    private void dropExpiredPartitions(List<Partition> partitions, LocalDateTime cutoff) {
+        for (Partition partition : partitions) {
+            if (partition.to() == null || partition.to().isAfter(cutoff)) {
+                continue;
+            }
+            Long rawHits = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition.name(), Long.class);
+            Long rolledUpHits = partition.from() == null
+                ? jdbcTemplate.queryForObject(ROLLED_UP_HITS_BEFORE_SQL, Long.class, Timestamp.valueOf(partition.to()))
+                : jdbcTemplate.queryForObject(ROLLED_UP_HITS_SQL, Long.class,
+                    Timestamp.valueOf(partition.from()), Timestamp.valueOf(partition.to()));
+            if (rawHits == null || rolledUpHits == null || rawHits > rolledUpHits) {
+                log.warn("PartitionManager: Partition {} holds {} hits but rollups account for {}, not dropped",
+                    partition.name(), rawHits, rolledUpHits);
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE endpoint_hits DETACH PARTITION " + partition.name());
+            jdbcTemplate.execute("DROP TABLE " + partition.name());
+            log.info("PartitionManager: Dropped expired partition {} with {} hits", partition.name(), rawHits);
+        }
+        int deleted = jdbcTemplate.update(DELETE_EXPIRED_DEFAULT_SQL, Timestamp.valueOf(cutoff));
+        if (deleted > 0) {
+            log.info("PartitionManager: Deleted {} expired hits from the default partition", deleted);
+        }
+    }
+
+    /**
+     * Удаляет наборы IP за часы, целиком лежащие до {@code cutoff}. Набор без скетча остаётся, иначе уникальные
+     * посещения за этот час было бы не из чего оценить.
+     */
+    private void deleteExpiredHourlyIps(LocalDateTime cutoff) {
+        int deleted = jdbcTemplate.update(DELETE_EXPIRED_HOURLY_IPS_SQL,
+            Timestamp.valueOf(cutoff.truncatedTo(ChronoUnit.HOURS)));
+        if (deleted > 0) {
+            log.info("PartitionManager: Deleted {} expired hourly IP rows", deleted);
+        }
+    }
+
+    private static Partition findCovering(List<Partition> partitions, LocalDateTime moment) {
+        return partitions.stream()
+            .filter(p -> (p.from() == null || !p.from().isAfter(moment)) && (p.to() == null || p.to().isAfter(moment)))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static LocalDateTime nextPartitionStart(List<Partition> partitions, LocalDateTime after,
+                                                    LocalDateTime limit) {
+        return partitions.stream()
+            .map(Partition::from)
+            .filter(from -> from != null && from.isAfter(after) && from.isBefore(limit))
+            .min(Comparator.naturalOrder())
+            .orElse(limit);
+    }
+
+    /**
+     * Разбирает границу диапазона из {@code pg_get_expr}: {@code MINVALUE}/{@code MAXVALUE} соответствуют
+     * {@code null}, остальные значения записаны как {@code 'yyyy-MM-dd HH:mm:ss'}.
+     */
+    private static LocalDateTime parseBound(String bound) {
+        if (bound.equalsIgnoreCase("MINVALUE") || bound.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        return Timestamp.valueOf(bound.replace("'", "")).toLocalDateTime();
+    }
+
+    private record Partition(String name, LocalDateTime from, LocalDateTime to) {
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.explorewithme.stats.server.service;
 
 import ru.practicum.explorewithme.stats.dto.EndpointHitDto;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
 import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
 
 import java.time.LocalDateTime;
@@ -15,6 +16,13 @@ public interface StatsService {
      */
     void saveHit(EndpointHitDto endpointHitDto);
 
+    /**
+     * Сохраняет пачку запросов к эндпоинтам в одной транзакции пакетными вставками.
+     *
+     * @param endpointHitDtos список DTO с информацией о запросах.
+     */
+    void saveHits(List<EndpointHitDto> endpointHitDtos);
+
     /**
      * Возвращает статистику по посещениям за указанный период.
      *
@@ -22,8 +30,21 @@ public interface StatsService {
      * @param end    дата и время конца диапазона для статистики.
      * @param uris   список URI, для которых нужна статистика (может быть null или пустым для всех URI).
      * @param unique true, если нужны только уникальные по IP посещения, false иначе.
+     * @param approximate true, если уникальные посещения можно оценить по HyperLogLog-скетчам
+     *                    (относительная стандартная ошибка задаётся настройкой {@code stats.hll.precision}).
+     *                    Для неуникальных посещений не влияет на результат.
+     *                    За часы старше срока хранения сырых хитов уникальные посещения всегда оцениваются по скетчам.
      * @return список DTO {@link ViewStatsDto} со статистикой.
      */
-    List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, boolean unique);
+    List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, boolean unique,
+                                boolean approximate);
+
+    /**
+     * Возвращает прирост уникальных посещений по URI, накопленный после позиции {@code cursor} ленты изменений.
+     *
+     * @param cursor позиция из предыдущего ответа или 0 для чтения ленты с начала.
+     * @return DTO {@link ViewChangesDto} с приростом и позицией для следующего запроса.
+     */
+    ViewChangesDto getViewChanges(long cursor);
 
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package ru.practicum.explorewithme.stats.server.service;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -8,7 +9,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.explorewithme.stats.dto.EndpointHitDto;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
 import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
+import ru.practicum.explorewithme.stats.server.config.PartitioningProperties;
 import ru.practicum.explorewithme.stats.server.mapper.EndpointHitMapper;
 import ru.practicum.explorewithme.stats.server.model.EndpointHit;
 import ru.practicum.explorewithme.stats.server.repository.StatsRepository;
@@ -21,6 +24,7 @@ public class StatsServiceImpl implements StatsService {
 
     private final EndpointHitMapper endpointHitMapper;
     private final StatsRepository statsRepository;
+    private final PartitioningProperties partitioningProperties;
 
     @Override
     @Transactional
@@ -32,14 +36,36 @@ public class StatsServiceImpl implements StatsService {
         }
         EndpointHit endpointHit = endpointHitMapper.toEndpointHit(endpointHitDto);
         statsRepository.save(endpointHit);
+        statsRepository.addToRollups(List.of(endpointHit));
+        statsRepository.addToSketches(List.of(endpointHit));
+        statsRepository.addToUniqueViews(List.of(endpointHit));
         log.info("Service: Hit saved successfully for app: {}, uri: {}", endpointHit.getApp(), endpointHit.getUri());
     }
 
+    @Override
+    @Transactional
+    public void saveHits(List<EndpointHitDto> endpointHitDtos) {
+        log.debug("Service: Attempting to save {} hits in batch", endpointHitDtos == null ? 0 : endpointHitDtos.size());
+        if (endpointHitDtos == null) {
+            log.warn("Service: Cannot save hits, input list was null.");
+            throw new IllegalArgumentException("Input EndpointHitDto list cannot be null.");
+        }
+        List<EndpointHit> endpointHits = endpointHitDtos.stream()
+            .map(endpointHitMapper::toEndpointHit)
+            .toList();
+        statsRepository.insertAll(endpointHits);
+        statsRepository.addToRollups(endpointHits);
+        statsRepository.addToSketches(endpointHits);
+        statsRepository.addToUniqueViews(endpointHits);
+        log.info("Service: {} hits saved successfully in batch", endpointHits.size());
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> urisFromController, boolean unique) {
-        log.debug("Service: Requesting stats with params: start={}, end={}, uris={}, unique={}",
-            start, end, urisFromController, unique);
+    public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> urisFromController,
+                                       boolean unique, boolean approximate) {
+        log.debug("Service: Requesting stats with params: start={}, end={}, uris={}, unique={}, approximate={}",
+            start, end, urisFromController, unique, approximate);
 
         if (start != null && end != null && start.isAfter(end)) {
             log.warn("Validation error in getStats: Start date {} is after end date {}", start, end);
@@ -50,12 +76,52 @@ public class StatsServiceImpl implements StatsService {
         Collection<String> urisForRepo = (urisFromController == null || urisFromController.isEmpty()) ? null : urisFromController;
 
         List<ViewStatsDto> stats;
-        if (unique) {
-            stats = statsRepository.findUniqueStats(start, end, urisForRepo);
+        LocalDateTime rollupFrom = start == null ? null : ceilToHour(start);
+        LocalDateTime rollupTo = end == null ? null : end.truncatedTo(ChronoUnit.HOURS);
+        if (rollupFrom != null && rollupTo != null && rollupFrom.isBefore(rollupTo)) {
+            // Полные часы внутри диапазона считаются по почасовым агрегатам, неполные края — по сырым хитам
+            log.debug("Service: Using hourly rollups for [{}, {})", rollupFrom, rollupTo);
+            if (!unique) {
+                stats = statsRepository.findStatsWithRollups(start, end, rollupFrom, rollupTo, urisForRepo);
+            } else if (approximate || hourlyIpsMayBeDeleted(rollupFrom)) {
+                // Почасовые наборы IP старше срока хранения удалены, за эти часы остаются только скетчи
+                stats = statsRepository.findApproximateUniqueStats(start, end, rollupFrom, rollupTo, urisForRepo);
+            } else {
+                stats = statsRepository.findUniqueStatsWithRollups(start, end, rollupFrom, rollupTo, urisForRepo);
+            }
+        } else if (unique) {
+            stats = urisForRepo == null
+                ? statsRepository.findUniqueStats(start, end)
+                : statsRepository.findUniqueStatsByUris(start, end, urisForRepo);
         } else {
-            stats = statsRepository.findStats(start, end, urisForRepo);
+            stats = urisForRepo == null
+                ? statsRepository.findStats(start, end)
+                : statsRepository.findStatsByUris(start, end, urisForRepo);
         }
         log.info("Service: Found {} stats entries.", stats.size());
         return stats;
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public ViewChangesDto getViewChanges(long cursor) {
+        log.debug("Service: Requesting view changes after cursor {}", cursor);
+        if (cursor < 0) {
+            log.warn("Validation error in getViewChanges: negative cursor {}", cursor);
+            throw new IllegalArgumentException("Error: Cursor cannot be negative.");
+        }
+        ViewChangesDto changes = statsRepository.findViewChanges(cursor);
+        log.info("Service: Found {} view deltas, next cursor {}.", changes.getDeltas().size(), changes.getNextCursor());
+        return changes;
+    }
+
+    private boolean hourlyIpsMayBeDeleted(LocalDateTime rollupFrom) {
+        LocalDateTime cutoff = partitioningProperties.retentionCutoff(LocalDateTime.now());
+        return cutoff != null && rollupFrom.isBefore(cutoff);
+    }
+
+    private static LocalDateTime ceilToHour(LocalDateTime dateTime) {
+        LocalDateTime truncated = dateTime.truncatedTo(ChronoUnit.HOURS);
+        return truncated.equals(dateTime) ? truncated : truncated.plusHours(1);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.explorewithme.stats.server.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.explorewithme.stats.server.repository.StatsRepository;
+
+/**
+ * Однократно строит HyperLogLog-скетчи по уже накопленным почасовым агрегатам при первом запуске,
+ * после чего скетчи поддерживаются при сохранении хитов.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatsSketchBackfill {
+
+    private final StatsRepository statsRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int built = statsRepository.backfillSketches();
+        if (built > 0) {
+            log.info("StatsSketchBackfill: Built {} HyperLogLog sketches from hourly rollups", built);
+        }
+    }
+}
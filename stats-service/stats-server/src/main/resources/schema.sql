@@ -1,8 +1,122 @@
+-- Хиты хранятся в таблице, партиционированной по времени: партиции на будущие периоды создаёт
+-- и старые удаляет EndpointHitsPartitionManager, хиты вне созданных партиций попадают в endpoint_hits_default.
+-- Тело DO-блоков записано в одинарных кавычках, так как инициализатор схемы не поддерживает $$-строки.
+
+-- Существующая непартиционированная таблица переименовывается и ниже подключается как партиция истории
+DO '
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass(''endpoint_hits'')) = ''r'' THEN
+        ALTER TABLE endpoint_hits RENAME TO endpoint_hits_history;
+        ALTER TABLE endpoint_hits_history RENAME CONSTRAINT pk_endpoint_hits TO pk_endpoint_hits_history;
+        ALTER INDEX IF EXISTS idx_endpoint_hits_uri_timestamp RENAME TO idx_endpoint_hits_history_uri_timestamp;
+        ALTER INDEX IF EXISTS idx_endpoint_hits_timestamp RENAME TO idx_endpoint_hits_history_timestamp;
+        ALTER TABLE endpoint_hits_history ALTER COLUMN id DROP IDENTITY IF EXISTS;
+    END IF;
+END';
+
+-- Идентификаторы хитов выдаёт последовательность с шагом, равным allocationSize сущности EndpointHit
+CREATE SEQUENCE IF NOT EXISTS endpoint_hits_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS endpoint_hits (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL DEFAULT nextval('endpoint_hits_seq'),
     app VARCHAR(32) NOT NULL,
     uri VARCHAR(128) NOT NULL,
     ip VARCHAR(16) NOT NULL,
     "timestamp" TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    CONSTRAINT pk_endpoint_hits PRIMARY KEY (id)
-);
\ No newline at end of file
+    CONSTRAINT pk_endpoint_hits PRIMARY KEY (id, "timestamp")
+) PARTITION BY RANGE ("timestamp");
+
+-- Таблица, созданная с IDENTITY, переводится на последовательность с продолжением нумерации.
+-- Оптимизатор pooled считает значение последовательности верхней границей блока из 50 идентификаторов,
+-- поэтому она продолжается с MAX(id) + 50: иначе первый блок Hibernate повторил бы уже выданные id
+DO '
+BEGIN
+    IF (SELECT attidentity IN (''a'', ''d'') FROM pg_attribute
+        WHERE attrelid = ''endpoint_hits''::regclass AND attname = ''id'') THEN
+        PERFORM setval(''endpoint_hits_seq'', (SELECT COALESCE(MAX(id), 0) + 50 FROM endpoint_hits), false);
+        ALTER TABLE endpoint_hits ALTER COLUMN id DROP IDENTITY;
+        ALTER TABLE endpoint_hits ALTER COLUMN id SET DEFAULT nextval(''endpoint_hits_seq'');
+    END IF;
+END';
+
+ALTER SEQUENCE endpoint_hits_seq OWNED BY endpoint_hits.id;
+
+-- Покрывающие индексы: запросы статистики читают только app, uri, ip и timestamp,
+-- поэтому выполняются сканированием одного индекса без обращения к таблице
+CREATE INDEX IF NOT EXISTS idx_endpoint_hits_uri_timestamp ON endpoint_hits (uri, "timestamp") INCLUDE (app, ip);
+CREATE INDEX IF NOT EXISTS idx_endpoint_hits_timestamp ON endpoint_hits ("timestamp") INCLUDE (app, uri, ip);
+
+DO '
+BEGIN
+    IF (SELECT NOT relispartition FROM pg_class WHERE oid = to_regclass(''endpoint_hits_history'')) THEN
+        EXECUTE format(''ALTER TABLE endpoint_hits ATTACH PARTITION endpoint_hits_history FOR VALUES FROM (MINVALUE) TO (%L)'',
+            date_trunc(''day'', localtimestamp) + INTERVAL ''1 day'');
+        PERFORM setval(pg_get_serial_sequence(''endpoint_hits'', ''id''),
+            (SELECT COALESCE(MAX(id), 0) + 50 FROM endpoint_hits_history), false);
+    END IF;
+END';
+
+CREATE TABLE IF NOT EXISTS endpoint_hits_default PARTITION OF endpoint_hits DEFAULT;
+
+CREATE TABLE IF NOT EXISTS endpoint_hits_hourly (
+    app VARCHAR(32) NOT NULL,
+    uri VARCHAR(128) NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    hits BIGINT NOT NULL,
+    CONSTRAINT pk_endpoint_hits_hourly PRIMARY KEY (app, uri, bucket_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_endpoint_hits_hourly_bucket_uri ON endpoint_hits_hourly (bucket_start, uri);
+
+-- Точные наборы IP по часам хранятся не дольше сырых хитов: их удаляет EndpointHitsPartitionManager
+CREATE TABLE IF NOT EXISTS endpoint_hits_hourly_ips (
+    app VARCHAR(32) NOT NULL,
+    uri VARCHAR(128) NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    ip VARCHAR(16) NOT NULL,
+    CONSTRAINT pk_endpoint_hits_hourly_ips PRIMARY KEY (app, uri, bucket_start, ip)
+);
+
+CREATE INDEX IF NOT EXISTS idx_endpoint_hits_hourly_ips_bucket_uri ON endpoint_hits_hourly_ips (bucket_start, uri);
+
+-- Однократное заполнение агрегатов по уже накопленным хитам; дальше они поддерживаются при сохранении хитов
+INSERT INTO endpoint_hits_hourly (app, uri, bucket_start, hits)
+SELECT app, uri, date_trunc('hour', "timestamp"), COUNT(*)
+FROM endpoint_hits
+WHERE NOT EXISTS (SELECT 1 FROM endpoint_hits_hourly)
+GROUP BY app, uri, date_trunc('hour', "timestamp");
+
+INSERT INTO endpoint_hits_hourly_ips (app, uri, bucket_start, ip)
+SELECT DISTINCT app, uri, date_trunc('hour', "timestamp"), ip
+FROM endpoint_hits
+WHERE NOT EXISTS (SELECT 1 FROM endpoint_hits_hourly_ips);
+
+CREATE TABLE IF NOT EXISTS endpoint_hits_hourly_hll (
+    app VARCHAR(32) NOT NULL,
+    uri VARCHAR(128) NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    hll_precision SMALLINT NOT NULL,
+    registers BYTEA NOT NULL,
+    CONSTRAINT pk_endpoint_hits_hourly_hll PRIMARY KEY (app, uri, bucket_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_endpoint_hits_hourly_hll_bucket_uri ON endpoint_hits_hourly_hll (bucket_start, uri);
+
+-- Лента изменений уникальных просмотров: строка на каждую впервые встреченную тройку (app, uri, ip)
+-- с идентификатором записавшей её транзакции, по которому потребители забирают прирост
+CREATE TABLE IF NOT EXISTS endpoint_unique_views (
+    app VARCHAR(32) NOT NULL,
+    uri VARCHAR(128) NOT NULL,
+    ip VARCHAR(16) NOT NULL,
+    tx_id BIGINT NOT NULL DEFAULT pg_current_xact_id()::text::bigint,
+    CONSTRAINT pk_endpoint_unique_views PRIMARY KEY (app, uri, ip)
+);
+
+CREATE INDEX IF NOT EXISTS idx_endpoint_unique_views_tx_id ON endpoint_unique_views (tx_id) INCLUDE (app, uri);
+
+-- Однократное заполнение по почасовым наборам IP, которые при появлении этой таблицы ещё хранились
+-- за весь период, в отличие от сырых хитов
+INSERT INTO endpoint_unique_views (app, uri, ip)
+SELECT DISTINCT app, uri, ip
+FROM endpoint_hits_hourly_ips
+WHERE NOT EXISTS (SELECT 1 FROM endpoint_unique_views);
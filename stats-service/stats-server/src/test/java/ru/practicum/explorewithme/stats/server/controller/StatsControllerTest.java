@@ -17,10 +17,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.explorewithme.stats.dto.EndpointHitDto;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
 import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
+import ru.practicum.explorewithme.stats.server.config.NdjsonRequestBodyArgumentResolver;
 import ru.practicum.explorewithme.stats.server.service.StatsService;
 
 import java.time.LocalDateTime;
@@ -51,6 +54,8 @@ class StatsControllerTest {
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         mvc = MockMvcBuilders
                 .standaloneSetup(statsController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .setCustomArgumentResolvers(new NdjsonRequestBodyArgumentResolver(objectMapper))
                 .build();
         now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
         validHitDto = EndpointHitDto.builder()
@@ -62,6 +67,15 @@ class StatsControllerTest {
         dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     }
 
+    private EndpointHitDto copyOfValidHit(String uri, String ip) {
+        return EndpointHitDto.builder()
+                .app(validHitDto.getApp())
+                .uri(uri)
+                .ip(ip)
+                .timestamp(validHitDto.getTimestamp())
+                .build();
+    }
+
     @Test
     void saveHit_whenDtoIsValid_shouldReturnCreated() throws Exception {
         doNothing().when(statsService).saveHit(any(EndpointHitDto.class));
@@ -123,6 +137,67 @@ class StatsControllerTest {
         verify(statsService, never()).saveHit(any());
     }
 
+    @Test
+    void saveHits_whenJsonArrayIsValid_shouldReturnCreated() throws Exception {
+        EndpointHitDto secondHitDto = copyOfValidHit("/other-uri", validHitDto.getIp());
+
+        mvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validHitDto, secondHitDto))))
+                .andExpect(status().isCreated());
+
+        verify(statsService, times(1)).saveHits(List.of(validHitDto, secondHitDto));
+    }
+
+    @Test
+    void saveHits_whenNdjsonIsValid_shouldReturnCreated() throws Exception {
+        EndpointHitDto secondHitDto = copyOfValidHit("/other-uri", validHitDto.getIp());
+        String body = objectMapper.writeValueAsString(validHitDto) + "\n"
+                + objectMapper.writeValueAsString(secondHitDto) + "\n";
+
+        mvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+
+        verify(statsService, times(1)).saveHits(List.of(validHitDto, secondHitDto));
+    }
+
+    @Test
+    void saveHitsShouldReturn400WhenAnyHitIsInvalid() throws Exception {
+        EndpointHitDto invalidHitDto = copyOfValidHit(validHitDto.getUri(), "");
+
+        mvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validHitDto, invalidHitDto))))
+                .andExpect(status().isBadRequest());
+
+        verify(statsService, never()).saveHits(any());
+    }
+
+    @Test
+    void saveHitsShouldReturn400WhenAnyNdjsonHitIsInvalid() throws Exception {
+        EndpointHitDto invalidHitDto = copyOfValidHit(validHitDto.getUri(), "");
+
+        mvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(validHitDto) + "\n"
+                                + objectMapper.writeValueAsString(invalidHitDto)))
+                .andExpect(status().isBadRequest());
+
+        verify(statsService, never()).saveHits(any());
+    }
+
+    @Test
+    void saveHitsShouldReturn400WhenNdjsonIsMalformed() throws Exception {
+        mvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(validHitDto) + "\n{not-json"))
+                .andExpect(status().isBadRequest());
+
+        verify(statsService, never()).saveHits(any());
+    }
+
     @Test
     void getStats_whenParamsAreValid_shouldReturn200Ok() throws Exception {
         LocalDateTime start = now.minusDays(1);
@@ -130,7 +205,7 @@ class StatsControllerTest {
         List<String> uris = List.of("/test-uri");
         Boolean unique = false;
 
-        when(statsService.getStats(eq(start), eq(end), eq(uris), eq(unique)))
+        when(statsService.getStats(eq(start), eq(end), eq(uris), eq(unique), eq(false)))
                 .thenReturn(List.of(new ViewStatsDto("test-app", "/test-uri", 10L)));
 
         mvc.perform(get("/stats")
@@ -143,7 +218,7 @@ class StatsControllerTest {
                         List.of(new ViewStatsDto("test-app", "/test-uri", 10L)))
                 ));
 
-        verify(statsService, times(1)).getStats(eq(start), eq(end), eq(uris), eq(unique));
+        verify(statsService, times(1)).getStats(eq(start), eq(end), eq(uris), eq(unique), eq(false));
     }
 
     @Test
@@ -153,7 +228,7 @@ class StatsControllerTest {
         Boolean unique = false;
 
         List<ViewStatsDto> statsList = List.of(new ViewStatsDto("test-app", "/", 5L));
-        when(statsService.getStats(eq(start), eq(end), isNull(), eq(unique))).thenReturn(statsList);
+        when(statsService.getStats(eq(start), eq(end), isNull(), eq(unique), eq(false))).thenReturn(statsList);
 
         mvc.perform(get("/stats")
                         .param("start", start.format(dateTimeFormatter))
@@ -162,6 +237,40 @@ class StatsControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(statsList)));
 
-        verify(statsService, times(1)).getStats(eq(start), eq(end), isNull(), eq(unique));
+        verify(statsService, times(1)).getStats(eq(start), eq(end), isNull(), eq(unique), eq(false));
+    }
+
+    @Test
+    void getStats_whenApproximateRequested_shouldPassItToService() throws Exception {
+        LocalDateTime start = now.minusDays(1);
+        LocalDateTime end = now;
+
+        List<ViewStatsDto> statsList = List.of(new ViewStatsDto("test-app", "/test-uri", 1000L));
+        when(statsService.getStats(eq(start), eq(end), eq(List.of("/test-uri")), eq(true), eq(true)))
+                .thenReturn(statsList);
+
+        mvc.perform(get("/stats")
+                        .param("start", start.format(dateTimeFormatter))
+                        .param("end", end.format(dateTimeFormatter))
+                        .param("uris", "/test-uri")
+                        .param("unique", "true")
+                        .param("approximate", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(statsList)));
+
+        verify(statsService, times(1)).getStats(eq(start), eq(end), eq(List.of("/test-uri")), eq(true), eq(true));
+    }
+
+    @Test
+    void getViewChanges_shouldReturnChangesAfterCursor() throws Exception {
+        ViewChangesDto changes = new ViewChangesDto(1024L, List.of(new ViewStatsDto("test-app", "/events/1", 3L)));
+        when(statsService.getViewChanges(512L)).thenReturn(changes);
+
+        mvc.perform(get("/views/changes")
+                        .param("cursor", "512"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(changes)));
+
+        verify(statsService, times(1)).getViewChanges(512L);
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package ru.practicum.explorewithme.stats.server.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +19,7 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
 import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
 import ru.practicum.explorewithme.stats.server.model.EndpointHit;
 
@@ -76,7 +78,7 @@ public class StatsRepositoryTest {
             LocalDateTime end = now.plusHours(1);
             List<String> uris = List.of("/uri1", "/uri3");
 
-            List<ViewStatsDto> result = statsRepository.findStats(start, end, uris);
+            List<ViewStatsDto> result = statsRepository.findStatsByUris(start, end, uris);
 
             assertThat(result).hasSize(2); // Ожидаем статистику для двух URI: /uri1 и /uri3
 
@@ -99,8 +101,8 @@ public class StatsRepositoryTest {
             LocalDateTime start = now.minusHours(3);
             LocalDateTime end = now.plusHours(1);
 
-            // На уровне сервиса пустой список URI должен быть явно преобразован в null
-            List<ViewStatsDto> result = statsRepository.findStats(start, end, null); // URI не указаны
+            // Пустой список URI сервис направляет в запрос без фильтра по URI
+            List<ViewStatsDto> result = statsRepository.findStats(start, end); // URI не указаны
 
             assertThat(result).hasSize(3); // Ожидаем статистику для трех уникальных URI: /uri1, /uri2, /uri3
 
@@ -122,7 +124,7 @@ public class StatsRepositoryTest {
             LocalDateTime start = now.plusHours(1);
             LocalDateTime end = now.plusHours(2);
 
-            List<ViewStatsDto> result = statsRepository.findStats(start, end, null);
+            List<ViewStatsDto> result = statsRepository.findStats(start, end);
             assertThat(result).isEmpty();
         }
     }
@@ -138,7 +140,7 @@ public class StatsRepositoryTest {
             LocalDateTime end = now.plusHours(1);
             List<String> uris = List.of("/uri1"); // Только для /uri1
 
-            List<ViewStatsDto> result = statsRepository.findUniqueStats(start, end, uris);
+            List<ViewStatsDto> result = statsRepository.findUniqueStatsByUris(start, end, uris);
 
             assertThat(result).hasSize(1); // Ожидаем статистику только для /uri1
             ViewStatsDto statsUri1 = result.getFirst();
@@ -153,8 +155,8 @@ public class StatsRepositoryTest {
             LocalDateTime start = now.minusHours(3);
             LocalDateTime end = now.plusHours(1);
 
-            // На уровне сервиса пустой список URI должен быть явно преобразован в null
-            List<ViewStatsDto> result = statsRepository.findUniqueStats(start, end, null); // URI не указаны
+            // Пустой список URI сервис направляет в запрос без фильтра по URI
+            List<ViewStatsDto> result = statsRepository.findUniqueStats(start, end); // URI не указаны
 
             assertThat(result).hasSize(3); // Ожидаем статистику для трех уникальных URI
 
@@ -177,4 +179,77 @@ public class StatsRepositoryTest {
             assertThat(statsUri3.getHits()).isEqualTo(1L); // Уникальный IP для /uri3: 192.168.0.1
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Статистика по почасовым агрегатам")
+    class RollupStatsTest {
+
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private LocalDateTime rollupFrom;
+        private LocalDateTime rollupTo;
+
+        @BeforeEach
+        void rollupSetUp() {
+            entityManager.flush();
+            statsRepository.addToRollups(List.of(hit1, hit2, hit3, hit4, hit5));
+            statsRepository.addToSketches(List.of(hit1, hit2, hit3, hit4, hit5));
+
+            // Невыровненный диапазон: часть хитов попадает в полные часы, часть — в сырые хвосты
+            start = now.minusHours(3).plusMinutes(7);
+            end = now.plusMinutes(1);
+            rollupFrom = start.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            rollupTo = end.truncatedTo(ChronoUnit.HOURS);
+        }
+
+        @Test
+        @DisplayName("Общее количество хитов по агрегатам должно совпадать с подсчётом по сырым хитам")
+        void findStatsWithRollups_shouldMatchRawStats() {
+            List<ViewStatsDto> expected = statsRepository.findStats(start, end);
+
+            List<ViewStatsDto> result = statsRepository.findStatsWithRollups(start, end, rollupFrom, rollupTo, null);
+
+            assertThat(result).containsExactlyInAnyOrderElementsOf(expected);
+        }
+
+        @Test
+        @DisplayName("Количество уникальных IP по агрегатам должно совпадать с подсчётом по сырым хитам")
+        void findUniqueStatsWithRollups_shouldMatchRawUniqueStats() {
+            List<String> uris = List.of("/uri1", "/uri2");
+            List<ViewStatsDto> expected = statsRepository.findUniqueStatsByUris(start, end, uris);
+
+            List<ViewStatsDto> result =
+                statsRepository.findUniqueStatsWithRollups(start, end, rollupFrom, rollupTo, uris);
+
+            assertThat(result).containsExactlyInAnyOrderElementsOf(expected);
+        }
+
+        @Test
+        @DisplayName("На малых множествах оценка по HyperLogLog-скетчам должна совпадать с точным подсчётом")
+        void findApproximateUniqueStats_forSmallCardinality_shouldMatchExactStats() {
+            List<ViewStatsDto> expected = statsRepository.findUniqueStats(start, end);
+
+            List<ViewStatsDto> result = statsRepository.findApproximateUniqueStats(start, end, rollupFrom, rollupTo, null);
+
+            assertThat(result).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Nested
+    @DisplayName("Лента изменений уникальных просмотров")
+    class ViewFeedTest {
+
+        @Test
+        @DisplayName("Просмотры из незавершённой транзакции не должны попадать в ленту и сдвигать курсор за неё")
+        void findViewChanges_shouldNotReturnUncommittedViews() {
+            statsRepository.addToUniqueViews(List.of(hit1, hit2, hit3, hit4, hit5));
+
+            ViewChangesDto first = statsRepository.findViewChanges(0L);
+            ViewChangesDto second = statsRepository.findViewChanges(first.getNextCursor());
+
+            assertThat(first.getDeltas()).extracting(ViewStatsDto::getUri).doesNotContain("/uri1", "/uri2", "/uri3");
+            assertThat(second.getNextCursor()).isEqualTo(first.getNextCursor());
+            assertThat(second.getDeltas()).isEmpty();
+        }
+    }
+}
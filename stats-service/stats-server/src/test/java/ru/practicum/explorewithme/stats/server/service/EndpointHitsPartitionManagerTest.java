@@ -0,0 +1,171 @@
+package ru.practicum.explorewithme.stats.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.explorewithme.stats.server.config.PartitioningProperties;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты обслуживания партиций endpoint_hits")
+class EndpointHitsPartitionManagerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 10, 12, 30);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PartitioningProperties properties;
+    private EndpointHitsPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PartitioningProperties();
+        properties.setPremake(2);
+        manager = new EndpointHitsPartitionManager(jdbcTemplate, properties);
+    }
+
+    @SafeVarargs
+    private void givenPartitioned(Map<String, Object>... partitions) {
+        when(jdbcTemplate.queryForObject(EndpointHitsPartitionManager.IS_PARTITIONED_SQL, Boolean.class))
+            .thenReturn(true);
+        when(jdbcTemplate.queryForList(EndpointHitsPartitionManager.FIND_PARTITIONS_SQL))
+            .thenReturn(List.of(partitions));
+    }
+
+    private static Map<String, Object> range(String name, String from, String to) {
+        return Map.of("name", name, "bound", "FOR VALUES FROM (" + from + ") TO (" + to + ")");
+    }
+
+    private List<String> executedStatements() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeastOnce()).execute(sql.capture());
+        return sql.getAllValues();
+    }
+
+    @Nested
+    @DisplayName("Создание партиций")
+    class CreatePartitionsTests {
+
+        @Test
+        @DisplayName("Должен создать партиции на текущий и следующие дни, пропуская существующие")
+        void maintain_shouldCreateMissingDailyPartitions() {
+            givenPartitioned(
+                range("endpoint_hits_history", "MINVALUE", "'2025-06-10 00:00:00'"),
+                range("endpoint_hits_p20250611", "'2025-06-11 00:00:00'", "'2025-06-12 00:00:00'"),
+                Map.of("name", "endpoint_hits_default", "bound", "DEFAULT"));
+
+            manager.maintain(NOW);
+
+            assertThat(executedStatements()).containsExactly(
+                "CREATE TABLE IF NOT EXISTS endpoint_hits_p20250610 PARTITION OF endpoint_hits "
+                    + "FOR VALUES FROM ('2025-06-10 00:00:00.0') TO ('2025-06-11 00:00:00.0')",
+                "CREATE TABLE IF NOT EXISTS endpoint_hits_p20250612 PARTITION OF endpoint_hits "
+                    + "FOR VALUES FROM ('2025-06-12 00:00:00.0') TO ('2025-06-13 00:00:00.0')");
+        }
+
+        @Test
+        @DisplayName("Месячная партиция должна начинаться после партиции истории")
+        void maintain_whenMonthlyAndHistoryOverlaps_shouldFillOnlyTheGap() {
+            properties.setPremake(0);
+            properties.setGranularity(PartitioningProperties.Granularity.MONTH);
+            givenPartitioned(range("endpoint_hits_history", "MINVALUE", "'2025-06-11 00:00:00'"));
+
+            manager.maintain(NOW);
+
+            assertThat(executedStatements()).containsExactly(
+                "CREATE TABLE IF NOT EXISTS endpoint_hits_p20250611 PARTITION OF endpoint_hits "
+                    + "FOR VALUES FROM ('2025-06-11 00:00:00.0') TO ('2025-07-01 00:00:00.0')");
+        }
+
+        @Test
+        @DisplayName("Не должен ничего делать, если таблица не партиционирована")
+        void maintain_whenTableIsNotPartitioned_shouldSkip() {
+            when(jdbcTemplate.queryForObject(EndpointHitsPartitionManager.IS_PARTITIONED_SQL, Boolean.class))
+                .thenReturn(false);
+
+            manager.maintain(NOW);
+
+            verifyNoMoreInteractions(jdbcTemplate);
+        }
+    }
+
+    @Nested
+    @DisplayName("Удаление устаревших партиций")
+    class RetentionTests {
+
+        @BeforeEach
+        void setUp() {
+            properties.setPremake(0);
+            properties.setRetentionDays(30);
+        }
+
+        @Test
+        @DisplayName("Должен удалить партицию старше срока хранения, если её хиты учтены в агрегатах")
+        void maintain_whenExpiredPartitionIsRolledUp_shouldDetachAndDrop() {
+            givenPartitioned(
+                range("endpoint_hits_p20250501", "'2025-05-01 00:00:00'", "'2025-05-02 00:00:00'"),
+                range("endpoint_hits_p20250610", "'2025-06-10 00:00:00'", "'2025-06-11 00:00:00'"));
+            when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM endpoint_hits_p20250501", Long.class))
+                .thenReturn(5L);
+            when(jdbcTemplate.queryForObject(EndpointHitsPartitionManager.ROLLED_UP_HITS_SQL, Long.class,
+                Timestamp.valueOf("2025-05-01 00:00:00"), Timestamp.valueOf("2025-05-02 00:00:00")))
+                .thenReturn(5L);
+
+            manager.maintain(NOW);
+
+            assertThat(executedStatements()).containsExactly(
+                "ALTER TABLE endpoint_hits DETACH PARTITION endpoint_hits_p20250501",
+                "DROP TABLE endpoint_hits_p20250501");
+            verify(jdbcTemplate).update(EndpointHitsPartitionManager.DELETE_EXPIRED_DEFAULT_SQL,
+                Timestamp.valueOf(NOW.minusDays(30)));
+        }
+
+        @Test
+        @DisplayName("Должен удалять почасовые наборы IP за часы, целиком лежащие до срока хранения")
+        void maintain_whenRetentionSet_shouldDeleteExpiredHourlyIps() {
+            givenPartitioned(range("endpoint_hits_p20250610", "'2025-06-10 00:00:00'", "'2025-06-11 00:00:00'"));
+
+            manager.maintain(NOW);
+
+            verify(jdbcTemplate).update(EndpointHitsPartitionManager.DELETE_EXPIRED_HOURLY_IPS_SQL,
+                Timestamp.valueOf("2025-05-11 12:00:00"));
+        }
+
+        @Test
+        @DisplayName("Не должен удалять партицию, хиты которой не полностью учтены в агрегатах")
+        void maintain_whenRollupsAreIncomplete_shouldKeepPartition() {
+            givenPartitioned(
+                range("endpoint_hits_history", "MINVALUE", "'2025-05-02 00:00:00'"),
+                range("endpoint_hits_p20250610", "'2025-06-10 00:00:00'", "'2025-06-11 00:00:00'"));
+            when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM endpoint_hits_history", Long.class))
+                .thenReturn(10L);
+            when(jdbcTemplate.queryForObject(EndpointHitsPartitionManager.ROLLED_UP_HITS_BEFORE_SQL, Long.class,
+                Timestamp.valueOf("2025-05-02 00:00:00")))
+                .thenReturn(7L);
+
+            manager.maintain(NOW);
+
+            verify(jdbcTemplate, never()).execute(anyString());
+            verify(jdbcTemplate).update(EndpointHitsPartitionManager.DELETE_EXPIRED_DEFAULT_SQL,
+                Timestamp.valueOf(NOW.minusDays(30)));
+        }
+    }
+}
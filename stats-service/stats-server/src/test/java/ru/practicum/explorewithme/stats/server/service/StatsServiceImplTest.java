@@ -3,6 +3,7 @@ package ru.practicum.explorewithme.stats.server.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -10,6 +11,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,9 +23,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.explorewithme.stats.dto.EndpointHitDto;
+import ru.practicum.explorewithme.stats.dto.ViewChangesDto;
 import ru.practicum.explorewithme.stats.dto.ViewStatsDto;
+import ru.practicum.explorewithme.stats.server.config.PartitioningProperties;
 import ru.practicum.explorewithme.stats.server.mapper.EndpointHitMapper;
 import ru.practicum.explorewithme.stats.server.model.EndpointHit;
 import ru.practicum.explorewithme.stats.server.repository.StatsRepository;
@@ -38,6 +43,9 @@ class StatsServiceImplTest {
     @Mock // Мок маппера EndpointHit
     private EndpointHitMapper endpointHitMapper;
 
+    @Spy // Настройки хранения: по умолчанию сырые хиты и наборы IP не удаляются
+    private PartitioningProperties partitioningProperties = new PartitioningProperties();
+
     @InjectMocks // Тестируемый сервис статистики
     private StatsServiceImpl statsService;
 
@@ -79,6 +87,9 @@ class StatsServiceImplTest {
 
             verify(endpointHitMapper, times(1)).toEndpointHit(validHitDto);
             verify(statsRepository, times(1)).save(endpointHitArgumentCaptor.capture());
+            verify(statsRepository, times(1)).addToRollups(List.of(mappedEndpointHit));
+            verify(statsRepository, times(1)).addToSketches(List.of(mappedEndpointHit));
+            verify(statsRepository, times(1)).addToUniqueViews(List.of(mappedEndpointHit));
 
             EndpointHit capturedHit = endpointHitArgumentCaptor.getValue();
             assertThat(capturedHit.getApp()).isEqualTo(validHitDto.getApp());
@@ -115,6 +126,35 @@ class StatsServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Тесты метода saveHits")
+    class SaveHitsTests {
+        @Test
+        @DisplayName("Должен сохранить все хиты одной пакетной вставкой")
+        void saveHits_whenDtosAreValid_shouldMapAndInsertAll() {
+            when(endpointHitMapper.toEndpointHit(validHitDto)).thenReturn(mappedEndpointHit);
+
+            statsService.saveHits(List.of(validHitDto, validHitDto));
+
+            verify(endpointHitMapper, times(2)).toEndpointHit(validHitDto);
+            verify(statsRepository, times(1)).insertAll(List.of(mappedEndpointHit, mappedEndpointHit));
+            verify(statsRepository, times(1)).addToRollups(List.of(mappedEndpointHit, mappedEndpointHit));
+            verify(statsRepository, times(1)).addToSketches(List.of(mappedEndpointHit, mappedEndpointHit));
+            verify(statsRepository, times(1)).addToUniqueViews(List.of(mappedEndpointHit, mappedEndpointHit));
+            verify(statsRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Должен выбросить исключение, если список равен null")
+        void saveHits_whenListIsNull_shouldThrowIllegalArgumentException() {
+            assertThatThrownBy(() -> statsService.saveHits(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Input EndpointHitDto list cannot be null");
+
+            verify(statsRepository, never()).insertAll(any());
+        }
+    }
+
     @Nested
     @DisplayName("Тесты метода getStats")
     class GetStatsTests {
@@ -125,8 +165,9 @@ class StatsServiceImplTest {
         // Вспомогательные данные для getStats
         @BeforeEach
         void getStatsSetup() {
-            start = now.minusDays(1);
-            end = now;
+            // Диапазон внутри одного часа: полных часов нет, статистика считается по сырым хитам
+            start = now.truncatedTo(ChronoUnit.HOURS).plusMinutes(5);
+            end = start.plusMinutes(50);
             expectedStatsList = List.of(
                 ViewStatsDto.builder().app("app1").uri("/uri1").hits(10L).build(),
                 ViewStatsDto.builder().app("app2").uri("/uri2").hits(5L).build()
@@ -136,75 +177,168 @@ class StatsServiceImplTest {
         @Test
         @DisplayName("Должен вызвать findStats, когда unique=false и uris=null")
         void getStats_whenUniqueFalseAndUrisNull_shouldCallFindStats() {
-            when(statsRepository.findStats(start, end, null)).thenReturn(expectedStatsList);
+            when(statsRepository.findStats(start, end)).thenReturn(expectedStatsList);
 
-            List<ViewStatsDto> actualStats = statsService.getStats(start, end, null, false);
+            List<ViewStatsDto> actualStats = statsService.getStats(start, end, null, false, false);
 
             assertThat(actualStats).isEqualTo(expectedStatsList);
-            verify(statsRepository, times(1)).findStats(start, end, null);
-            verify(statsRepository, never()).findUniqueStats(any(), any(), any());
+            verify(statsRepository, times(1)).findStats(start, end);
+            verify(statsRepository, never()).findUniqueStats(any(), any());
         }
 
         @Test
-        @DisplayName("Должен вызвать findStats с uris=null, когда unique=false и uris пустой список")
+        @DisplayName("Должен вызвать findStats без фильтра по URI, когда unique=false и uris пустой список")
         void getStats_whenUniqueFalseAndUrisEmpty_shouldCallFindStatsWithNullUris() {
-            when(statsRepository.findStats(start, end, null)).thenReturn(expectedStatsList);
+            when(statsRepository.findStats(start, end)).thenReturn(expectedStatsList);
 
-            List<ViewStatsDto> actualStats = statsService.getStats(start, end, Collections.emptyList(), false);
+            List<ViewStatsDto> actualStats = statsService.getStats(start, end, Collections.emptyList(), false, false);
 
             assertThat(actualStats).isEqualTo(expectedStatsList);
-            verify(statsRepository, times(1)).findStats(start, end, null); // Сервис преобразует пустой список в null
-            verify(statsRepository, never()).findUniqueStats(any(), any(), any());
+            verify(statsRepository, times(1)).findStats(start, end); // Пустой список URI означает запрос без фильтра
+            verify(statsRepository, never()).findUniqueStats(any(), any());
         }
 
         @Test
-        @DisplayName("Должен вызвать findStats с указанными uris, когда unique=false")
+        @DisplayName("Должен вызвать findStatsByUris с указанными uris, когда unique=false")
         void getStats_whenUniqueFalseAndUrisProvided_shouldCallFindStatsWithUris() {
             List<String> uris = List.of("/uri1", "/uri2");
-            when(statsRepository.findStats(start, end, uris)).thenReturn(expectedStatsList);
+            when(statsRepository.findStatsByUris(start, end, uris)).thenReturn(expectedStatsList);
 
-            List<ViewStatsDto> actualStats = statsService.getStats(start, end, uris, false);
+            List<ViewStatsDto> actualStats = statsService.getStats(start, end, uris, false, false);
 
             assertThat(actualStats).isEqualTo(expectedStatsList);
-            verify(statsRepository, times(1)).findStats(start, end, uris);
-            verify(statsRepository, never()).findUniqueStats(any(), any(), any());
+            verify(statsRepository, times(1)).findStatsByUris(start, end, uris);
+            verify(statsRepository, never()).findUniqueStats(any(), any());
         }
 
         @Test
         @DisplayName("Должен вызвать findUniqueStats, когда unique=true и uris=null")
         void getStats_whenUniqueTrueAndUrisNull_shouldCallFindUniqueStats() {
-            when(statsRepository.findUniqueStats(start, end, null)).thenReturn(expectedStatsList);
+            when(statsRepository.findUniqueStats(start, end)).thenReturn(expectedStatsList);
 
-            List<ViewStatsDto> actualStats = statsService.getStats(start, end, null, true);
+            List<ViewStatsDto> actualStats = statsService.getStats(start, end, null, true, false);
 
             assertThat(actualStats).isEqualTo(expectedStatsList);
-            verify(statsRepository, times(1)).findUniqueStats(start, end, null);
-            verify(statsRepository, never()).findStats(any(), any(), any());
+            verify(statsRepository, times(1)).findUniqueStats(start, end);
+            verify(statsRepository, never()).findStats(any(), any());
         }
 
         @Test
-        @DisplayName("Должен вызвать findUniqueStats с uris=null, когда unique=true и uris пустой список")
+        @DisplayName("Должен вызвать findUniqueStats без фильтра по URI, когда unique=true и uris пустой список")
         void getStats_whenUniqueTrueAndUrisEmpty_shouldCallFindUniqueStatsWithNullUris() {
-            when(statsRepository.findUniqueStats(start, end, null)).thenReturn(expectedStatsList);
+            when(statsRepository.findUniqueStats(start, end)).thenReturn(expectedStatsList);
 
-            List<ViewStatsDto> actualStats = statsService.getStats(start, end, Collections.emptyList(), true);
+            List<ViewStatsDto> actualStats = statsService.getStats(start, end, Collections.emptyList(), true, false);
 
             assertThat(actualStats).isEqualTo(expectedStatsList);
-            verify(statsRepository, times(1)).findUniqueStats(start, end, null); // Сервис преобразует пустой список в null
-            verify(statsRepository, never()).findStats(any(), any(), any());
+            verify(statsRepository, times(1)).findUniqueStats(start, end); // Пустой список URI означает запрос без фильтра
+            verify(statsRepository, never()).findStats(any(), any());
         }
 
         @Test
-        @DisplayName("Должен вызвать findUniqueStats с указанными uris, когда unique=true")
+        @DisplayName("Должен вызвать findUniqueStatsByUris с указанными uris, когда unique=true")
         void getStats_whenUniqueTrueAndUrisProvided_shouldCallFindUniqueStatsWithUris() {
             List<String> uris = List.of("/uri1", "/uri2");
-            when(statsRepository.findUniqueStats(start, end, uris)).thenReturn(expectedStatsList);
+            when(statsRepository.findUniqueStatsByUris(start, end, uris)).thenReturn(expectedStatsList);
+
+            List<ViewStatsDto> actualStats = statsService.getStats(start, end, uris, true, false);
 
-            List<ViewStatsDto> actualStats = statsService.getStats(start, end, uris, true);
+            assertThat(actualStats).isEqualTo(expectedStatsList);
+            verify(statsRepository, times(1)).findUniqueStatsByUris(start, end, uris);
+            verify(statsRepository, never()).findStats(any(), any());
+        }
+
+        @Test
+        @DisplayName("Должен использовать почасовые агрегаты для полных часов диапазона, когда unique=false")
+        void getStats_whenRangeSpansFullHours_shouldUseRollups() {
+            LocalDateTime hour = now.truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime rangeStart = hour.minusHours(5).plusMinutes(20);
+            LocalDateTime rangeEnd = hour.plusMinutes(10);
+            List<String> uris = List.of("/uri1");
+            when(statsRepository.findStatsWithRollups(rangeStart, rangeEnd, hour.minusHours(4), hour, uris))
+                .thenReturn(expectedStatsList);
+
+            List<ViewStatsDto> actualStats = statsService.getStats(rangeStart, rangeEnd, uris, false, false);
+
+            assertThat(actualStats).isEqualTo(expectedStatsList);
+            verify(statsRepository, never()).findStats(any(), any());
+            verify(statsRepository, never()).findUniqueStatsWithRollups(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Должен использовать почасовые агрегаты без сырого хвоста, если диапазон выровнен по часам")
+        void getStats_whenRangeAlignedToHours_shouldUseUniqueRollupsWithEmptyTails() {
+            LocalDateTime hour = now.truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime rangeStart = hour.minusDays(1);
+            when(statsRepository.findUniqueStatsWithRollups(rangeStart, hour, rangeStart, hour, null))
+                .thenReturn(expectedStatsList);
+
+            List<ViewStatsDto> actualStats = statsService.getStats(rangeStart, hour, null, true, false);
 
             assertThat(actualStats).isEqualTo(expectedStatsList);
-            verify(statsRepository, times(1)).findUniqueStats(start, end, uris);
-            verify(statsRepository, never()).findStats(any(), any(), any());
+            verify(statsRepository, never()).findUniqueStats(any(), any());
+            verify(statsRepository, never()).findStatsWithRollups(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Должен использовать HyperLogLog-скетчи, когда unique=true и approximate=true")
+        void getStats_whenUniqueAndApproximate_shouldUseSketches() {
+            LocalDateTime hour = now.truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime rangeStart = hour.minusDays(30).plusMinutes(15);
+            LocalDateTime rangeEnd = hour.plusMinutes(5);
+            List<String> uris = List.of("/uri1");
+            when(statsRepository.findApproximateUniqueStats(rangeStart, rangeEnd, hour.minusDays(30).plusHours(1),
+                hour, uris)).thenReturn(expectedStatsList);
+
+            List<ViewStatsDto> actualStats = statsService.getStats(rangeStart, rangeEnd, uris, true, true);
+
+            assertThat(actualStats).isEqualTo(expectedStatsList);
+            verify(statsRepository, never()).findUniqueStatsWithRollups(any(), any(), any(), any(), any());
+            verify(statsRepository, never()).findUniqueStats(any(), any());
+        }
+
+        @Test
+        @DisplayName("Должен оценивать уникальные посещения по скетчам, если диапазон начинается до срока хранения IP")
+        void getStats_whenUniqueRangeStartsBeforeRetention_shouldUseSketches() {
+            partitioningProperties.setRetentionDays(90);
+            LocalDateTime hour = now.truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime rangeStart = hour.minusDays(91);
+            when(statsRepository.findApproximateUniqueStats(rangeStart, hour, rangeStart, hour, null))
+                .thenReturn(expectedStatsList);
+
+            List<ViewStatsDto> actualStats = statsService.getStats(rangeStart, hour, null, true, false);
+
+            assertThat(actualStats).isEqualTo(expectedStatsList);
+            verify(statsRepository, never()).findUniqueStatsWithRollups(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Должен считать уникальные посещения точно, если диапазон лежит в пределах срока хранения IP")
+        void getStats_whenUniqueRangeWithinRetention_shouldUseExactRollups() {
+            partitioningProperties.setRetentionDays(90);
+            LocalDateTime hour = now.truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime rangeStart = hour.minusDays(30);
+            when(statsRepository.findUniqueStatsWithRollups(rangeStart, hour, rangeStart, hour, null))
+                .thenReturn(expectedStatsList);
+
+            List<ViewStatsDto> actualStats = statsService.getStats(rangeStart, hour, null, true, false);
+
+            assertThat(actualStats).isEqualTo(expectedStatsList);
+            verify(statsRepository, never()).findApproximateUniqueStats(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("approximate=true не должен влиять на подсчёт неуникальных посещений")
+        void getStats_whenNotUniqueAndApproximate_shouldUseExactRollups() {
+            LocalDateTime hour = now.truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime rangeStart = hour.minusDays(1);
+            when(statsRepository.findStatsWithRollups(rangeStart, hour, rangeStart, hour, null))
+                .thenReturn(expectedStatsList);
+
+            List<ViewStatsDto> actualStats = statsService.getStats(rangeStart, hour, null, false, true);
+
+            assertThat(actualStats).isEqualTo(expectedStatsList);
+            verify(statsRepository, never()).findApproximateUniqueStats(any(), any(), any(), any(), any());
         }
 
         @Test
@@ -213,12 +347,36 @@ class StatsServiceImplTest {
             LocalDateTime laterStart = now;
             LocalDateTime earlierEnd = now.minusDays(1);
 
-            assertThatThrownBy(() -> statsService.getStats(laterStart, earlierEnd, null, false))
+            assertThatThrownBy(() -> statsService.getStats(laterStart, earlierEnd, null, false, false))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Error: Start date cannot be after end date.");
 
-            verify(statsRepository, never()).findStats(any(), any(), any());
-            verify(statsRepository, never()).findUniqueStats(any(), any(), any());
+            verify(statsRepository, never()).findStats(any(), any());
+            verify(statsRepository, never()).findUniqueStats(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Тесты метода getViewChanges")
+    class GetViewChangesTests {
+
+        @Test
+        @DisplayName("Должен вернуть изменения просмотров из репозитория")
+        void getViewChanges_shouldReturnRepositoryResult() {
+            ViewChangesDto changes = new ViewChangesDto(42L, List.of(new ViewStatsDto("app", "/uri", 3L)));
+            when(statsRepository.findViewChanges(7L)).thenReturn(changes);
+
+            assertThat(statsService.getViewChanges(7L)).isEqualTo(changes);
+        }
+
+        @Test
+        @DisplayName("Должен выбросить IllegalArgumentException для отрицательного курсора")
+        void getViewChanges_whenCursorIsNegative_shouldThrow() {
+            assertThatThrownBy(() -> statsService.getViewChanges(-1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cursor cannot be negative");
+
+            verify(statsRepository, never()).findViewChanges(anyLong());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package ru.practicum.explorewithme.stats.server.sketch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Тесты HyperLogLog-скетча")
+class HyperLogLogTest {
+
+    private static final int PRECISION = 12;
+
+    private static String ip(int i) {
+        return "10." + ((i >> 16) & 0xff) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+    }
+
+    private static HyperLogLog sketchOf(int precision, int from, int to) {
+        HyperLogLog sketch = new HyperLogLog(precision);
+        for (int i = from; i < to; i++) {
+            sketch.add(ip(i));
+        }
+        return sketch;
+    }
+
+    @Nested
+    @DisplayName("Оценка количества уникальных значений")
+    class EstimateTests {
+
+        @Test
+        @DisplayName("Пустой скетч должен давать ноль")
+        void estimate_whenEmpty_shouldReturnZero() {
+            assertThat(new HyperLogLog(PRECISION).estimate()).isZero();
+        }
+
+        @Test
+        @DisplayName("Повторные значения не должны увеличивать оценку")
+        void estimate_whenValuesRepeat_shouldCountOnce() {
+            HyperLogLog sketch = new HyperLogLog(PRECISION);
+            for (int i = 0; i < 1_000; i++) {
+                sketch.add("192.168.0.1");
+            }
+
+            assertThat(sketch.estimate()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("Оценка должна укладываться в три стандартные ошибки")
+        void estimate_forLargeCardinality_shouldStayWithinErrorBound() {
+            int cardinality = 200_000;
+            HyperLogLog sketch = sketchOf(PRECISION, 0, cardinality);
+
+            double relativeError = Math.abs(sketch.estimate() - cardinality) / (double) cardinality;
+
+            assertThat(relativeError).isLessThan(3 * HyperLogLog.relativeStandardError(PRECISION));
+        }
+    }
+
+    @Nested
+    @DisplayName("Объединение и понижение точности")
+    class UnionTests {
+
+        @Test
+        @DisplayName("Объединение скетчей должно совпадать со скетчем объединения множеств")
+        void union_shouldEqualSketchOfUnion() {
+            HyperLogLog first = sketchOf(PRECISION, 0, 30_000);
+            HyperLogLog second = sketchOf(PRECISION, 20_000, 50_000);
+
+            assertThat(first.union(second)).isEqualTo(sketchOf(PRECISION, 0, 50_000));
+        }
+
+        @Test
+        @DisplayName("Понижение точности должно совпадать со скетчем, построенным сразу с меньшей точностью")
+        void foldTo_shouldEqualSketchBuiltWithLowerPrecision() {
+            assertThat(sketchOf(14, 0, 10_000).foldTo(10)).isEqualTo(sketchOf(10, 0, 10_000));
+        }
+
+        @Test
+        @DisplayName("Объединение скетчей разной точности должно приводиться к меньшей точности")
+        void union_whenPrecisionsDiffer_shouldUseLowerPrecision() {
+            HyperLogLog merged = sketchOf(14, 0, 5_000).union(sketchOf(11, 5_000, 10_000));
+
+            assertThat(merged.getPrecision()).isEqualTo(11);
+            assertThat(merged).isEqualTo(sketchOf(11, 0, 10_000));
+        }
+    }
+
+    @Nested
+    @DisplayName("Сериализация")
+    class SerializationTests {
+
+        @Test
+        @DisplayName("Скетч должен восстанавливаться из сохранённых регистров")
+        void fromBytes_shouldRestoreSketch() {
+            HyperLogLog sketch = sketchOf(PRECISION, 0, 1_000);
+
+            assertThat(HyperLogLog.fromBytes(PRECISION, sketch.toBytes())).isEqualTo(sketch);
+        }
+
+        @Test
+        @DisplayName("Должен отклонять регистры, не соответствующие точности")
+        void fromBytes_whenLengthMismatch_shouldThrow() {
+            assertThatThrownBy(() -> HyperLogLog.fromBytes(PRECISION, new byte[16]))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}